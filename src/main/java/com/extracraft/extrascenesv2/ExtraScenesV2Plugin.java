@@ -7,6 +7,7 @@ import com.extracraft.extrascenesv2.editor.TimelineEditorService;
 import com.extracraft.extrascenesv2.listeners.ActorRecordingListener;
 import com.extracraft.extrascenesv2.listeners.CinematicProtectionListener;
 import com.extracraft.extrascenesv2.listeners.TimelineEditorListener;
+import com.extracraft.extrascenesv2.listeners.WorldBindingListener;
 import com.extracraft.extrascenesv2.placeholders.ExtraCraftSubtitleExpansion;
 import com.extracraft.extrascenesv2.placeholders.ScenesPlaceholderExpansion;
 import java.io.File;
@@ -48,6 +49,7 @@ public final class ExtraScenesV2Plugin extends JavaPlugin {
         new ExtraCraftSubtitleExpansion(this).register();
         getServer().getPluginManager().registerEvents(new CinematicProtectionListener(playbackService), this);
         getServer().getPluginManager().registerEvents(new TimelineEditorListener(timelineEditorService), this);
+        getServer().getPluginManager().registerEvents(new WorldBindingListener(), this);
 
 
         getLogger().info("ExtraScenesV2 (Cinematics) enabled on " + getServer().getVersion());
@@ -70,6 +72,7 @@ public final class ExtraScenesV2Plugin extends JavaPlugin {
         }
         if (cinematicManager != null) {
             cinematicManager.save();
+            cinematicManager.shutdown();
         }
     }
 
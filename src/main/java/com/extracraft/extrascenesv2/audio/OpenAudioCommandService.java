@@ -1,15 +1,17 @@
 package com.extracraft.extrascenesv2.audio;
 
-import org.bukkit.Bukkit;
+import com.extracraft.extrascenesv2.scheduler.SceneScheduler;
 import org.bukkit.plugin.Plugin;
 import org.bukkit.plugin.java.JavaPlugin;
 
 public final class OpenAudioCommandService {
 
     private final JavaPlugin plugin;
+    private final SceneScheduler scheduler;
 
     public OpenAudioCommandService(JavaPlugin plugin) {
         this.plugin = plugin;
+        this.scheduler = new SceneScheduler(plugin);
     }
 
     public boolean isAvailable() {
@@ -29,7 +31,7 @@ public final class OpenAudioCommandService {
 
         String normalized = command.startsWith("/") ? command.substring(1) : command;
         try {
-            return Bukkit.dispatchCommand(Bukkit.getConsoleSender(), normalized);
+            return scheduler.dispatchConsole(normalized);
         } catch (Exception ex) {
             plugin.getLogger().warning("OpenAudioMC command failed (" + context + "): " + ex.getMessage());
             return false;
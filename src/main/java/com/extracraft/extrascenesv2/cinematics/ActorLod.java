@@ -0,0 +1,53 @@
+package com.extracraft.extrascenesv2.cinematics;
+
+/**
+ * Level of detail for virtual actors, measured from the viewer's camera. Actors within {@code fullRateDistance} are
+ * updated every tick; further out the update interval doubles each time the distance does, up to
+ * {@code maxInterval}. Actors beyond {@code viewDistance} or outside the {@code viewAngle} cone get no updates and are
+ * despawned after {@code despawnDelay} ticks out of view, then respawned once they come back.
+ */
+public record ActorLod(boolean enabled, double fullRateDistance, double viewDistance, double viewAngle,
+                       int maxInterval, int despawnDelay) {
+
+    public static final ActorLod DEFAULT = new ActorLod(false, 24.0D, 128.0D, 150.0D, 4, 60);
+
+    public ActorLod {
+        fullRateDistance = Math.max(1.0D, fullRateDistance);
+        viewDistance = Math.max(fullRateDistance, viewDistance);
+        viewAngle = Math.max(30.0D, Math.min(360.0D, viewAngle));
+        maxInterval = Math.max(1, Math.min(20, maxInterval));
+        despawnDelay = Math.max(0, despawnDelay);
+    }
+
+    public ActorLod withEnabled(boolean updated) {
+        return new ActorLod(updated, fullRateDistance, viewDistance, viewAngle, maxInterval, despawnDelay);
+    }
+
+    public ActorLod withFullRateDistance(double updated) {
+        return new ActorLod(enabled, updated, viewDistance, viewAngle, maxInterval, despawnDelay);
+    }
+
+    public ActorLod withViewDistance(double updated) {
+        return new ActorLod(enabled, fullRateDistance, updated, viewAngle, maxInterval, despawnDelay);
+    }
+
+    public ActorLod withViewAngle(double updated) {
+        return new ActorLod(enabled, fullRateDistance, viewDistance, updated, maxInterval, despawnDelay);
+    }
+
+    public ActorLod withMaxInterval(int updated) {
+        return new ActorLod(enabled, fullRateDistance, viewDistance, viewAngle, updated, despawnDelay);
+    }
+
+    public ActorLod withDespawnDelay(int updated) {
+        return new ActorLod(enabled, fullRateDistance, viewDistance, viewAngle, maxInterval, updated);
+    }
+
+    public String describe() {
+        if (!enabled) {
+            return "off";
+        }
+        return "full rate ≤" + fullRateDistance + "m, view ≤" + viewDistance + "m, cone " + viewAngle
+                + "°, every ≤" + maxInterval + "t, despawn after " + despawnDelay + "t";
+    }
+}
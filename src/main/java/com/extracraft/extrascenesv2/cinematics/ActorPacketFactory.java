@@ -0,0 +1,454 @@
+package com.extracraft.extrascenesv2.cinematics;
+
+import com.comphenix.protocol.PacketType;
+import com.comphenix.protocol.ProtocolManager;
+import com.comphenix.protocol.events.PacketContainer;
+import com.comphenix.protocol.wrappers.EnumWrappers;
+import com.comphenix.protocol.wrappers.EnumWrappers.NativeGameMode;
+import com.comphenix.protocol.wrappers.PlayerInfoData;
+import com.comphenix.protocol.wrappers.WrappedAttribute;
+import com.comphenix.protocol.wrappers.WrappedChatComponent;
+import com.comphenix.protocol.wrappers.WrappedDataValue;
+import com.comphenix.protocol.wrappers.WrappedDataWatcher;
+import com.comphenix.protocol.wrappers.WrappedGameProfile;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import org.bukkit.entity.EntityType;
+import org.bukkit.plugin.java.JavaPlugin;
+
+/**
+ * Builds the packets virtual actors send. Everything ProtocolLib would otherwise look up per packet is resolved once:
+ * data value serializers, pose conversions, which spawn and player info packet shapes this server has, which optional
+ * fields each packet type has and the scale attribute key this server accepts. Packets whose fields are all written
+ * here skip ProtocolLib's default-filling pass, and the metadata value lists of each pose are built once and reused by
+ * every packet.
+ */
+final class ActorPacketFactory {
+
+    private static final List<String> SCALE_ATTRIBUTE_KEYS = List.of(
+            "minecraft:scale",
+            "scale",
+            "generic.scale",
+            "minecraft:generic.scale"
+    );
+
+    private final JavaPlugin plugin;
+    private final ProtocolManager protocolManager;
+    private final WrappedDataWatcher.Serializer byteSerializer;
+    private final WrappedDataWatcher.Serializer booleanSerializer;
+    private final WrappedDataWatcher.Serializer poseSerializer;
+    private final Map<String, EnumWrappers.EntityPose> entityPoses = new HashMap<>();
+    private final Map<String, PoseValues> poseValues = new ConcurrentHashMap<>();
+    private final List<WrappedDataValue> seatValues;
+    private final Template relativeMoveLook;
+    private final Template relativeMove;
+    private final Template look;
+    private final Template headRotation;
+    private final Template metadata;
+    private final boolean metadataSupported;
+    private final boolean destroyUsesList;
+    private final boolean namedEntitySpawn;
+    private final boolean infoRemoveSupported;
+    private final PlayerInfoShape playerInfoShape;
+    private volatile int scaleKeyIndex;
+
+    ActorPacketFactory(JavaPlugin plugin, ProtocolManager protocolManager) {
+        this.plugin = plugin;
+        this.protocolManager = protocolManager;
+        this.byteSerializer = WrappedDataWatcher.Registry.get(Byte.class);
+        this.booleanSerializer = WrappedDataWatcher.Registry.get(Boolean.class);
+        this.poseSerializer = resolvePoseSerializer();
+        for (EnumWrappers.EntityPose pose : EnumWrappers.EntityPose.values()) {
+            entityPoses.put(pose.name(), pose);
+        }
+        this.seatValues = List.of(
+                new WrappedDataValue(0, byteSerializer, (byte) 0x20),
+                new WrappedDataValue(5, booleanSerializer, true),
+                new WrappedDataValue(15, byteSerializer, (byte) 0x10));
+        this.relativeMoveLook = new Template(PacketType.Play.Server.REL_ENTITY_MOVE_LOOK);
+        this.relativeMove = new Template(PacketType.Play.Server.REL_ENTITY_MOVE);
+        this.look = new Template(PacketType.Play.Server.ENTITY_LOOK);
+        this.headRotation = new Template(PacketType.Play.Server.ENTITY_HEAD_ROTATION);
+        this.metadata = new Template(PacketType.Play.Server.ENTITY_METADATA);
+        this.metadataSupported = metadata.create().getDataValueCollectionModifier().size() > 0;
+        this.destroyUsesList = protocolManager.createPacket(PacketType.Play.Server.ENTITY_DESTROY).getIntLists().size() > 0;
+        this.namedEntitySpawn = supports(PacketType.Play.Server.NAMED_ENTITY_SPAWN);
+        this.infoRemoveSupported = supports(PacketType.Play.Server.PLAYER_INFO_REMOVE)
+                && protocolManager.createPacket(PacketType.Play.Server.PLAYER_INFO_REMOVE).getUUIDLists().size() > 0;
+        this.playerInfoShape = resolvePlayerInfoShape();
+    }
+
+    /**
+     * Spawn packet of an actor's player entity; null when it cannot be built on this server.
+     */
+    PacketContainer spawnPlayer(int entityId, UUID profileId, double x, double y, double z, byte yaw, byte pitch) {
+        try {
+            // Spawn packets carry object fields (velocity, entity data), so keep the defaults.
+            if (namedEntitySpawn) {
+                PacketContainer spawn = protocolManager.createPacket(PacketType.Play.Server.NAMED_ENTITY_SPAWN);
+                spawn.getIntegers().write(0, entityId);
+                spawn.getUUIDs().write(0, profileId);
+                spawn.getDoubles().write(0, x);
+                spawn.getDoubles().write(1, y);
+                spawn.getDoubles().write(2, z);
+                spawn.getBytes().write(0, yaw);
+                spawn.getBytes().write(1, pitch);
+                return spawn;
+            }
+            return spawnEntity(entityId, profileId, EntityType.PLAYER, x, y, z, yaw, pitch);
+        } catch (RuntimeException ex) {
+            plugin.getLogger().warning("Unable to build actor spawn packet for profile " + profileId + ": " + ex.getMessage());
+            return null;
+        }
+    }
+
+    PacketContainer spawnSeat(int entityId, double x, double y, double z) {
+        return spawnEntity(entityId, UUID.randomUUID(), EntityType.ARMOR_STAND, x, y, z, (byte) 0, (byte) 0);
+    }
+
+    PacketContainer mount(int vehicleId, int[] passengerIds) {
+        PacketContainer mount = protocolManager.createPacket(PacketType.Play.Server.MOUNT);
+        mount.getIntegers().write(0, vehicleId);
+        mount.getIntegerArrays().write(0, passengerIds);
+        return mount;
+    }
+
+    /**
+     * Tab list entry an actor's skin is resolved from; null when this server's player info packet cannot be written.
+     */
+    PacketContainer addPlayerInfo(UUID profileId, WrappedGameProfile profile, String displayName) {
+        if (playerInfoShape == null) {
+            return null;
+        }
+        try {
+            PacketContainer packet = protocolManager.createPacket(PacketType.Play.Server.PLAYER_INFO);
+            if (playerInfoShape.actionSet()) {
+                packet.getPlayerInfoActions().write(0, Collections.singleton(EnumWrappers.PlayerInfoAction.ADD_PLAYER));
+            } else if (playerInfoShape.singleAction()) {
+                packet.getPlayerInfoAction().write(0, EnumWrappers.PlayerInfoAction.ADD_PLAYER);
+            }
+
+            List<PlayerInfoData> data = Collections.singletonList(new PlayerInfoData(
+                profileId,
+                0,
+                true,
+                NativeGameMode.SURVIVAL,
+                profile,
+                WrappedChatComponent.fromText(displayName == null ? "" : displayName)
+            ));
+
+            if (playerInfoShape.convertedList()) {
+                packet.getLists(PlayerInfoData.getConverter()).write(0, data);
+            } else if (playerInfoShape.dataList()) {
+                packet.getPlayerInfoDataLists().write(0, data);
+            }
+            return packet;
+        } catch (RuntimeException ex) {
+            plugin.getLogger().warning("Unable to build PLAYER_INFO packet for actor " + profile.getName() + ": " + ex.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Null on servers without a separate player info removal packet.
+     */
+    PacketContainer removePlayerInfo(UUID profileId) {
+        if (!infoRemoveSupported) {
+            return null;
+        }
+        PacketContainer removeInfo = protocolManager.createPacket(PacketType.Play.Server.PLAYER_INFO_REMOVE);
+        removeInfo.getUUIDLists().write(0, List.of(profileId));
+        return removeInfo;
+    }
+
+    PacketContainer relativeMove(int entityId, short deltaX, short deltaY, short deltaZ, boolean turned, byte yaw, byte pitch) {
+        Template template = turned ? relativeMoveLook : relativeMove;
+        PacketContainer packet = template.create();
+        packet.getIntegers().write(0, entityId);
+        packet.getShorts().write(0, deltaX);
+        packet.getShorts().write(1, deltaY);
+        packet.getShorts().write(2, deltaZ);
+        if (turned) {
+            packet.getBytes().write(0, yaw);
+            packet.getBytes().write(1, pitch);
+        }
+        template.writeOnGround(packet);
+        return packet;
+    }
+
+    PacketContainer look(int entityId, byte yaw, byte pitch) {
+        PacketContainer packet = look.create();
+        packet.getIntegers().write(0, entityId);
+        packet.getBytes().write(0, yaw);
+        packet.getBytes().write(1, pitch);
+        look.writeOnGround(packet);
+        return packet;
+    }
+
+    PacketContainer teleport(int entityId, double x, double y, double z, byte yaw, byte pitch) {
+        // Modern teleports carry object fields (position/rotation records, relative flags), so keep the defaults.
+        PacketContainer teleport = protocolManager.createPacket(PacketType.Play.Server.ENTITY_TELEPORT);
+        teleport.getIntegers().write(0, entityId);
+        teleport.getDoubles().write(0, x);
+        teleport.getDoubles().write(1, y);
+        teleport.getDoubles().write(2, z);
+        teleport.getBytes().write(0, yaw);
+        teleport.getBytes().write(1, pitch);
+        if (teleport.getBooleans().size() > 0) {
+            teleport.getBooleans().write(0, true);
+        }
+        return teleport;
+    }
+
+    PacketContainer headRotation(int entityId, byte headYaw) {
+        PacketContainer packet = headRotation.create();
+        packet.getIntegers().write(0, entityId);
+        packet.getBytes().write(0, headYaw);
+        return packet;
+    }
+
+    /**
+     * Full metadata sent on spawn; null when this ProtocolLib build cannot write data values.
+     */
+    PacketContainer spawnMetadata(int entityId, String pose) {
+        return metadata(entityId, poseValues(pose).spawn());
+    }
+
+    PacketContainer poseMetadata(int entityId, String pose) {
+        return metadata(entityId, poseValues(pose).update());
+    }
+
+    PacketContainer seatMetadata(int entityId) {
+        return metadata(entityId, seatValues);
+    }
+
+    PacketContainer destroy(int entityId) {
+        PacketContainer destroy = protocolManager.createPacket(PacketType.Play.Server.ENTITY_DESTROY);
+        if (destroyUsesList) {
+            destroy.getIntLists().write(0, List.of(entityId));
+        } else if (destroy.getIntegerArrays().size() > 0) {
+            destroy.getIntegerArrays().write(0, new int[]{entityId});
+        }
+        return destroy;
+    }
+
+    /**
+     * Scale attribute update, trying the attribute key that worked last time first; null when none is accepted.
+     */
+    PacketContainer scaleAttribute(int entityId, double actorScale) {
+        PacketContainer packet = protocolManager.createPacket(PacketType.Play.Server.UPDATE_ATTRIBUTES);
+        packet.getIntegers().write(0, entityId);
+
+        double normalizedScale = Math.max(0.0625D, Math.min(16.0D, actorScale));
+        int first = scaleKeyIndex;
+        for (int i = 0; i < SCALE_ATTRIBUTE_KEYS.size(); i++) {
+            int index = (first + i) % SCALE_ATTRIBUTE_KEYS.size();
+            WrappedAttribute attribute;
+            try {
+                attribute = WrappedAttribute.newBuilder()
+                        .attributeKey(SCALE_ATTRIBUTE_KEYS.get(index))
+                        .baseValue(normalizedScale)
+                        .modifiers(List.of())
+                        .packet(packet)
+                        .build();
+            } catch (RuntimeException ignored) {
+                // Try the next key fallback.
+                continue;
+            }
+            scaleKeyIndex = index;
+            if (packet.getAttributeCollectionModifier().size() > 0) {
+                packet.getAttributeCollectionModifier().write(0, List.of(attribute));
+            } else if (packet.getSpecificModifier(Collection.class).size() > 0) {
+                // Legacy fallback for ProtocolLib builds that still expose raw collections.
+                packet.getSpecificModifier(Collection.class).write(0, List.of(attribute));
+            }
+            return packet;
+        }
+
+        plugin.getLogger().log(Level.FINE, "Unable to resolve any compatible attribute key for actor scale packet.");
+        return null;
+    }
+
+    private PacketContainer spawnEntity(int entityId, UUID uuid, EntityType type, double x, double y, double z,
+                                        byte yaw, byte pitch) {
+        PacketContainer spawn = protocolManager.createPacket(PacketType.Play.Server.SPAWN_ENTITY);
+        spawn.getIntegers().write(0, entityId);
+        spawn.getUUIDs().write(0, uuid);
+        spawn.getEntityTypeModifier().write(0, type);
+        spawn.getDoubles().write(0, x);
+        spawn.getDoubles().write(1, y);
+        spawn.getDoubles().write(2, z);
+        spawn.getBytes().write(0, pitch);
+        spawn.getBytes().write(1, yaw);
+        return spawn;
+    }
+
+    private boolean supports(PacketType type) {
+        try {
+            protocolManager.createPacket(type);
+            return true;
+        } catch (RuntimeException ex) {
+            return false;
+        }
+    }
+
+    private PlayerInfoShape resolvePlayerInfoShape() {
+        try {
+            PacketContainer probe = protocolManager.createPacket(PacketType.Play.Server.PLAYER_INFO);
+            boolean actionSet = probe.getPlayerInfoActions().size() > 0;
+            return new PlayerInfoShape(
+                    actionSet,
+                    !actionSet && probe.getPlayerInfoAction().size() > 0,
+                    probe.getLists(PlayerInfoData.getConverter()).size() > 0,
+                    probe.getPlayerInfoDataLists().size() > 0);
+        } catch (RuntimeException ex) {
+            plugin.getLogger().warning("PLAYER_INFO packets are unavailable, actors will spawn without skins: " + ex.getMessage());
+            return null;
+        }
+    }
+
+    private PacketContainer metadata(int entityId, List<WrappedDataValue> values) {
+        if (!metadataSupported) {
+            return null;
+        }
+        PacketContainer packet = metadata.create();
+        packet.getIntegers().write(0, entityId);
+        packet.getDataValueCollectionModifier().write(0, values);
+        return packet;
+    }
+
+    private PoseValues poseValues(String pose) {
+        String normalized = pose == null ? "STANDING" : pose.toUpperCase(Locale.ROOT);
+        return poseValues.computeIfAbsent(normalized, this::buildPoseValues);
+    }
+
+    private PoseValues buildPoseValues(String pose) {
+        WrappedDataValue flags = new WrappedDataValue(0, byteSerializer, entityFlagsForPose(pose));
+        WrappedDataValue poseValue = poseDataValue(pose);
+
+        List<WrappedDataValue> update = new ArrayList<>();
+        update.add(flags);
+        if (poseValue != null) {
+            update.add(poseValue);
+        }
+
+        List<WrappedDataValue> spawn = new ArrayList<>();
+        // Keep actors visible and do not force a floating name tag above their head.
+        spawn.add(flags);
+        spawn.add(new WrappedDataValue(3, booleanSerializer, false));
+        // Enable all player skin model layers (hat, jacket, sleeves, pants, cape).
+        spawn.add(new WrappedDataValue(17, byteSerializer, (byte) 0x7F));
+        if (poseValue != null) {
+            spawn.add(poseValue);
+        }
+
+        // NOTE:
+        // For player entities, metadata index 12 is not the scale field on modern versions
+        // (it is an Integer-based field). Writing a Float here causes the client to disconnect
+        // with "Invalid entity data item type" when processing set_entity_data packets.
+        //
+        // Virtual actors are spawned as PLAYER entities, so we intentionally avoid forcing
+        // scale through entity metadata.
+        //
+        // If scaling is required in the future, it must be sent via the proper attributes packet
+        // (minecraft:scale) instead of metadata.
+        return new PoseValues(List.copyOf(spawn), List.copyOf(update));
+    }
+
+    private WrappedDataValue poseDataValue(String poseName) {
+        EnumWrappers.EntityPose wrappedPose = resolveEntityPose(poseName);
+        if (wrappedPose == null || poseSerializer == null) {
+            return null;
+        }
+
+        try {
+            Object nmsPose = EnumWrappers.getEntityPoseConverter().getGeneric(wrappedPose);
+            return new WrappedDataValue(6, poseSerializer, nmsPose);
+        } catch (Exception ignored) {
+            // Keep default standing pose if conversion is unavailable for this server version.
+            return null;
+        }
+    }
+
+    private EnumWrappers.EntityPose resolveEntityPose(String normalized) {
+        EnumWrappers.EntityPose direct = entityPoses.get(normalized);
+        if (direct != null) {
+            return direct;
+        }
+
+        return switch (normalized) {
+            case "SNEAKING", "SITTING" -> {
+                EnumWrappers.EntityPose crouching = entityPoses.get("CROUCHING");
+                if (crouching != null) {
+                    yield crouching;
+                }
+                yield entityPoses.get("SNEAKING");
+            }
+            default -> entityPoses.get("STANDING");
+        };
+    }
+
+    private static byte entityFlagsForPose(String normalized) {
+        return switch (normalized) {
+            case "CROUCHING", "SNEAKING" -> (byte) 0x02;
+            default -> (byte) 0x00;
+        };
+    }
+
+    private WrappedDataWatcher.Serializer resolvePoseSerializer() {
+        try {
+            return WrappedDataWatcher.Registry.get(EnumWrappers.getEntityPoseClass());
+        } catch (RuntimeException ex) {
+            plugin.getLogger().fine("Entity pose metadata is unavailable: " + ex.getMessage());
+            return null;
+        }
+    }
+
+    private record PoseValues(List<WrappedDataValue> spawn, List<WrappedDataValue> update) {
+    }
+
+    private record PlayerInfoShape(boolean actionSet, boolean singleAction, boolean convertedList, boolean dataList) {
+    }
+
+    /**
+     * A packet type with the shape checks done once. Packets are created without ProtocolLib's default values when
+     * this server allows it, since every field of these types is a primitive written by the factory.
+     */
+    private final class Template {
+        private final PacketType type;
+        private final boolean forceDefaults;
+        private final boolean onGround;
+
+        private Template(PacketType type) {
+            this.type = type;
+            PacketContainer probe;
+            boolean defaults = false;
+            try {
+                probe = protocolManager.createPacket(type, false);
+            } catch (RuntimeException ex) {
+                probe = protocolManager.createPacket(type);
+                defaults = true;
+            }
+            this.forceDefaults = defaults;
+            this.onGround = probe.getBooleans().size() > 0;
+        }
+
+        private PacketContainer create() {
+            return protocolManager.createPacket(type, forceDefaults);
+        }
+
+        private void writeOnGround(PacketContainer packet) {
+            if (onGround) {
+                packet.getBooleans().write(0, true);
+            }
+        }
+    }
+}
@@ -4,29 +4,24 @@ import com.comphenix.protocol.PacketType;
 import com.comphenix.protocol.ProtocolLibrary;
 import com.comphenix.protocol.ProtocolManager;
 import com.comphenix.protocol.events.PacketContainer;
-import com.comphenix.protocol.wrappers.EnumWrappers;
-import com.comphenix.protocol.wrappers.EnumWrappers.NativeGameMode;
-import com.comphenix.protocol.wrappers.PlayerInfoData;
-import com.comphenix.protocol.wrappers.WrappedChatComponent;
-import com.comphenix.protocol.wrappers.WrappedAttribute;
-import com.comphenix.protocol.wrappers.WrappedDataValue;
-import com.comphenix.protocol.wrappers.WrappedDataWatcher;
 import com.comphenix.protocol.wrappers.WrappedGameProfile;
 import com.comphenix.protocol.wrappers.WrappedSignedProperty;
+import com.extracraft.extrascenesv2.scheduler.SceneScheduler;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
-import java.util.HashMap;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.logging.Level;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import org.bukkit.Location;
-import org.bukkit.entity.EntityType;
+import org.bukkit.World;
 import org.bukkit.entity.Player;
 import org.bukkit.scoreboard.Scoreboard;
 import org.bukkit.scoreboard.Team;
@@ -34,29 +29,61 @@ import org.bukkit.plugin.java.JavaPlugin;
 
 public final class ActorPlaybackService {
 
-    private static final double RELATIVE_MOVE_THRESHOLD = 7.9D;
+    private static final double WIRE_UNITS_PER_BLOCK = 4096.0D;
     private static final int MIN_ENTITY_ID = 200_000;
     private static final int MAX_ENTITY_ID = Integer.MAX_VALUE - 10_000;
     private static final String PLAYER_SKIN_MODE_TEXTURE = "__viewer_player_skin__";
     private static final String PLAYER_SKIN_MODE_SIGNATURE = "__viewer_player_skin__";
 
+    // The client rejects bundles of more than 4096 packets.
+    private static final int MAX_BUNDLE_PACKETS = 4096;
     private static final long[] SCALE_RETRY_DELAYS = {1L, 5L, 20L};
     private static final double SEAT_Y_OFFSET = -1.45D;
-    private static final List<String> SCALE_ATTRIBUTE_KEYS = List.of(
-            "minecraft:scale",
-            "scale",
-            "generic.scale",
-            "minecraft:generic.scale"
-    );
+    // Half width and center height of a player-sized actor at scale 1, used to keep edge-of-view actors visible.
+    private static final double ACTOR_RADIUS = 1.0D;
+    private static final double ACTOR_CENTER_HEIGHT = 0.9D;
 
     private final JavaPlugin plugin;
     private final ProtocolManager protocolManager;
-    private final Map<UUID, Map<String, VirtualActor>> spawned = new HashMap<>();
+    private final ActorPacketFactory packetFactory;
+    private final SceneScheduler scheduler;
+    // Each viewer's actors are only touched from that viewer's thread; the map itself is shared across regions.
+    private final Map<UUID, Map<String, VirtualActor>> spawned = new ConcurrentHashMap<>();
+    private final ThreadLocal<ActorSample> samples = ThreadLocal.withInitial(ActorSample::new);
+    private final AtomicLong frameSequence = new AtomicLong();
+    private final LongAdder sharedSamples = new LongAdder();
+    private final LongAdder computedSamples = new LongAdder();
+    private final LongAdder updatesSent = new LongAdder();
+    private final LongAdder updatesSkipped = new LongAdder();
+    private final LongAdder keepAlives = new LongAdder();
+    private final int keepAliveTicks;
+    private final ThreadLocal<PacketBatch> batches = ThreadLocal.withInitial(PacketBatch::new);
+    private final LongAdder bundlesSent = new LongAdder();
+    private final LongAdder bundledPackets = new LongAdder();
+    private volatile boolean bundlePackets;
+    private final ActorLod defaultLod;
+    private final ThreadLocal<LodView> lodViews = ThreadLocal.withInitial(LodView::new);
+    private final LongAdder lodThrottled = new LongAdder();
+    private final LongAdder lodCulled = new LongAdder();
+    private final LongAdder lodDespawns = new LongAdder();
+    private final LongAdder lodRespawns = new LongAdder();
     private final AtomicInteger entitySequence = new AtomicInteger(ThreadLocalRandom.current().nextInt(MIN_ENTITY_ID, MIN_ENTITY_ID + 100_000));
 
     public ActorPlaybackService(JavaPlugin plugin) {
         this.plugin = plugin;
+        this.scheduler = new SceneScheduler(plugin);
         this.protocolManager = ProtocolLibrary.getProtocolManager();
+        this.packetFactory = new ActorPacketFactory(plugin, protocolManager);
+        this.keepAliveTicks = Math.max(0, plugin.getConfig().getInt("actors.keepalive-ticks", 100));
+        this.bundlePackets = plugin.getConfig().getBoolean("actors.bundle-packets", true);
+        ActorLod defaults = ActorLod.DEFAULT;
+        this.defaultLod = new ActorLod(
+                plugin.getConfig().getBoolean("actors.lod.enabled", defaults.enabled()),
+                plugin.getConfig().getDouble("actors.lod.full-rate-distance", defaults.fullRateDistance()),
+                plugin.getConfig().getDouble("actors.lod.view-distance", defaults.viewDistance()),
+                plugin.getConfig().getDouble("actors.lod.view-angle", defaults.viewAngle()),
+                plugin.getConfig().getInt("actors.lod.max-interval", defaults.maxInterval()),
+                plugin.getConfig().getInt("actors.lod.despawn-delay", defaults.despawnDelay()));
     }
 
     public void start(Player viewer, Cinematic cinematic, int tick) {
@@ -64,13 +91,23 @@ public final class ActorPlaybackService {
     }
 
     public void start(Player viewer, Cinematic cinematic, int tick, String excludedActorId) {
+        PacketBatch batch = beginBatch(viewer);
+        try {
+            spawnVisible(viewer, cinematic, tick, excludedActorId);
+        } finally {
+            flushBatch(batch);
+        }
+    }
+
+    private void spawnVisible(Player viewer, Cinematic cinematic, int tick, String excludedActorId) {
         cleanup(viewer);
+        ActorSample sample = samples.get();
         Map<String, VirtualActor> entities = new LinkedHashMap<>();
-        for (SceneActor actor : cinematic.getActors().values()) {
-            if (isExcluded(actor, excludedActorId) || !actor.isVisibleAtTick(tick)) {
+        for (SceneActor actor : cinematic.getTimeline().actorsAt(tick)) {
+            if (isExcluded(actor, excludedActorId)) {
                 continue;
             }
-            VirtualActor spawnedActor = spawnActor(viewer, actor, sample(actor.frames(), tick));
+            VirtualActor spawnedActor = actor.track().sample(tick, sample) ? spawnActor(viewer, actor, sample) : null;
             if (spawnedActor != null) {
                 entities.put(key(actor.id()), spawnedActor);
             }
@@ -83,34 +120,95 @@ public final class ActorPlaybackService {
     }
 
     public void tick(Player viewer, Cinematic cinematic, int tick, String excludedActorId) {
+        tick(viewer, cinematic.getTimeline().actorsAt(tick), tick, excludedActorId);
+    }
+
+    /**
+     * Moves the actors visible at {@code tick}; spawned actors missing from {@code visibleActors} are despawned.
+     */
+    public void tick(Player viewer, SceneActor[] visibleActors, int tick, String excludedActorId) {
+        tick(viewer, visibleActors, tick, excludedActorId, null, null);
+    }
+
+    /**
+     * Same as {@link #tick(Player, SceneActor[], int, String)}, with actor updates thinned out by distance from
+     * {@code camera} and actors outside its view left alone. A null {@code lod} uses the {@code actors.lod} default;
+     * a null {@code camera} updates every actor every tick.
+     */
+    public void tick(Player viewer, SceneActor[] visibleActors, int tick, String excludedActorId, Location camera, ActorLod lod) {
+        PacketBatch batch = beginBatch(viewer);
+        try {
+            update(viewer, visibleActors, tick, excludedActorId, lodView(camera, lod));
+        } finally {
+            flushBatch(batch);
+        }
+    }
+
+    public ActorLod getDefaultLod() {
+        return defaultLod;
+    }
+
+    private void update(Player viewer, SceneActor[] visibleActors, int tick, String excludedActorId, LodView view) {
         Map<String, VirtualActor> entities = spawned.computeIfAbsent(viewer.getUniqueId(), ignored -> new LinkedHashMap<>());
-        for (SceneActor actor : cinematic.getActors().values()) {
+        ActorSample sample = samples.get();
+        long frame = frameSequence.incrementAndGet();
+        int kept = 0;
+        for (SceneActor actor : visibleActors) {
             String actorKey = key(actor.id());
-            if (isExcluded(actor, excludedActorId) || !actor.isVisibleAtTick(tick)) {
-                despawn(viewer, entities.remove(actorKey));
+            if (isExcluded(actor, excludedActorId)) {
                 continue;
             }
 
-            ActorFrame next = sample(actor.frames(), tick);
-            if (next == null || next.location() == null || next.location().getWorld() == null) {
+            VirtualActor virtualActor = entities.get(actorKey);
+            if (!actor.track().sample(tick, virtualActor == null ? -1 : virtualActor.cursor(), sample)) {
                 despawn(viewer, entities.remove(actorKey));
                 continue;
             }
+            (sample.cached() ? sharedSamples : computedSamples).increment();
+
+            int interval = view == null ? 1 : view.interval(sample, actor.scale());
+            if (interval == 0 && (virtualActor == null || virtualActor.dormant())) {
+                // Out of view and not on the client: nothing to send until it comes back.
+                lodCulled.increment();
+                if (virtualActor != null) {
+                    virtualActor.setCursor(sample.index());
+                    virtualActor.setSeenFrame(frame);
+                    kept++;
+                }
+                continue;
+            }
+
+            if (virtualActor != null && virtualActor.dormant()) {
+                VirtualActor respawned = spawnActor(viewer, actor, sample);
+                if (respawned != null) {
+                    entities.put(actorKey, respawned);
+                    respawned.setSeenFrame(frame);
+                    lodRespawns.increment();
+                    kept++;
+                } else {
+                    entities.remove(actorKey);
+                }
+                continue;
+            }
 
-            VirtualActor virtualActor = entities.get(actorKey);
             if (virtualActor == null) {
-                virtualActor = spawnActor(viewer, actor, next);
+                virtualActor = spawnActor(viewer, actor, sample);
                 if (virtualActor != null) {
                     entities.put(actorKey, virtualActor);
+                    virtualActor.setSeenFrame(frame);
+                    kept++;
                 }
                 continue;
             }
+            virtualActor.setCursor(sample.index());
 
-            if (!sameWorld(virtualActor.location(), next.location())) {
+            if (virtualActor.location().getWorld() == null || !virtualActor.location().getWorld().equals(sample.world())) {
                 despawn(viewer, virtualActor);
-                VirtualActor respawned = spawnActor(viewer, actor, next);
+                VirtualActor respawned = spawnActor(viewer, actor, sample);
                 if (respawned != null) {
                     entities.put(actorKey, respawned);
+                    respawned.setSeenFrame(frame);
+                    kept++;
                 } else {
                     entities.remove(actorKey);
                 }
@@ -122,8 +220,75 @@ public final class ActorPlaybackService {
                 virtualActor.setScale(actor.scale());
             }
 
-            move(viewer, virtualActor, next);
+            virtualActor.setSeenFrame(frame);
+            kept++;
+            if (interval == 0) {
+                lodCulled.increment();
+                if (virtualActor.markCulled() > view.lod.despawnDelay()) {
+                    despawn(viewer, virtualActor);
+                    virtualActor.setDormant();
+                    lodDespawns.increment();
+                }
+                continue;
+            }
+            virtualActor.clearCulled();
+            // Staggered by entity id so far actors on the same interval do not all update on the same tick.
+            if (interval > 1 && (tick + virtualActor.entityId()) % interval != 0) {
+                lodThrottled.increment();
+                continue;
+            }
+
+            move(viewer, virtualActor, sample);
         }
+
+        if (entities.size() > kept) {
+            Iterator<VirtualActor> iterator = entities.values().iterator();
+            while (iterator.hasNext()) {
+                VirtualActor virtualActor = iterator.next();
+                if (virtualActor.seenFrame() != frame) {
+                    iterator.remove();
+                    despawn(viewer, virtualActor);
+                }
+            }
+        }
+    }
+
+    /**
+     * Actor poses reused from another viewer's sample of the same tick versus interpolated, since startup.
+     */
+    public FrameCacheStats getFrameCacheStats() {
+        return new FrameCacheStats(sharedSamples.sum(), computedSamples.sum());
+    }
+
+    public record FrameCacheStats(long shared, long computed) {
+    }
+
+    /**
+     * Movement and head-rotation updates sent versus skipped because the client already had the same wire values.
+     */
+    public UpdateStats getUpdateStats() {
+        return new UpdateStats(updatesSent.sum(), updatesSkipped.sum(), keepAlives.sum());
+    }
+
+    public record UpdateStats(long sent, long skipped, long keepAlives) {
+    }
+
+    public BundleStats getBundleStats() {
+        return new BundleStats(bundlePackets, bundlesSent.sum(), bundledPackets.sum());
+    }
+
+    public record BundleStats(boolean enabled, long bundles, long packets) {
+    }
+
+    /**
+     * Actor ticks skipped by level of detail: throttled far actors, culled out-of-view actors, and the lazy despawns
+     * and respawns of actors that stayed out of view.
+     */
+    public LodStats getLodStats() {
+        return new LodStats(lodThrottled.sum(), lodCulled.sum(), lodDespawns.sum(), lodRespawns.sum());
+    }
+
+    public record LodStats(long throttled, long culled, long despawns, long respawns) {
     }
 
     public void cleanup(Player viewer) {
@@ -136,16 +301,17 @@ public final class ActorPlaybackService {
         }
     }
 
-    private VirtualActor spawnActor(Player viewer, SceneActor actor, ActorFrame initialFrame) {
-        if (initialFrame == null || initialFrame.location() == null || initialFrame.location().getWorld() == null) {
+    private VirtualActor spawnActor(Player viewer, SceneActor actor, ActorSample initialFrame) {
+        if (initialFrame.world() == null) {
             return null;
         }
         try {
             int entityId = nextEntityId();
             UUID profileId = UUID.randomUUID();
             String profileName = generateHiddenProfileName(profileId);
-            Location initial = initialFrame.location();
-            VirtualActor virtualActor = new VirtualActor(entityId, profileId, profileName, initial.clone(), actor.scale(), initialFrame.headYaw(), initialFrame.pose());
+            Location initial = initialFrame.toLocation();
+            VirtualActor virtualActor = new VirtualActor(entityId, profileId, profileName, initial, actor.scale(), initialFrame.headYaw(), initialFrame.pose());
+            virtualActor.setCursor(initialFrame.index());
 
             WrappedGameProfile profile = new WrappedGameProfile(profileId, profileName);
             applySkinProperties(viewer, actor, profile);
@@ -154,7 +320,8 @@ public final class ActorPlaybackService {
                 return null;
             }
 
-            PacketContainer spawn = createSpawnPacket(entityId, profileId, initial);
+            PacketContainer spawn = packetFactory.spawnPlayer(entityId, profileId, initial.getX(), initial.getY(), initial.getZ(),
+                    angleToByte(initial.getYaw()), angleToByte(initial.getPitch()));
             if (spawn == null || !sendPacket(viewer, spawn)) {
                 removeFromPlayerInfo(viewer, profileId);
                 return null;
@@ -166,7 +333,7 @@ public final class ActorPlaybackService {
             scheduleScaleRetries(viewer, actor.id(), entityId, actor.scale());
             hideNameTag(viewer, virtualActor);
             if (isSittingPose(initialFrame.pose())) {
-                ensureSeat(viewer, virtualActor, initialFrame.location());
+                ensureSeat(viewer, virtualActor, initial.getX(), initial.getY(), initial.getZ());
             }
 
             return virtualActor;
@@ -209,107 +376,105 @@ public final class ActorPlaybackService {
                 && PLAYER_SKIN_MODE_SIGNATURE.equals(actor.skinSignature());
     }
 
-    private void move(Player viewer, VirtualActor actor, ActorFrame targetFrame) {
-        Location target = targetFrame.location();
+    private void move(Player viewer, VirtualActor actor, ActorSample target) {
         Location current = actor.location();
-        boolean sitting = isSittingPose(targetFrame.pose());
+        boolean sitting = isSittingPose(target.pose());
 
         if (sitting) {
-            ensureSeat(viewer, actor, target);
-            Location seatLocation = actor.seatLocation();
-            if (seatLocation != null) {
-                moveEntity(viewer, actor.seatEntityId(), seatLocation, seatLocation(target), target.getYaw(), target.getPitch());
+            ensureSeat(viewer, actor, target.x(), target.y(), target.z());
+            WireState seat = actor.seatWire();
+            if (seat != null) {
+                moveEntity(viewer, actor.seatEntityId(), seat,
+                        target.x(), target.y() + SEAT_Y_OFFSET, target.z(), target.yaw(), target.pitch());
             }
         } else {
             removeSeat(viewer, actor);
         }
 
-        if (!sitting) {
-            moveEntity(viewer, actor.entityId(), current, target, target.getYaw(), target.getPitch());
-        }
+        WireState wire = actor.wire();
+        boolean synced = !sitting && moveEntity(viewer, actor.entityId(), wire,
+                target.x(), target.y(), target.z(), target.yaw(), target.pitch());
 
-        sendHeadRotation(viewer, actor.entityId(), targetFrame.headYaw());
-        if (!actor.pose().equals(targetFrame.pose())) {
-            sendPoseMetadata(viewer, actor.entityId(), targetFrame.pose());
-            actor.setPose(targetFrame.pose());
-        }
-
-        updateLocation(current, target);
-        actor.setHeadYaw(targetFrame.headYaw());
-    }
-
-    private void moveEntity(Player viewer, int entityId, Location current, Location target, float yaw, float pitch) {
-        double deltaX = target.getX() - current.getX();
-        double deltaY = target.getY() - current.getY();
-        double deltaZ = target.getZ() - current.getZ();
-        boolean requiresTeleport = Math.abs(deltaX) > RELATIVE_MOVE_THRESHOLD
-            || Math.abs(deltaY) > RELATIVE_MOVE_THRESHOLD
-            || Math.abs(deltaZ) > RELATIVE_MOVE_THRESHOLD;
-
-        if (requiresTeleport) {
-            teleport(viewer, entityId, target);
+        byte headYaw = angleToByte(target.headYaw());
+        if (headYaw != wire.headYaw || synced) {
+            sendHeadRotation(viewer, actor.entityId(), target.headYaw());
+            wire.headYaw = headYaw;
+            updatesSent.increment();
         } else {
-            relativeMove(viewer, entityId, current, deltaX, deltaY, deltaZ, yaw, pitch);
+            updatesSkipped.increment();
+        }
+        if (!actor.pose().equals(target.pose())) {
+            sendPoseMetadata(viewer, actor.entityId(), target.pose());
+            actor.setPose(target.pose());
+        }
+
+        updateLocation(current, target.x(), target.y(), target.z(), target.yaw(), target.pitch());
+    }
+
+    /**
+     * Sends only what changed on the wire: a relative move when the 1/4096-block position moved, a look when the
+     * angle bytes changed, nothing when neither did. Deltas are taken against what the client was last sent, so
+     * rounding never accumulates; a full teleport is sent for long jumps and every {@code keepAliveTicks} to resync.
+     * Returns true when a teleport was sent.
+     */
+    private boolean moveEntity(Player viewer, int entityId, WireState wire, double x, double y, double z, float yaw, float pitch) {
+        long wireX = toWire(x);
+        long wireY = toWire(y);
+        long wireZ = toWire(z);
+        long deltaX = wireX - wire.x;
+        long deltaY = wireY - wire.y;
+        long deltaZ = wireZ - wire.z;
+        byte yawByte = angleToByte(yaw);
+        byte pitchByte = angleToByte(pitch);
+        boolean moved = deltaX != 0L || deltaY != 0L || deltaZ != 0L;
+        boolean turned = yawByte != wire.yaw || pitchByte != wire.pitch;
+
+        wire.ticksSinceSync++;
+        boolean keepAlive = keepAliveTicks > 0 && wire.ticksSinceSync >= keepAliveTicks;
+        if (keepAlive || !fitsShort(deltaX) || !fitsShort(deltaY) || !fitsShort(deltaZ)) {
+            teleport(viewer, entityId, x, y, z, yaw, pitch);
+            wire.sync(wireX, wireY, wireZ, yawByte, pitchByte);
+            updatesSent.increment();
+            if (keepAlive) {
+                keepAlives.increment();
+            }
+            return true;
+        }
+        if (!moved && !turned) {
+            updatesSkipped.increment();
+            return false;
         }
-        updateLocation(current, target);
-    }
 
-    private void teleport(Player viewer, int entityId, Location location) {
-        PacketContainer teleport = protocolManager.createPacket(PacketType.Play.Server.ENTITY_TELEPORT);
-        teleport.getIntegers().write(0, entityId);
-        teleport.getDoubles().write(0, location.getX());
-        teleport.getDoubles().write(1, location.getY());
-        teleport.getDoubles().write(2, location.getZ());
-        teleport.getBytes().write(0, angleToByte(location.getYaw()));
-        teleport.getBytes().write(1, angleToByte(location.getPitch()));
-        if (teleport.getBooleans().size() > 0) {
-            teleport.getBooleans().write(0, true);
+        PacketContainer packet = moved
+                ? packetFactory.relativeMove(entityId, (short) deltaX, (short) deltaY, (short) deltaZ, turned, yawByte, pitchByte)
+                : packetFactory.look(entityId, yawByte, pitchByte);
+        updatesSent.increment();
+        if (!sendPacket(viewer, packet)) {
+            teleport(viewer, entityId, x, y, z, yaw, pitch);
+            wire.sync(wireX, wireY, wireZ, yawByte, pitchByte);
+            return true;
         }
-        sendPacket(viewer, teleport);
+        wire.x = wireX;
+        wire.y = wireY;
+        wire.z = wireZ;
+        wire.yaw = yawByte;
+        wire.pitch = pitchByte;
+        return false;
     }
 
-    private void relativeMove(Player viewer, int entityId, Location current, double deltaX, double deltaY, double deltaZ, float yaw, float pitch) {
-        PacketContainer move = protocolManager.createPacket(PacketType.Play.Server.REL_ENTITY_MOVE_LOOK);
-        move.getIntegers().write(0, entityId);
-        move.getShorts().write(0, toRelativeShort(deltaX));
-        move.getShorts().write(1, toRelativeShort(deltaY));
-        move.getShorts().write(2, toRelativeShort(deltaZ));
-        move.getBytes().write(0, angleToByte(yaw));
-        move.getBytes().write(1, angleToByte(pitch));
-        if (move.getBooleans().size() > 0) {
-            move.getBooleans().write(0, true);
-        }
-        if (!sendPacket(viewer, move)) {
-            teleport(viewer, entityId, new Location(current.getWorld(),
-                current.getX() + deltaX,
-                current.getY() + deltaY,
-                current.getZ() + deltaZ,
-                yaw,
-                pitch));
-        }
+    private void teleport(Player viewer, int entityId, double x, double y, double z, float yaw, float pitch) {
+        sendPacket(viewer, packetFactory.teleport(entityId, x, y, z, angleToByte(yaw), angleToByte(pitch)));
     }
 
     private void despawn(Player viewer, VirtualActor actor) {
-        if (actor == null) {
+        if (actor == null || actor.dormant()) {
             return;
         }
 
-        PacketContainer destroy = protocolManager.createPacket(PacketType.Play.Server.ENTITY_DESTROY);
-        if (destroy.getIntLists().size() > 0) {
-            destroy.getIntLists().write(0, List.of(actor.entityId()));
-        } else if (destroy.getIntegerArrays().size() > 0) {
-            destroy.getIntegerArrays().write(0, new int[]{actor.entityId()});
-        }
-        sendPacket(viewer, destroy);
+        sendPacket(viewer, packetFactory.destroy(actor.entityId()));
 
         if (actor.seatEntityId() != -1) {
-            PacketContainer destroySeat = protocolManager.createPacket(PacketType.Play.Server.ENTITY_DESTROY);
-            if (destroySeat.getIntLists().size() > 0) {
-                destroySeat.getIntLists().write(0, List.of(actor.seatEntityId()));
-            } else if (destroySeat.getIntegerArrays().size() > 0) {
-                destroySeat.getIntegerArrays().write(0, new int[]{actor.seatEntityId()});
-            }
-            sendPacket(viewer, destroySeat);
+            sendPacket(viewer, packetFactory.destroy(actor.seatEntityId()));
         }
 
         removeFromPlayerInfo(viewer, actor.profileId());
@@ -317,14 +482,71 @@ public final class ActorPlaybackService {
     }
 
     private void removeFromPlayerInfo(Player viewer, UUID profileId) {
-        PacketContainer removeInfo = protocolManager.createPacket(PacketType.Play.Server.PLAYER_INFO_REMOVE);
-        if (removeInfo.getUUIDLists().size() > 0) {
-            removeInfo.getUUIDLists().write(0, List.of(profileId));
+        PacketContainer removeInfo = packetFactory.removePlayerInfo(profileId);
+        if (removeInfo != null) {
             sendPacket(viewer, removeInfo);
         }
     }
 
+    /**
+     * Collects the packets this thread sends to {@code viewer} until {@link #flushBatch(PacketBatch)}, so one frame of
+     * actor updates reaches the client as a single bundle. Returns null when bundling is off.
+     */
+    private PacketBatch beginBatch(Player viewer) {
+        if (!bundlePackets) {
+            return null;
+        }
+        PacketBatch batch = batches.get();
+        batch.viewer = viewer;
+        return batch;
+    }
+
+    private void flushBatch(PacketBatch batch) {
+        if (batch == null) {
+            return;
+        }
+        Player viewer = batch.viewer;
+        List<PacketContainer> packets = batch.packets;
+        batch.viewer = null;
+        try {
+            if (packets.size() == 1) {
+                sendNow(viewer, packets.get(0));
+                return;
+            }
+            for (int from = 0; from < packets.size(); from += MAX_BUNDLE_PACKETS) {
+                List<PacketContainer> slice = packets.subList(from, Math.min(packets.size(), from + MAX_BUNDLE_PACKETS));
+                PacketContainer bundle;
+                try {
+                    bundle = new PacketContainer(PacketType.Play.Server.BUNDLE);
+                    bundle.getPacketBundles().write(0, new ArrayList<>(slice));
+                } catch (RuntimeException ex) {
+                    bundlePackets = false;
+                    plugin.getLogger().warning("Packet bundles are not available, sending actor packets one by one: " + ex.getMessage());
+                    for (PacketContainer packet : packets.subList(from, packets.size())) {
+                        sendNow(viewer, packet);
+                    }
+                    return;
+                }
+                if (sendNow(viewer, bundle)) {
+                    bundlesSent.increment();
+                    bundledPackets.add(slice.size());
+                }
+            }
+        } finally {
+            packets.clear();
+        }
+    }
+
     private boolean sendPacket(Player viewer, PacketContainer packet) {
+        PacketBatch batch = bundlePackets ? batches.get() : null;
+        if (batch != null && batch.viewer == viewer) {
+            batch.packets.add(packet);
+            return true;
+        }
+        return sendNow(viewer, packet);
+    }
+
+    private boolean sendNow(Player viewer, PacketContainer packet) {
         try {
             protocolManager.sendServerPacket(viewer, packet);
             return true;
@@ -335,57 +557,24 @@ public final class ActorPlaybackService {
     }
 
     private boolean sendAddPlayerInfo(Player viewer, UUID profileId, WrappedGameProfile profile, String displayName) {
-        PacketContainer legacyInfo = createLegacyAddPlayerInfoPacket(profileId, profile, displayName);
+        PacketContainer legacyInfo = packetFactory.addPlayerInfo(profileId, profile, displayName);
         return legacyInfo != null && sendPacket(viewer, legacyInfo);
     }
 
     private void sendMetadata(Player viewer, int entityId, String pose) {
-        PacketContainer metadata = protocolManager.createPacket(PacketType.Play.Server.ENTITY_METADATA);
-        metadata.getIntegers().write(0, entityId);
-
-        List<WrappedDataValue> dataValues = new ArrayList<>();
-        // Keep actors visible and do not force a floating name tag above their head.
-        dataValues.add(new WrappedDataValue(0, WrappedDataWatcher.Registry.get(Byte.class), entityFlagsForPose(pose)));
-        dataValues.add(new WrappedDataValue(3, WrappedDataWatcher.Registry.get(Boolean.class), false));
-        // Enable all player skin model layers (hat, jacket, sleeves, pants, cape).
-        dataValues.add(new WrappedDataValue(17, WrappedDataWatcher.Registry.get(Byte.class), (byte) 0x7F));
-        appendPoseDataValue(dataValues, pose);
-
-        // NOTE:
-        // For player entities, metadata index 12 is not the scale field on modern versions
-        // (it is an Integer-based field). Writing a Float here causes the client to disconnect
-        // with "Invalid entity data item type" when processing set_entity_data packets.
-        //
-        // Virtual actors are spawned as PLAYER entities, so we intentionally avoid forcing
-        // scale through entity metadata.
-        //
-        // If scaling is required in the future, it must be sent via the proper attributes packet
-        // (minecraft:scale) instead of metadata.
-
-        if (metadata.getDataValueCollectionModifier().size() > 0) {
-            metadata.getDataValueCollectionModifier().write(0, dataValues);
+        // Index 12 is not the scale field for players; scale goes through sendScaleAttribute (see ActorPacketFactory).
+        PacketContainer metadata = packetFactory.spawnMetadata(entityId, pose);
+        if (metadata != null) {
             sendPacket(viewer, metadata);
         }
     }
 
     private void sendScaleAttribute(Player viewer, int entityId, double actorScale) {
         try {
-            PacketContainer attributesPacket = protocolManager.createPacket(PacketType.Play.Server.UPDATE_ATTRIBUTES);
-            attributesPacket.getIntegers().write(0, entityId);
-
-            WrappedAttribute wrappedAttribute = buildScaleAttribute(attributesPacket, actorScale);
-            if (wrappedAttribute == null) {
-                return;
-            }
-
-            if (attributesPacket.getAttributeCollectionModifier().size() > 0) {
-                attributesPacket.getAttributeCollectionModifier().write(0, List.of(wrappedAttribute));
-            } else if (attributesPacket.getSpecificModifier(Collection.class).size() > 0) {
-                // Legacy fallback for ProtocolLib builds that still expose raw collections.
-                attributesPacket.getSpecificModifier(Collection.class).write(0, List.of(wrappedAttribute));
+            PacketContainer attributesPacket = packetFactory.scaleAttribute(entityId, actorScale);
+            if (attributesPacket != null) {
+                sendPacket(viewer, attributesPacket);
             }
-
-            sendPacket(viewer, attributesPacket);
         } catch (Throwable ex) {
             // Not all ProtocolLib builds expose attribute wrappers equally.
             plugin.getLogger().fine("Unable to send actor scale attribute: " + ex.getMessage());
@@ -396,7 +585,7 @@ public final class ActorPlaybackService {
         UUID viewerId = viewer.getUniqueId();
         String actorKey = key(actorId);
         for (long delay : SCALE_RETRY_DELAYS) {
-            plugin.getServer().getScheduler().runTaskLater(plugin, () -> {
+            scheduler.runForLater(viewer, () -> {
                 Player onlineViewer = plugin.getServer().getPlayer(viewerId);
                 if (onlineViewer == null || !onlineViewer.isOnline()) {
                     return;
@@ -413,143 +602,21 @@ public final class ActorPlaybackService {
                 }
 
                 sendScaleAttribute(onlineViewer, entityId, actorScale);
-            }, delay);
-        }
-    }
-
-    private WrappedAttribute buildScaleAttribute(PacketContainer attributesPacket, double actorScale) {
-        double normalizedScale = Math.max(0.0625D, Math.min(16.0D, actorScale));
-        for (String attributeKey : SCALE_ATTRIBUTE_KEYS) {
-            try {
-                return WrappedAttribute.newBuilder()
-                        .attributeKey(attributeKey)
-                        .baseValue(normalizedScale)
-                        .modifiers(List.of())
-                        .packet(attributesPacket)
-                        .build();
-            } catch (RuntimeException ignored) {
-                // Try the next key fallback.
-            }
-        }
-
-        plugin.getLogger().log(Level.FINE, "Unable to resolve any compatible attribute key for actor scale packet.");
-
-        return null;
-    }
-
-    private ActorFrame sample(List<ActorFrame> frames, int tick) {
-        ActorFrame prev = null;
-        ActorFrame next = null;
-        for (ActorFrame frame : frames) {
-            if (frame.tick() <= tick) {
-                prev = frame;
-                continue;
-            }
-            next = frame;
-            break;
-        }
-
-        if (prev == null && next == null) {
-            return null;
-        }
-        if (prev == null) {
-            return next;
-        }
-        if (next == null) {
-            return prev;
-        }
-
-        Location a = prev.location();
-        Location b = next.location();
-        if (a == null || b == null || a.getWorld() == null || b.getWorld() == null || !a.getWorld().equals(b.getWorld())) {
-            return prev;
+            }, null, delay);
         }
-
-        double t = (tick - prev.tick()) / (double) Math.max(1, next.tick() - prev.tick());
-        double x = a.getX() + (b.getX() - a.getX()) * t;
-        double y = a.getY() + (b.getY() - a.getY()) * t;
-        double z = a.getZ() + (b.getZ() - a.getZ()) * t;
-        float yaw = (float) (a.getYaw() + (b.getYaw() - a.getYaw()) * t);
-        float pitch = (float) (a.getPitch() + (b.getPitch() - a.getPitch()) * t);
-        float headYaw = (float) (prev.headYaw() + (next.headYaw() - prev.headYaw()) * t);
-        String pose = t < 0.5D ? prev.pose() : next.pose();
-        return new ActorFrame(tick, new Location(a.getWorld(), x, y, z, yaw, pitch), headYaw, pose);
     }
 
-
     private void sendHeadRotation(Player viewer, int entityId, float headYaw) {
-        PacketContainer packet = protocolManager.createPacket(PacketType.Play.Server.ENTITY_HEAD_ROTATION);
-        packet.getIntegers().write(0, entityId);
-        packet.getBytes().write(0, angleToByte(headYaw));
-        sendPacket(viewer, packet);
+        sendPacket(viewer, packetFactory.headRotation(entityId, angleToByte(headYaw)));
     }
 
     private void sendPoseMetadata(Player viewer, int entityId, String pose) {
-        PacketContainer metadata = protocolManager.createPacket(PacketType.Play.Server.ENTITY_METADATA);
-        metadata.getIntegers().write(0, entityId);
-        List<WrappedDataValue> dataValues = new ArrayList<>();
-        dataValues.add(new WrappedDataValue(0, WrappedDataWatcher.Registry.get(Byte.class), entityFlagsForPose(pose)));
-        appendPoseDataValue(dataValues, pose);
-        if (dataValues.isEmpty()) {
-            return;
-        }
-        if (metadata.getDataValueCollectionModifier().size() > 0) {
-            metadata.getDataValueCollectionModifier().write(0, dataValues);
+        PacketContainer metadata = packetFactory.poseMetadata(entityId, pose);
+        if (metadata != null) {
             sendPacket(viewer, metadata);
         }
     }
 
-    private void appendPoseDataValue(List<WrappedDataValue> dataValues, String poseName) {
-        EnumWrappers.EntityPose wrappedPose = resolveEntityPose(poseName);
-        if (wrappedPose == null) {
-            return;
-        }
-
-        try {
-            Object nmsPose = EnumWrappers.getEntityPoseConverter().getGeneric(wrappedPose);
-            dataValues.add(new WrappedDataValue(6, WrappedDataWatcher.Registry.get(EnumWrappers.getEntityPoseClass()), nmsPose));
-        } catch (Exception ignored) {
-            // Keep default standing pose if conversion is unavailable for this server version.
-        }
-    }
-
-    private EnumWrappers.EntityPose resolveEntityPose(String poseName) {
-        String normalized = poseName == null ? "STANDING" : poseName.toUpperCase(Locale.ROOT);
-
-        EnumWrappers.EntityPose direct = findEntityPose(normalized);
-        if (direct != null) {
-            return direct;
-        }
-
-        return switch (normalized) {
-            case "SNEAKING", "SITTING" -> {
-                EnumWrappers.EntityPose crouching = findEntityPose("CROUCHING");
-                if (crouching != null) {
-                    yield crouching;
-                }
-                yield findEntityPose("SNEAKING");
-            }
-            default -> findEntityPose("STANDING");
-        };
-    }
-
-    private byte entityFlagsForPose(String poseName) {
-        String normalized = poseName == null ? "STANDING" : poseName.toUpperCase(Locale.ROOT);
-        return switch (normalized) {
-            case "CROUCHING", "SNEAKING" -> (byte) 0x02;
-            default -> (byte) 0x00;
-        };
-    }
-
-    private EnumWrappers.EntityPose findEntityPose(String poseName) {
-        for (EnumWrappers.EntityPose entityPose : EnumWrappers.EntityPose.values()) {
-            if (entityPose.name().equalsIgnoreCase(poseName)) {
-                return entityPose;
-            }
-        }
-        return null;
-    }
-
     private boolean isExcluded(SceneActor actor, String excludedActorId) {
         return excludedActorId != null && key(actor.id()).equals(key(excludedActorId));
     }
@@ -558,29 +625,29 @@ public final class ActorPlaybackService {
         return value.toLowerCase(Locale.ROOT);
     }
 
-    private boolean sameWorld(Location a, Location b) {
-        return a != null && b != null && a.getWorld() != null && a.getWorld().equals(b.getWorld());
-    }
-
     private String generateHiddenProfileName(UUID profileId) {
         String compact = profileId.toString().replace("-", "");
         return "es" + compact.substring(0, 14);
     }
 
-    private byte angleToByte(float angle) {
+    private static byte angleToByte(float angle) {
         return (byte) (angle * 256.0F / 360.0F);
     }
 
-    private short toRelativeShort(double delta) {
-        return (short) Math.round(delta * 4096.0D);
+    private static long toWire(double coordinate) {
+        return Math.round(coordinate * WIRE_UNITS_PER_BLOCK);
     }
 
-    private void updateLocation(Location current, Location target) {
-        current.setX(target.getX());
-        current.setY(target.getY());
-        current.setZ(target.getZ());
-        current.setYaw(target.getYaw());
-        current.setPitch(target.getPitch());
+    private static boolean fitsShort(long delta) {
+        return delta >= Short.MIN_VALUE && delta <= Short.MAX_VALUE;
+    }
+
+    private void updateLocation(Location current, double x, double y, double z, float yaw, float pitch) {
+        current.setX(x);
+        current.setY(y);
+        current.setZ(z);
+        current.setYaw(yaw);
+        current.setPitch(pitch);
     }
 
     private int nextEntityId() {
@@ -592,84 +659,30 @@ public final class ActorPlaybackService {
         return next;
     }
 
-    private PacketContainer createSpawnPacket(int entityId, UUID profileId, Location initial) {
-        try {
-            PacketContainer spawn = protocolManager.createPacket(PacketType.Play.Server.NAMED_ENTITY_SPAWN);
-            spawn.getIntegers().write(0, entityId);
-            spawn.getUUIDs().write(0, profileId);
-            spawn.getDoubles().write(0, initial.getX());
-            spawn.getDoubles().write(1, initial.getY());
-            spawn.getDoubles().write(2, initial.getZ());
-            spawn.getBytes().write(0, angleToByte(initial.getYaw()));
-            spawn.getBytes().write(1, angleToByte(initial.getPitch()));
-            return spawn;
-        } catch (RuntimeException legacySpawnUnavailable) {
-            try {
-                PacketContainer spawn = protocolManager.createPacket(PacketType.Play.Server.SPAWN_ENTITY);
-                spawn.getIntegers().write(0, entityId);
-                spawn.getUUIDs().write(0, profileId);
-                spawn.getEntityTypeModifier().write(0, EntityType.PLAYER);
-                spawn.getDoubles().write(0, initial.getX());
-                spawn.getDoubles().write(1, initial.getY());
-                spawn.getDoubles().write(2, initial.getZ());
-                spawn.getBytes().write(0, angleToByte(initial.getPitch()));
-                spawn.getBytes().write(1, angleToByte(initial.getYaw()));
-                return spawn;
-            } catch (RuntimeException modernSpawnFailed) {
-                plugin.getLogger().warning("Unable to build actor spawn packet for profile " + profileId + ": " + modernSpawnFailed.getMessage());
-                return null;
-            }
-        }
-    }
-
     private boolean isSittingPose(String poseName) {
         return poseName != null && poseName.equalsIgnoreCase("SITTING");
     }
 
-    private Location seatLocation(Location actorLocation) {
-        Location seat = actorLocation.clone();
-        seat.setY(seat.getY() + SEAT_Y_OFFSET);
-        return seat;
-    }
-
-    private void ensureSeat(Player viewer, VirtualActor actor, Location actorLocation) {
+    private void ensureSeat(Player viewer, VirtualActor actor, double x, double y, double z) {
         if (actor.seatEntityId() != -1) {
             return;
         }
 
         int seatEntityId = nextEntityId();
-        PacketContainer spawn = protocolManager.createPacket(PacketType.Play.Server.SPAWN_ENTITY);
-        Location seatLocation = seatLocation(actorLocation);
-        spawn.getIntegers().write(0, seatEntityId);
-        spawn.getUUIDs().write(0, UUID.randomUUID());
-        spawn.getEntityTypeModifier().write(0, EntityType.ARMOR_STAND);
-        spawn.getDoubles().write(0, seatLocation.getX());
-        spawn.getDoubles().write(1, seatLocation.getY());
-        spawn.getDoubles().write(2, seatLocation.getZ());
-        spawn.getBytes().write(0, angleToByte(seatLocation.getPitch()));
-        spawn.getBytes().write(1, angleToByte(seatLocation.getYaw()));
-        if (!sendPacket(viewer, spawn)) {
+        double seatY = y + SEAT_Y_OFFSET;
+        if (!sendPacket(viewer, packetFactory.spawnSeat(seatEntityId, x, seatY, z))) {
             return;
         }
 
-        PacketContainer metadata = protocolManager.createPacket(PacketType.Play.Server.ENTITY_METADATA);
-        metadata.getIntegers().write(0, seatEntityId);
-        List<WrappedDataValue> values = new ArrayList<>();
-        values.add(new WrappedDataValue(0, WrappedDataWatcher.Registry.get(Byte.class), (byte) 0x20));
-        values.add(new WrappedDataValue(5, WrappedDataWatcher.Registry.get(Boolean.class), true));
-        values.add(new WrappedDataValue(15, WrappedDataWatcher.Registry.get(Byte.class), (byte) 0x10));
-        if (metadata.getDataValueCollectionModifier().size() > 0) {
-            metadata.getDataValueCollectionModifier().write(0, values);
+        PacketContainer metadata = packetFactory.seatMetadata(seatEntityId);
+        if (metadata != null) {
             sendPacket(viewer, metadata);
         }
 
-        PacketContainer mount = protocolManager.createPacket(PacketType.Play.Server.MOUNT);
-        mount.getIntegers().write(0, seatEntityId);
-        mount.getIntegerArrays().write(0, new int[]{actor.entityId()});
-        sendPacket(viewer, mount);
+        sendPacket(viewer, packetFactory.mount(seatEntityId, new int[]{actor.entityId()}));
 
         actor.setSeatEntityId(seatEntityId);
-        actor.setSeatLocation(seatLocation);
+        actor.setSeatWire(new WireState(x, seatY, z, (byte) 0, (byte) 0, (byte) 0));
     }
 
     private void removeSeat(Player viewer, VirtualActor actor) {
@@ -677,53 +690,11 @@ public final class ActorPlaybackService {
             return;
         }
 
-        PacketContainer mount = protocolManager.createPacket(PacketType.Play.Server.MOUNT);
-        mount.getIntegers().write(0, actor.seatEntityId());
-        mount.getIntegerArrays().write(0, new int[0]);
-        sendPacket(viewer, mount);
+        sendPacket(viewer, packetFactory.mount(actor.seatEntityId(), new int[0]));
 
-        PacketContainer destroySeat = protocolManager.createPacket(PacketType.Play.Server.ENTITY_DESTROY);
-        if (destroySeat.getIntLists().size() > 0) {
-            destroySeat.getIntLists().write(0, List.of(actor.seatEntityId()));
-        } else if (destroySeat.getIntegerArrays().size() > 0) {
-            destroySeat.getIntegerArrays().write(0, new int[]{actor.seatEntityId()});
-        }
-        sendPacket(viewer, destroySeat);
+        sendPacket(viewer, packetFactory.destroy(actor.seatEntityId()));
         actor.setSeatEntityId(-1);
-        actor.setSeatLocation(null);
-    }
-
-    private PacketContainer createLegacyAddPlayerInfoPacket(UUID profileId, WrappedGameProfile profile, String displayName) {
-        PacketContainer packet = protocolManager.createPacket(PacketType.Play.Server.PLAYER_INFO);
-        WrappedChatComponent chatDisplayName = WrappedChatComponent.fromText(displayName == null ? "" : displayName);
-
-        try {
-            if (packet.getPlayerInfoActions().size() > 0) {
-                packet.getPlayerInfoActions().write(0, Collections.singleton(EnumWrappers.PlayerInfoAction.ADD_PLAYER));
-            } else if (packet.getPlayerInfoAction().size() > 0) {
-                packet.getPlayerInfoAction().write(0, EnumWrappers.PlayerInfoAction.ADD_PLAYER);
-            }
-
-            List<PlayerInfoData> data = Collections.singletonList(new PlayerInfoData(
-                profileId,
-                0,
-                true,
-                NativeGameMode.SURVIVAL,
-                profile,
-                chatDisplayName
-            ));
-
-            if (packet.getLists(PlayerInfoData.getConverter()).size() > 0) {
-                packet.getLists(PlayerInfoData.getConverter()).write(0, data);
-            } else if (packet.getPlayerInfoDataLists().size() > 0) {
-                packet.getPlayerInfoDataLists().write(0, data);
-            }
-
-            return packet;
-        } catch (RuntimeException ex) {
-            plugin.getLogger().warning("Unable to build PLAYER_INFO packet for actor " + profile.getName() + ": " + ex.getMessage());
-            return null;
-        }
+        actor.setSeatWire(null);
     }
 
     private void hideNameTag(Player viewer, VirtualActor actor) {
@@ -774,19 +745,24 @@ public final class ActorPlaybackService {
         private final UUID profileId;
         private final String profileName;
         private final Location location;
+        private final WireState wire;
         private double scale;
-        private float headYaw;
         private String pose;
         private int seatEntityId = -1;
-        private Location seatLocation;
+        private WireState seatWire;
+        private long seenFrame;
+        private int cursor = -1;
+        private int culledTicks;
+        private boolean dormant;
 
         private VirtualActor(int entityId, UUID profileId, String profileName, Location location, double scale, float headYaw, String pose) {
             this.entityId = entityId;
             this.profileId = profileId;
             this.profileName = profileName;
             this.location = location;
+            this.wire = new WireState(location.getX(), location.getY(), location.getZ(),
+                    angleToByte(location.getYaw()), angleToByte(location.getPitch()), angleToByte(headYaw));
             this.scale = scale;
-            this.headYaw = headYaw;
             this.pose = pose;
         }
 
@@ -814,12 +790,8 @@ public final class ActorPlaybackService {
             this.scale = scale;
         }
 
-        private float headYaw() {
-            return headYaw;
-        }
-
-        private void setHeadYaw(float headYaw) {
-            this.headYaw = headYaw;
+        private WireState wire() {
+            return wire;
         }
 
         private String pose() {
@@ -838,16 +810,162 @@ public final class ActorPlaybackService {
             this.seatEntityId = seatEntityId;
         }
 
-        private Location seatLocation() {
-            return seatLocation;
+        private WireState seatWire() {
+            return seatWire;
+        }
+
+        private void setSeatWire(WireState seatWire) {
+            this.seatWire = seatWire;
         }
 
-        private void setSeatLocation(Location seatLocation) {
-            this.seatLocation = seatLocation;
+        private int cursor() {
+            return cursor;
+        }
+
+        private void setCursor(int cursor) {
+            this.cursor = cursor;
+        }
+
+        private long seenFrame() {
+            return seenFrame;
+        }
+
+        private void setSeenFrame(long seenFrame) {
+            this.seenFrame = seenFrame;
+        }
+
+        private int markCulled() {
+            return ++culledTicks;
+        }
+
+        private void clearCulled() {
+            culledTicks = 0;
+        }
+
+        /**
+         * Despawned on the client by level of detail but still tracked, so it is respawned when back in view.
+         */
+        private boolean dormant() {
+            return dormant;
+        }
+
+        private void setDormant() {
+            dormant = true;
         }
 
         private String teamId() {
             return "esv2_" + entityId;
         }
     }
+
+    private LodView lodView(Location camera, ActorLod lod) {
+        ActorLod effective = lod == null ? defaultLod : lod;
+        if (camera == null || camera.getWorld() == null || !effective.enabled()) {
+            return null;
+        }
+        LodView view = lodViews.get();
+        view.set(camera, effective);
+        return view;
+    }
+
+    /**
+     * One viewer's camera for a tick, reduced to what the per-actor level-of-detail test needs.
+     */
+    private static final class LodView {
+        private ActorLod lod;
+        private World world;
+        private double x;
+        private double y;
+        private double z;
+        private double directionX;
+        private double directionY;
+        private double directionZ;
+        private double viewDistanceSquared;
+        private double halfAngle;
+        private boolean cone;
+
+        private void set(Location camera, ActorLod lod) {
+            this.lod = lod;
+            this.world = camera.getWorld();
+            this.x = camera.getX();
+            this.y = camera.getY();
+            this.z = camera.getZ();
+            double yaw = Math.toRadians(camera.getYaw());
+            double pitch = Math.toRadians(camera.getPitch());
+            double horizontal = Math.cos(pitch);
+            this.directionX = -Math.sin(yaw) * horizontal;
+            this.directionY = -Math.sin(pitch);
+            this.directionZ = Math.cos(yaw) * horizontal;
+            this.viewDistanceSquared = lod.viewDistance() * lod.viewDistance();
+            this.halfAngle = Math.toRadians(lod.viewAngle() / 2.0D);
+            this.cone = lod.viewAngle() < 360.0D;
+        }
+
+        /**
+         * Ticks between updates for an actor at {@code sample}: 1 near the camera, doubling with distance up to the
+         * configured maximum, or 0 when the actor is out of view.
+         */
+        private int interval(ActorSample sample, double scale) {
+            if (sample.world() == null || !sample.world().equals(world)) {
+                return 0;
+            }
+            double dx = sample.x() - x;
+            double dy = sample.y() + ACTOR_CENTER_HEIGHT * scale - y;
+            double dz = sample.z() - z;
+            double distanceSquared = dx * dx + dy * dy + dz * dz;
+            if (distanceSquared > viewDistanceSquared) {
+                return 0;
+            }
+            double distance = Math.sqrt(distanceSquared);
+            double fullRate = lod.fullRateDistance();
+            if (distance <= fullRate) {
+                return 1;
+            }
+            if (cone) {
+                double cos = (dx * directionX + dy * directionY + dz * directionZ) / distance;
+                double angle = Math.acos(Math.max(-1.0D, Math.min(1.0D, cos)));
+                // Widen the cone by the actor's apparent size so actors at the edge of the screen stay spawned.
+                if (angle > halfAngle + Math.asin(Math.min(1.0D, ACTOR_RADIUS * scale / distance))) {
+                    return 0;
+                }
+            }
+            int interval = 1;
+            while (interval < lod.maxInterval() && interval * fullRate < distance) {
+                interval <<= 1;
+            }
+            return Math.min(interval, lod.maxInterval());
+        }
+    }
+
+    /**
+     * What one viewer's client was last sent for a virtual entity: position in 1/4096 blocks and angle bytes.
+     */
+    private static final class WireState {
+        private long x;
+        private long y;
+        private long z;
+        private byte yaw;
+        private byte pitch;
+        private byte headYaw;
+        private int ticksSinceSync;
+
+        private WireState(double x, double y, double z, byte yaw, byte pitch, byte headYaw) {
+            sync(toWire(x), toWire(y), toWire(z), yaw, pitch);
+            this.headYaw = headYaw;
+        }
+
+        private void sync(long x, long y, long z, byte yaw, byte pitch) {
+            this.x = x;
+            this.y = y;
+            this.z = z;
+            this.yaw = yaw;
+            this.pitch = pitch;
+            this.ticksSinceSync = 0;
+        }
+    }
+
+    private static final class PacketBatch {
+        private final List<PacketContainer> packets = new ArrayList<>();
+        private Player viewer;
+    }
 }
@@ -0,0 +1,281 @@
+package com.extracraft.extrascenesv2.cinematics;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Binary actor recording file ({@code .esar}). Layout after the header: world and pose dictionaries, then one
+ * block per actor with every field stored as its own column. Ticks and coordinates are delta + zigzag varints,
+ * coordinates in 1/4096 block fixed point and angles in 1/256 degree fixed point.
+ */
+final class ActorRecordingCodec {
+
+    static final String EXTENSION = ".esar";
+    private static final int MAGIC = 0x45534152;
+    private static final int VERSION = 1;
+    private static final int FLAG_DEFLATE = 1;
+    private static final double POSITION_SCALE = 4096.0D;
+    private static final double ANGLE_SCALE = 256.0D;
+    private static final int MAX_DICTIONARY_SIZE = 65_536;
+    private static final int MAX_ACTORS = 65_536;
+    // Tick, world, x, y, z, yaw, pitch, head yaw and pose take at least one byte each.
+    private static final int MIN_FRAME_BYTES = 9;
+
+    private ActorRecordingCodec() {
+    }
+
+    static void write(File file, Map<String, ActorTrack> tracks, boolean compress) throws IOException {
+        try (OutputStream raw = new BufferedOutputStream(Files.newOutputStream(file.toPath()))) {
+            DataOutputStream header = new DataOutputStream(raw);
+            header.writeInt(MAGIC);
+            header.writeByte(VERSION);
+            header.writeByte(compress ? FLAG_DEFLATE : 0);
+            header.flush();
+
+            if (!compress) {
+                DataOutputStream out = new DataOutputStream(raw);
+                encode(out, tracks);
+                out.flush();
+                return;
+            }
+
+            Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+            try {
+                DeflaterOutputStream deflaterStream = new DeflaterOutputStream(raw, deflater, 8192);
+                DataOutputStream out = new DataOutputStream(deflaterStream);
+                encode(out, tracks);
+                out.flush();
+                deflaterStream.finish();
+            } finally {
+                deflater.end();
+            }
+        }
+    }
+
+    static Map<String, ActorTrack> read(File file) throws IOException {
+        try (InputStream raw = new BufferedInputStream(Files.newInputStream(file.toPath()))) {
+            DataInputStream header = new DataInputStream(raw);
+            if (header.readInt() != MAGIC) {
+                throw new IOException("not an actor recording file");
+            }
+            int version = header.readUnsignedByte();
+            if (version != VERSION) {
+                throw new IOException("unsupported actor recording version " + version);
+            }
+            int flags = header.readUnsignedByte();
+            byte[] body;
+            if ((flags & FLAG_DEFLATE) == 0) {
+                body = raw.readAllBytes();
+            } else {
+                try (InputStream inflated = new InflaterInputStream(raw)) {
+                    body = inflated.readAllBytes();
+                }
+            }
+            // Decoding from memory lets every count be checked against the bytes that are actually left.
+            return decode(new DataInputStream(new ByteArrayInputStream(body)));
+        } catch (RuntimeException ex) {
+            throw new IOException("malformed actor recording: " + ex, ex);
+        }
+    }
+
+    private static void encode(DataOutputStream out, Map<String, ActorTrack> tracks) throws IOException {
+        Map<String, Integer> worlds = new LinkedHashMap<>();
+        Map<String, Integer> poses = new LinkedHashMap<>();
+        for (ActorTrack track : tracks.values()) {
+            for (int i = 0; i < track.size(); i++) {
+                worlds.putIfAbsent(track.worldRef(i).name(), worlds.size());
+                poses.putIfAbsent(track.pose(i), poses.size());
+            }
+        }
+
+        writeDictionary(out, worlds);
+        writeDictionary(out, poses);
+        writeVarInt(out, tracks.size());
+        for (Map.Entry<String, ActorTrack> entry : tracks.entrySet()) {
+            ActorTrack track = entry.getValue();
+            int count = track.size();
+            out.writeUTF(entry.getKey());
+            writeVarInt(out, count);
+
+            long[] tickColumn = new long[count];
+            long[][] positionColumns = new long[3][count];
+            long[][] angleColumns = new long[3][count];
+            for (int i = 0; i < count; i++) {
+                tickColumn[i] = track.tick(i);
+                positionColumns[0][i] = Math.round(track.x(i) * POSITION_SCALE);
+                positionColumns[1][i] = Math.round(track.y(i) * POSITION_SCALE);
+                positionColumns[2][i] = Math.round(track.z(i) * POSITION_SCALE);
+                angleColumns[0][i] = Math.round(track.yaw(i) * ANGLE_SCALE);
+                angleColumns[1][i] = Math.round(track.pitch(i) * ANGLE_SCALE);
+                angleColumns[2][i] = Math.round(track.headYaw(i) * ANGLE_SCALE);
+            }
+
+            writeDeltaColumn(out, tickColumn);
+            for (int i = 0; i < count; i++) {
+                writeVarInt(out, worlds.get(track.worldRef(i).name()));
+            }
+            for (long[] column : positionColumns) {
+                writeDeltaColumn(out, column);
+            }
+            for (long[] column : angleColumns) {
+                writeDeltaColumn(out, column);
+            }
+            for (int i = 0; i < count; i++) {
+                writeVarInt(out, poses.get(track.pose(i)));
+            }
+        }
+    }
+
+    private static Map<String, ActorTrack> decode(DataInputStream in) throws IOException {
+        String[] worldNames = readDictionary(in);
+        WorldRef[] worlds = new WorldRef[worldNames.length];
+        for (int i = 0; i < worldNames.length; i++) {
+            worlds[i] = WorldRef.of(worldNames[i]);
+        }
+        String[] poses = readDictionary(in);
+
+        int actorCount = readCount(in, MAX_ACTORS, 1, "actor");
+        Map<String, ActorTrack> tracks = new LinkedHashMap<>();
+        for (int actor = 0; actor < actorCount; actor++) {
+            String actorId = in.readUTF();
+            int count = readCount(in, Integer.MAX_VALUE, MIN_FRAME_BYTES, "frame");
+            long[] ticks = readDeltaColumn(in, count);
+            int[] worldColumn = new int[count];
+            for (int i = 0; i < count; i++) {
+                worldColumn[i] = checkIndex(readVarInt(in), worlds.length);
+            }
+            long[] x = readDeltaColumn(in, count);
+            long[] y = readDeltaColumn(in, count);
+            long[] z = readDeltaColumn(in, count);
+            long[] yaw = readDeltaColumn(in, count);
+            long[] pitch = readDeltaColumn(in, count);
+            long[] headYaw = readDeltaColumn(in, count);
+
+            ActorTrack.Builder builder = new ActorTrack.Builder(count);
+            for (int i = 0; i < count; i++) {
+                String pose = poses[checkIndex(readVarInt(in), poses.length)];
+                builder.add((int) ticks[i],
+                        worlds[worldColumn[i]],
+                        x[i] / POSITION_SCALE,
+                        y[i] / POSITION_SCALE,
+                        z[i] / POSITION_SCALE,
+                        (float) (yaw[i] / ANGLE_SCALE),
+                        (float) (pitch[i] / ANGLE_SCALE),
+                        (float) (headYaw[i] / ANGLE_SCALE),
+                        pose);
+            }
+            tracks.put(actorId, builder.build());
+        }
+        return tracks;
+    }
+
+    private static void writeDictionary(DataOutputStream out, Map<String, Integer> dictionary) throws IOException {
+        writeVarInt(out, dictionary.size());
+        for (String value : dictionary.keySet()) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String[] readDictionary(DataInputStream in) throws IOException {
+        // Every entry is a UTF string with a two-byte length.
+        String[] values = new String[readCount(in, MAX_DICTIONARY_SIZE, 2, "dictionary")];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = in.readUTF();
+        }
+        return values;
+    }
+
+    private static void writeDeltaColumn(DataOutputStream out, long[] column) throws IOException {
+        long previous = 0L;
+        for (long value : column) {
+            writeVarLong(out, zigzag(value - previous));
+            previous = value;
+        }
+    }
+
+    private static long[] readDeltaColumn(DataInputStream in, int count) throws IOException {
+        long[] column = new long[count];
+        long previous = 0L;
+        for (int i = 0; i < count; i++) {
+            previous += unzigzag(readVarLong(in));
+            column[i] = previous;
+        }
+        return column;
+    }
+
+    /**
+     * Reads an element count, rejecting counts above {@code max} or larger than what the remaining input could hold,
+     * so a damaged file fails with an IOException before anything is allocated for it.
+     */
+    private static int readCount(DataInputStream in, int max, int minBytesEach, String what) throws IOException {
+        int count = readVarInt(in);
+        if (count > max || (long) count * minBytesEach > in.available()) {
+            throw new IOException(what + " count " + count + " exceeds the data left in the file");
+        }
+        return count;
+    }
+
+    private static int checkIndex(int index, int size) throws IOException {
+        if (index < 0 || index >= size) {
+            throw new IOException("dictionary index " + index + " out of range");
+        }
+        return index;
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1L);
+    }
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        writeVarLong(out, value & 0xFFFFFFFFL);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        long value = readVarLong(in);
+        if (value < 0L || value > Integer.MAX_VALUE) {
+            throw new IOException("varint out of range");
+        }
+        return (int) value;
+    }
+
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0L) {
+            out.writeByte((int) ((value & 0x7FL) | 0x80L));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0L;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int read = in.read();
+            if (read < 0) {
+                throw new EOFException();
+            }
+            value |= (long) (read & 0x7F) << shift;
+            if ((read & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("varlong too long");
+    }
+}
@@ -0,0 +1,123 @@
+package com.extracraft.extrascenesv2.cinematics;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+import org.bukkit.Location;
+
+/**
+ * Append-only side file for an actor take in progress. Every sampled frame is appended as one line,
+ * so a crash between checkpoints loses at most the unflushed tail instead of the whole take.
+ */
+public final class ActorRecordingJournal implements AutoCloseable {
+
+    static final String EXTENSION = ".journal";
+    private static final String HEADER_PREFIX = "#take ";
+
+    private final File file;
+    private final BufferedWriter writer;
+
+    private ActorRecordingJournal(File file, BufferedWriter writer) {
+        this.file = file;
+        this.writer = writer;
+    }
+
+    static ActorRecordingJournal open(File file, String sceneId, String actorId) throws IOException {
+        File parent = file.getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs()) {
+            throw new IOException("Could not create parent directory for " + file.getName());
+        }
+        BufferedWriter writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        writer.write(HEADER_PREFIX + sceneId + " " + actorId);
+        writer.newLine();
+        writer.flush();
+        return new ActorRecordingJournal(file, writer);
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    public void append(ActorFrame frame) throws IOException {
+        Location location = frame.location();
+        if (location == null || location.getWorld() == null) {
+            return;
+        }
+        writer.write(String.format(Locale.ROOT, "%d;%s;%.5f;%.5f;%.5f;%.3f;%.3f;%.3f;%s",
+                frame.tick(),
+                location.getWorld().getName(),
+                location.getX(),
+                location.getY(),
+                location.getZ(),
+                location.getYaw(),
+                location.getPitch(),
+                frame.headYaw(),
+                frame.pose()));
+        writer.newLine();
+    }
+
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    static Recovered read(File file) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            String header = reader.readLine();
+            if (header == null || !header.startsWith(HEADER_PREFIX)) {
+                return null;
+            }
+            String[] ids = header.substring(HEADER_PREFIX.length()).trim().split(" ");
+            if (ids.length != 2) {
+                return null;
+            }
+
+            ActorTrack.Builder frames = new ActorTrack.Builder(256);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                parseLine(line, frames);
+            }
+            return new Recovered(ids[0], ids[1], frames.build());
+        }
+    }
+
+    /**
+     * Adds one journal line to {@code frames}. Worlds are kept by name, so frames recorded in a world that is not
+     * loaded yet at startup are still recovered.
+     */
+    private static void parseLine(String line, ActorTrack.Builder frames) {
+        String[] parts = line.split(";");
+        if (parts.length != 9) {
+            return;
+        }
+        WorldRef world = WorldRef.of(parts[1]);
+        if (world == null) {
+            return;
+        }
+        try {
+            frames.add(Integer.parseInt(parts[0]), world,
+                    Double.parseDouble(parts[2]),
+                    Double.parseDouble(parts[3]),
+                    Double.parseDouble(parts[4]),
+                    Float.parseFloat(parts[5]),
+                    Float.parseFloat(parts[6]),
+                    Float.parseFloat(parts[7]),
+                    parts[8]);
+        } catch (NumberFormatException ignored) {
+            // Torn last line from the crash; skip it.
+        }
+    }
+
+    record Recovered(String sceneId, String actorId, ActorTrack track) {
+    }
+}
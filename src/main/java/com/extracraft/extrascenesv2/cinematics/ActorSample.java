@@ -0,0 +1,55 @@
+package com.extracraft.extrascenesv2.cinematics;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+
+/**
+ * Reusable holder for an interpolated actor position, filled by {@link ActorTrack#sample(int, int, ActorSample)}.
+ */
+public final class ActorSample {
+
+    private int tick;
+    private World world;
+    private double x;
+    private double y;
+    private double z;
+    private float yaw;
+    private float pitch;
+    private float headYaw;
+    private String pose = "STANDING";
+    private int index = -1;
+    private boolean cached;
+
+    void set(int tick, World world, double x, double y, double z, float yaw, float pitch, float headYaw, String pose) {
+        this.tick = tick;
+        this.world = world;
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.yaw = yaw;
+        this.pitch = pitch;
+        this.headYaw = headYaw;
+        this.pose = pose;
+    }
+
+    void setIndex(int index, boolean cached) {
+        this.index = index;
+        this.cached = cached;
+    }
+
+    public int tick() { return tick; }
+    public World world() { return world; }
+    public double x() { return x; }
+    public double y() { return y; }
+    public double z() { return z; }
+    public float yaw() { return yaw; }
+    public float pitch() { return pitch; }
+    public float headYaw() { return headYaw; }
+    public String pose() { return pose; }
+    public int index() { return index; }
+    public boolean cached() { return cached; }
+
+    public Location toLocation() {
+        return new Location(world, x, y, z, yaw, pitch);
+    }
+}
@@ -0,0 +1,423 @@
+package com.extracraft.extrascenesv2.cinematics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import org.bukkit.Location;
+import org.bukkit.World;
+
+/**
+ * Recorded actor frames stored as parallel primitive columns sorted by tick. Tracks are immutable and
+ * shared between scene snapshots; the read methods never allocate a {@link Location}. Worlds are kept as
+ * {@link WorldRef} keys, so frames in worlds that are not loaded yet are kept rather than dropped.
+ * <p>
+ * Interpolated poses of the last few ticks are cached on the track itself, so every viewer of the same actor at the
+ * same tick reuses one interpolation. Cache entries are immutable and replaced whole, so racing viewers on different
+ * regions at worst interpolate the same tick twice.
+ */
+public final class ActorTrack {
+
+    private static final Map<String, Byte> POSE_INDEXES = new HashMap<>(Map.of("STANDING", (byte) 0));
+    private static volatile String[] poseNames = {"STANDING"};
+
+    public static final ActorTrack EMPTY = new Builder(0).build();
+
+    private static final int POSE_CACHE_SLOTS = 8;
+    private static final int CURSOR_MAX_STEPS = 8;
+
+    private final WorldRef[] worlds;
+    private final byte[] worldIndexes;
+    private final int[] ticks;
+    private final double[] x;
+    private final double[] y;
+    private final double[] z;
+    private final float[] yaw;
+    private final float[] pitch;
+    private final float[] headYaw;
+    private final byte[] poseOrdinals;
+    private final CachedPose[] poseCache = new CachedPose[POSE_CACHE_SLOTS];
+    private int hash;
+
+    private ActorTrack(WorldRef[] worlds, byte[] worldIndexes, int[] ticks, double[] x, double[] y, double[] z,
+                       float[] yaw, float[] pitch, float[] headYaw, byte[] poseOrdinals) {
+        this.worlds = worlds;
+        this.worldIndexes = worldIndexes;
+        this.ticks = ticks;
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.yaw = yaw;
+        this.pitch = pitch;
+        this.headYaw = headYaw;
+        this.poseOrdinals = poseOrdinals;
+    }
+
+    public static ActorTrack of(List<ActorFrame> frames) {
+        if (frames == null || frames.isEmpty()) {
+            return EMPTY;
+        }
+        Builder builder = new Builder(frames.size());
+        for (ActorFrame frame : frames) {
+            builder.add(frame);
+        }
+        return builder.build();
+    }
+
+    public int size() {
+        return ticks.length;
+    }
+
+    public boolean isEmpty() {
+        return ticks.length == 0;
+    }
+
+    public int tick(int index) {
+        return ticks[index];
+    }
+
+    public World world(int index) {
+        return worlds[worldIndexes[index]].get();
+    }
+
+    public WorldRef worldRef(int index) {
+        return worlds[worldIndexes[index]];
+    }
+
+    public double x(int index) {
+        return x[index];
+    }
+
+    public double y(int index) {
+        return y[index];
+    }
+
+    public double z(int index) {
+        return z[index];
+    }
+
+    public float yaw(int index) {
+        return yaw[index];
+    }
+
+    public float pitch(int index) {
+        return pitch[index];
+    }
+
+    public float headYaw(int index) {
+        return headYaw[index];
+    }
+
+    public String pose(int index) {
+        return poseName(poseOrdinals[index]);
+    }
+
+    public int firstTick() {
+        return ticks.length == 0 ? 0 : ticks[0];
+    }
+
+    public int lastTick() {
+        return ticks.length == 0 ? 0 : ticks[ticks.length - 1];
+    }
+
+    /**
+     * Index of the last frame at or before {@code tick}, or -1 when every frame is later.
+     */
+    public int indexAtOrBefore(int tick) {
+        int low = 0;
+        int high = ticks.length - 1;
+        int found = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (ticks[mid] <= tick) {
+                found = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return found;
+    }
+
+    public boolean sample(int tick, ActorSample out) {
+        return sample(tick, -1, out);
+    }
+
+    /**
+     * Samples the pose at {@code tick}, starting the frame search from {@code cursor} (the {@link ActorSample#index()}
+     * of this viewer's previous sample, or -1). Poses already computed for {@code tick} by another viewer are reused.
+     */
+    public boolean sample(int tick, int cursor, ActorSample out) {
+        if (ticks.length == 0) {
+            return false;
+        }
+        int slot = tick & (POSE_CACHE_SLOTS - 1);
+        CachedPose cached = poseCache[slot];
+        if (cached != null && cached.tick == tick) {
+            out.set(cached.frameTick, worlds[worldIndexes[cached.index]].get(), cached.x, cached.y, cached.z,
+                    cached.yaw, cached.pitch, cached.headYaw, cached.pose);
+            out.setIndex(cached.index, true);
+            return true;
+        }
+
+        int previous = seek(tick, cursor);
+        interpolate(tick, previous, out);
+        int index = Math.max(0, previous);
+        out.setIndex(index, false);
+        poseCache[slot] = new CachedPose(tick, index, out.tick(), out.x(), out.y(), out.z(), out.yaw(), out.pitch(),
+                out.headYaw(), out.pose());
+        return true;
+    }
+
+    private int seek(int tick, int cursor) {
+        if (cursor >= 0 && cursor < ticks.length && ticks[cursor] <= tick) {
+            int index = cursor;
+            for (int steps = 0; steps < CURSOR_MAX_STEPS; steps++) {
+                if (index + 1 >= ticks.length || ticks[index + 1] > tick) {
+                    return index;
+                }
+                index++;
+            }
+        }
+        return indexAtOrBefore(tick);
+    }
+
+    private void interpolate(int tick, int previous, ActorSample out) {
+        if (previous < 0) {
+            copyTo(0, out);
+            return;
+        }
+        int next = previous + 1;
+        if (next >= ticks.length || worldIndexes[previous] != worldIndexes[next]) {
+            copyTo(previous, out);
+            return;
+        }
+
+        double t = (tick - ticks[previous]) / (double) Math.max(1, ticks[next] - ticks[previous]);
+        out.set(tick,
+                worlds[worldIndexes[previous]].get(),
+                x[previous] + (x[next] - x[previous]) * t,
+                y[previous] + (y[next] - y[previous]) * t,
+                z[previous] + (z[next] - z[previous]) * t,
+                (float) (yaw[previous] + (yaw[next] - yaw[previous]) * t),
+                (float) (pitch[previous] + (pitch[next] - pitch[previous]) * t),
+                (float) (headYaw[previous] + (headYaw[next] - headYaw[previous]) * t),
+                poseName(t < 0.5D ? poseOrdinals[previous] : poseOrdinals[next]));
+    }
+
+    /**
+     * Frame by frame; worlds and poses are interned, so they compare by reference whatever palette a track uses.
+     */
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof ActorTrack track) || track.ticks.length != ticks.length || track.hashCode() != hashCode()) {
+            return false;
+        }
+        for (int i = 0; i < ticks.length; i++) {
+            if (worldRef(i) != track.worldRef(i)) {
+                return false;
+            }
+        }
+        return Arrays.equals(ticks, track.ticks)
+                && Arrays.equals(x, track.x)
+                && Arrays.equals(y, track.y)
+                && Arrays.equals(z, track.z)
+                && Arrays.equals(yaw, track.yaw)
+                && Arrays.equals(pitch, track.pitch)
+                && Arrays.equals(headYaw, track.headYaw)
+                && Arrays.equals(poseOrdinals, track.poseOrdinals);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = hash;
+        if (result == 0) {
+            result = Arrays.hashCode(ticks);
+            for (int i = 0; i < ticks.length; i++) {
+                result = 31 * result + System.identityHashCode(worldRef(i));
+            }
+            result = 31 * result + Arrays.hashCode(x);
+            result = 31 * result + Arrays.hashCode(y);
+            result = 31 * result + Arrays.hashCode(z);
+            result = 31 * result + Arrays.hashCode(yaw);
+            result = 31 * result + Arrays.hashCode(pitch);
+            result = 31 * result + Arrays.hashCode(headYaw);
+            result = 31 * result + Arrays.hashCode(poseOrdinals);
+            result = result == 0 ? 1 : result;
+            hash = result;
+        }
+        return result;
+    }
+
+    public long estimatedBytes() {
+        return 160L + ticks.length * 42L;
+    }
+
+    public ActorFrame frameAt(int index) {
+        Location location = new Location(world(index), x[index], y[index], z[index], yaw[index], pitch[index]);
+        return new ActorFrame(ticks[index], location, headYaw[index], pose(index));
+    }
+
+    public List<ActorFrame> toFrames() {
+        List<ActorFrame> frames = new ArrayList<>(ticks.length);
+        for (int i = 0; i < ticks.length; i++) {
+            frames.add(frameAt(i));
+        }
+        return Collections.unmodifiableList(frames);
+    }
+
+    private void copyTo(int index, ActorSample out) {
+        out.set(ticks[index], worlds[worldIndexes[index]].get(), x[index], y[index], z[index],
+                yaw[index], pitch[index], headYaw[index], poseName(poseOrdinals[index]));
+    }
+
+    static synchronized byte poseOrdinal(String pose) {
+        String normalized = pose == null || pose.isBlank() ? "STANDING" : pose.toUpperCase(Locale.ROOT);
+        Byte existing = POSE_INDEXES.get(normalized);
+        if (existing != null) {
+            return existing;
+        }
+        String[] names = poseNames;
+        if (names.length > Byte.MAX_VALUE) {
+            return 0;
+        }
+        byte ordinal = (byte) names.length;
+        String[] updated = Arrays.copyOf(names, names.length + 1);
+        updated[ordinal] = normalized;
+        POSE_INDEXES.put(normalized, ordinal);
+        poseNames = updated;
+        return ordinal;
+    }
+
+    private static String poseName(byte ordinal) {
+        return poseNames[ordinal];
+    }
+
+    private record CachedPose(int tick, int index, int frameTick, double x, double y, double z, float yaw, float pitch,
+                              float headYaw, String pose) {
+    }
+
+    public static final class Builder {
+        private final List<WorldRef> worldPalette = new ArrayList<>(1);
+        private byte[] worldIndexes;
+        private int[] ticks;
+        private double[] x;
+        private double[] y;
+        private double[] z;
+        private float[] yaw;
+        private float[] pitch;
+        private float[] headYaw;
+        private byte[] poseOrdinals;
+        private int size;
+        private boolean sorted = true;
+
+        public Builder(int expectedSize) {
+            int capacity = Math.max(1, expectedSize);
+            worldIndexes = new byte[capacity];
+            ticks = new int[capacity];
+            x = new double[capacity];
+            y = new double[capacity];
+            z = new double[capacity];
+            yaw = new float[capacity];
+            pitch = new float[capacity];
+            headYaw = new float[capacity];
+            poseOrdinals = new byte[capacity];
+        }
+
+        public Builder add(ActorFrame frame) {
+            Location location = frame == null ? null : frame.location();
+            if (location == null) {
+                return this;
+            }
+            return add(frame.tick(), WorldRef.from(location.getWorld()), location.getX(), location.getY(), location.getZ(),
+                    location.getYaw(), location.getPitch(), frame.headYaw(), frame.pose());
+        }
+
+        public Builder add(int tick, WorldRef world, double frameX, double frameY, double frameZ,
+                           float frameYaw, float framePitch, float frameHeadYaw, String pose) {
+            if (world == null) {
+                return this;
+            }
+            int worldIndex = worldPalette.indexOf(world);
+            if (worldIndex < 0) {
+                if (worldPalette.size() > Byte.MAX_VALUE) {
+                    return this;
+                }
+                worldIndex = worldPalette.size();
+                worldPalette.add(world);
+            }
+            if (size == ticks.length) {
+                grow();
+            }
+            int frameTick = Math.max(0, tick);
+            if (size > 0 && ticks[size - 1] > frameTick) {
+                sorted = false;
+            }
+            worldIndexes[size] = (byte) worldIndex;
+            ticks[size] = frameTick;
+            x[size] = frameX;
+            y[size] = frameY;
+            z[size] = frameZ;
+            yaw[size] = frameYaw;
+            pitch[size] = framePitch;
+            headYaw[size] = frameHeadYaw;
+            poseOrdinals[size] = poseOrdinal(pose);
+            size++;
+            return this;
+        }
+
+        public ActorTrack build() {
+            Integer[] order = null;
+            if (!sorted) {
+                order = new Integer[size];
+                for (int i = 0; i < size; i++) {
+                    order[i] = i;
+                }
+                Arrays.sort(order, (a, b) -> Integer.compare(ticks[a], ticks[b]));
+            }
+
+            byte[] builtWorldIndexes = new byte[size];
+            int[] builtTicks = new int[size];
+            double[] builtX = new double[size];
+            double[] builtY = new double[size];
+            double[] builtZ = new double[size];
+            float[] builtYaw = new float[size];
+            float[] builtPitch = new float[size];
+            float[] builtHeadYaw = new float[size];
+            byte[] builtPoses = new byte[size];
+            for (int i = 0; i < size; i++) {
+                int source = order == null ? i : order[i];
+                builtWorldIndexes[i] = worldIndexes[source];
+                builtTicks[i] = ticks[source];
+                builtX[i] = x[source];
+                builtY[i] = y[source];
+                builtZ[i] = z[source];
+                builtYaw[i] = yaw[source];
+                builtPitch[i] = pitch[source];
+                builtHeadYaw[i] = headYaw[source];
+                builtPoses[i] = poseOrdinals[source];
+            }
+            return new ActorTrack(worldPalette.toArray(WorldRef[]::new), builtWorldIndexes, builtTicks,
+                    builtX, builtY, builtZ, builtYaw, builtPitch, builtHeadYaw, builtPoses);
+        }
+
+        private void grow() {
+            int capacity = ticks.length * 2;
+            worldIndexes = Arrays.copyOf(worldIndexes, capacity);
+            ticks = Arrays.copyOf(ticks, capacity);
+            x = Arrays.copyOf(x, capacity);
+            y = Arrays.copyOf(y, capacity);
+            z = Arrays.copyOf(z, capacity);
+            yaw = Arrays.copyOf(yaw, capacity);
+            pitch = Arrays.copyOf(pitch, capacity);
+            headYaw = Arrays.copyOf(headYaw, capacity);
+            poseOrdinals = Arrays.copyOf(poseOrdinals, capacity);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.extracraft.extrascenesv2.cinematics;
+
+import java.util.Arrays;
+import org.bukkit.Location;
+import org.bukkit.World;
+
+/**
+ * Camera samples captured by {@code /scenes record}. Samples are kept in flat arrays while the take runs
+ * and are merged into the scene as a single edit by {@link CinematicManager#commitCameraRecording}.
+ */
+public final class CameraRecordingSession {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final String sceneId;
+    private final CinematicPoint.InterpolationMode interpolationMode;
+    private int[] ticks = new int[INITIAL_CAPACITY];
+    private double[] coordinates = new double[INITIAL_CAPACITY * 3];
+    private float[] rotations = new float[INITIAL_CAPACITY * 2];
+    private World[] worlds = new World[INITIAL_CAPACITY];
+    private int size;
+    private boolean committed;
+
+    CameraRecordingSession(String sceneId, CinematicPoint.InterpolationMode interpolationMode) {
+        this.sceneId = sceneId;
+        this.interpolationMode = interpolationMode;
+    }
+
+    public String getSceneId() {
+        return sceneId;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isCommitted() {
+        return committed;
+    }
+
+    public void sample(int tick, Location location) {
+        if (committed || location == null || location.getWorld() == null) {
+            return;
+        }
+        int sampleTick = Math.max(0, tick);
+        if (size > 0 && ticks[size - 1] >= sampleTick) {
+            return;
+        }
+        if (size == ticks.length) {
+            int capacity = size * 2;
+            ticks = Arrays.copyOf(ticks, capacity);
+            coordinates = Arrays.copyOf(coordinates, capacity * 3);
+            rotations = Arrays.copyOf(rotations, capacity * 2);
+            worlds = Arrays.copyOf(worlds, capacity);
+        }
+
+        ticks[size] = sampleTick;
+        coordinates[size * 3] = location.getX();
+        coordinates[size * 3 + 1] = location.getY();
+        coordinates[size * 3 + 2] = location.getZ();
+        rotations[size * 2] = location.getYaw();
+        rotations[size * 2 + 1] = location.getPitch();
+        worlds[size] = location.getWorld();
+        size++;
+    }
+
+    int tickAt(int index) {
+        return ticks[index];
+    }
+
+    CinematicPoint pointAt(int index) {
+        Location location = new Location(worlds[index],
+                coordinates[index * 3],
+                coordinates[index * 3 + 1],
+                coordinates[index * 3 + 2],
+                rotations[index * 2],
+                rotations[index * 2 + 1]);
+        return new CinematicPoint(ticks[index], location, interpolationMode);
+    }
+
+    void markCommitted() {
+        committed = true;
+    }
+}
@@ -0,0 +1,278 @@
+package com.extracraft.extrascenesv2.cinematics;
+
+import java.util.Arrays;
+import java.util.List;
+import org.bukkit.Location;
+import org.bukkit.World;
+
+/**
+ * Camera path baked to one sample per tick between the first and last keyframe. Built once per points list
+ * with the same SMOOTH/LINEAR/INSTANT math playback used to run every tick, so reads are plain array lookups.
+ * Ticks outside the baked span hold the first or last keyframe, exactly as the live interpolation did; the last
+ * keyframe gets its own trailing slot because the sample at its tick can still be the previous pose (INSTANT cuts,
+ * keyframes sharing a tick).
+ */
+public final class CameraTrack {
+
+    static final double BEZIER_TENSION = 0.82;
+    // Display entities clamp their teleport interpolation duration to this many ticks.
+    static final int MAX_CLIENT_INTERPOLATION_TICKS = 59;
+
+    private final int firstTick;
+    // Baked ticks; the arrays hold one more slot for the pose after the last keyframe.
+    private final int span;
+    private final double[] xs;
+    private final double[] ys;
+    private final double[] zs;
+    private final float[] yaws;
+    private final float[] pitches;
+    private final WorldRef[] worlds;
+    private final WorldRef[] requiredWorlds;
+    private int[] sparseKeyTicks;
+    private double sparsePositionTolerance;
+    private double sparseAngleTolerance;
+    private int sparseMaxInterval;
+
+    private CameraTrack(int firstTick, int span) {
+        int length = span + 1;
+        this.firstTick = firstTick;
+        this.span = span;
+        this.xs = new double[length];
+        this.ys = new double[length];
+        this.zs = new double[length];
+        this.yaws = new float[length];
+        this.pitches = new float[length];
+        this.worlds = new WorldRef[length];
+        this.requiredWorlds = new WorldRef[length];
+    }
+
+    /**
+     * Bakes {@code points}, which must be sorted by tick. Only world keys are touched, so this is safe off the
+     * server thread.
+     */
+    static CameraTrack bake(List<CinematicPoint> points) {
+        if (points.isEmpty()) {
+            return null;
+        }
+        int firstTick = points.get(0).tick();
+        int lastTick = points.get(points.size() - 1).tick();
+        CameraTrack track = new CameraTrack(firstTick, Math.max(1, lastTick - firstTick + 1));
+
+        int nextIndex = 0;
+        for (int i = 0; i < track.span; i++) {
+            int tick = firstTick + i;
+            while (nextIndex < points.size() && points.get(nextIndex).tick() < tick) {
+                nextIndex++;
+            }
+            track.bakeTick(i, points, nextIndex, tick);
+        }
+        track.copy(track.span, points.get(points.size() - 1));
+        return track;
+    }
+
+    private void bakeTick(int index, List<CinematicPoint> points, int nextIndex, int tick) {
+        CinematicPoint prev = nextIndex > 0 ? points.get(nextIndex - 1) : null;
+        CinematicPoint next = nextIndex < points.size() ? points.get(nextIndex) : null;
+
+        if (prev == null) {
+            copy(index, next);
+            return;
+        }
+        if (next == null || prev.tick() == next.tick()
+                || next.interpolationMode() == CinematicPoint.InterpolationMode.INSTANT) {
+            copy(index, prev);
+            return;
+        }
+        if (prev.world() != next.world()) {
+            // Live interpolation needed both worlds loaded before falling back to the previous point.
+            copy(index, prev);
+            requiredWorlds[index] = next.world();
+            return;
+        }
+
+        double rawT = (tick - prev.tick()) / (double) (next.tick() - prev.tick());
+        worlds[index] = prev.world();
+        requiredWorlds[index] = next.world();
+
+        if (next.interpolationMode() == CinematicPoint.InterpolationMode.LINEAR) {
+            double linearT = Math.max(0.0, Math.min(1.0, rawT));
+            xs[index] = lerp(prev.x(), next.x(), linearT);
+            ys[index] = lerp(prev.y(), next.y(), linearT);
+            zs[index] = lerp(prev.z(), next.z(), linearT);
+            yaws[index] = (float) lerpAngle(prev.yaw(), next.yaw(), linearT);
+            pitches[index] = (float) lerp(prev.pitch(), next.pitch(), linearT);
+            return;
+        }
+
+        double smoothT = smootherStep(rawT);
+
+        CinematicPoint before = nextIndex - 2 >= 0 ? points.get(nextIndex - 2) : prev;
+        CinematicPoint after = nextIndex + 1 < points.size() ? points.get(nextIndex + 1) : next;
+
+        double c1x = prev.x() + (next.x() - before.x()) * (BEZIER_TENSION / 6.0);
+        double c1y = prev.y() + (next.y() - before.y()) * (BEZIER_TENSION / 6.0);
+        double c1z = prev.z() + (next.z() - before.z()) * (BEZIER_TENSION / 6.0);
+
+        double c2x = next.x() - (after.x() - prev.x()) * (BEZIER_TENSION / 6.0);
+        double c2y = next.y() - (after.y() - prev.y()) * (BEZIER_TENSION / 6.0);
+        double c2z = next.z() - (after.z() - prev.z()) * (BEZIER_TENSION / 6.0);
+
+        xs[index] = cubicBezier(prev.x(), c1x, c2x, next.x(), smoothT);
+        ys[index] = cubicBezier(prev.y(), c1y, c2y, next.y(), smoothT);
+        zs[index] = cubicBezier(prev.z(), c1z, c2z, next.z(), smoothT);
+        yaws[index] = (float) lerpAngle(prev.yaw(), next.yaw(), smoothT);
+        pitches[index] = (float) lerp(prev.pitch(), next.pitch(), smoothT);
+    }
+
+    private void copy(int index, CinematicPoint point) {
+        xs[index] = point.x();
+        ys[index] = point.y();
+        zs[index] = point.z();
+        yaws[index] = point.yaw();
+        pitches[index] = point.pitch();
+        worlds[index] = point.world();
+    }
+
+    /**
+     * Writes the camera at {@code tick} into {@code target} and returns false when the world it needs is not loaded.
+     */
+    public boolean apply(int tick, Location target) {
+        int index = indexOf(tick);
+        WorldRef required = requiredWorlds[index];
+        World world = worlds[index] == null ? null : worlds[index].get();
+        if (world == null || (required != null && required.get() == null)) {
+            return false;
+        }
+        target.setWorld(world);
+        target.setX(xs[index]);
+        target.setY(ys[index]);
+        target.setZ(zs[index]);
+        target.setYaw(yaws[index]);
+        target.setPitch(pitches[index]);
+        return true;
+    }
+
+    public Location locationAt(int tick) {
+        Location location = new Location(null, 0.0, 0.0, 0.0);
+        return apply(tick, location) ? location : null;
+    }
+
+    /**
+     * Ticks whose poses, interpolated linearly by the client, stay within {@code positionTolerance} blocks and
+     * {@code angleTolerance} degrees of the baked path. The result for the last tolerances asked for is cached.
+     */
+    public synchronized int[] sparseKeyTicks(double positionTolerance, double angleTolerance, int maxInterval) {
+        int interval = Math.max(1, Math.min(MAX_CLIENT_INTERPOLATION_TICKS, maxInterval));
+        if (sparseKeyTicks != null && sparsePositionTolerance == positionTolerance
+                && sparseAngleTolerance == angleTolerance && sparseMaxInterval == interval) {
+            return sparseKeyTicks;
+        }
+
+        double toleranceSquared = positionTolerance * positionTolerance;
+        int[] keys = new int[span];
+        int count = 0;
+        keys[count++] = firstTick;
+        int start = 0;
+        while (start < span - 1) {
+            int end = start + 1;
+            while (end + 1 < span && end + 1 - start <= interval && worlds[end + 1] == worlds[start]
+                    && fitsLinear(start, end + 1, toleranceSquared, angleTolerance)) {
+                end++;
+            }
+            keys[count++] = firstTick + end;
+            start = end;
+        }
+
+        sparseKeyTicks = Arrays.copyOf(keys, count);
+        sparsePositionTolerance = positionTolerance;
+        sparseAngleTolerance = angleTolerance;
+        sparseMaxInterval = interval;
+        return sparseKeyTicks;
+    }
+
+    private boolean fitsLinear(int from, int to, double toleranceSquared, double angleTolerance) {
+        double span = to - from;
+        for (int i = from + 1; i < to; i++) {
+            double t = (i - from) / span;
+            double dx = lerp(xs[from], xs[to], t) - xs[i];
+            double dy = lerp(ys[from], ys[to], t) - ys[i];
+            double dz = lerp(zs[from], zs[to], t) - zs[i];
+            if (dx * dx + dy * dy + dz * dz > toleranceSquared) {
+                return false;
+            }
+            if (Math.abs(angleDifference(lerpAngle(yaws[from], yaws[to], t), yaws[i])) > angleTolerance
+                    || Math.abs(lerp(pitches[from], pitches[to], t) - pitches[i]) > angleTolerance) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    WorldRef worldAt(int tick) {
+        return worlds[indexOf(tick)];
+    }
+
+    double xAt(int tick) {
+        return xs[indexOf(tick)];
+    }
+
+    double zAt(int tick) {
+        return zs[indexOf(tick)];
+    }
+
+    public int firstTick() {
+        return firstTick;
+    }
+
+    public int lastTick() {
+        return firstTick + span - 1;
+    }
+
+    long estimatedBytes() {
+        return 64L + xs.length * 48L;
+    }
+
+    private int indexOf(int tick) {
+        int index = tick - firstTick;
+        if (index >= span) {
+            // Past the last keyframe: the live interpolation returned that keyframe itself.
+            return span;
+        }
+        return Math.max(0, index);
+    }
+
+    private static double lerp(double start, double end, double t) {
+        return start + (end - start) * t;
+    }
+
+    private static double lerpAngle(double start, double end, double t) {
+        double delta = ((end - start + 540.0) % 360.0) - 180.0;
+        return start + delta * t;
+    }
+
+    private static double angleDifference(double first, double second) {
+        double delta = (first - second) % 360.0;
+        if (delta > 180.0) {
+            delta -= 360.0;
+        } else if (delta < -180.0) {
+            delta += 360.0;
+        }
+        return delta;
+    }
+
+    private static double cubicBezier(double p0, double p1, double p2, double p3, double t) {
+        double oneMinusT = 1.0 - t;
+        double oneMinusTSquared = oneMinusT * oneMinusT;
+        double tSquared = t * t;
+
+        return oneMinusTSquared * oneMinusT * p0
+                + 3.0 * oneMinusTSquared * t * p1
+                + 3.0 * oneMinusT * tSquared * p2
+                + tSquared * t * p3;
+    }
+
+    static double smootherStep(double t) {
+        double clamped = Math.max(0.0, Math.min(1.0, t));
+        return clamped * clamped * clamped * (clamped * (clamped * 6.0 - 15.0) + 10.0);
+    }
+}
@@ -0,0 +1,382 @@
+package com.extracraft.extrascenesv2.cinematics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.plugin.java.JavaPlugin;
+
+/**
+ * Loads the chunks a scene is about to need before the camera or an actor gets there. Each scene gets a plan, built
+ * once per scene version, of every chunk within {@code radius} of the camera and actor paths and the ticks it is
+ * needed for. A {@link Window} walks that plan ahead of playback with Paper's async chunk loads and holds what it
+ * loaded with a plugin chunk ticket until playback has passed it. On Folia windows advance on different regions and
+ * loads complete on the region owning the chunk, so each window guards its own state and the shared ticket counts
+ * live in a concurrent map; regions only contend when they touch the same chunk.
+ */
+public final class ChunkPreloadService {
+
+    private static final int CAMERA_SAMPLE_TICKS = 2;
+
+    private final JavaPlugin plugin;
+    private final boolean enabled;
+    private final int lookaheadTicks;
+    private final int radius;
+    private final Map<Cinematic, ChunkPlan> plans = Collections.synchronizedMap(new WeakHashMap<>());
+    private final Map<ChunkKey, Integer> tickets = new ConcurrentHashMap<>();
+    private final AtomicInteger openWindows = new AtomicInteger();
+    private final LongAdder loadsRequested = new LongAdder();
+    private final LongAdder loadsCompleted = new LongAdder();
+
+    public ChunkPreloadService(JavaPlugin plugin) {
+        this.plugin = plugin;
+        this.enabled = plugin.getConfig().getBoolean("preload.enabled", true);
+        this.lookaheadTicks = Math.max(20, (int) Math.round(plugin.getConfig().getDouble("preload.lookahead-seconds", 5.0D) * 20.0D));
+        this.radius = Math.max(0, Math.min(8, plugin.getConfig().getInt("preload.radius-chunks", 2)));
+    }
+
+    /**
+     * Opens a window positioned at {@code tick}; the first chunks are requested right away. {@code endTarget} is where
+     * the viewer is sent after {@code endTick}, or null. Returns null when preloading is disabled.
+     */
+    public Window open(Cinematic cinematic, int tick, int endTick, Location endTarget) {
+        if (!enabled || cinematic.isEmpty()) {
+            return null;
+        }
+        ChunkKey endChunk = endTarget == null || endTarget.getWorld() == null ? null
+                : new ChunkKey(WorldRef.from(endTarget.getWorld()), endTarget.getBlockX() >> 4, endTarget.getBlockZ() >> 4);
+        Window window = new Window(plan(cinematic), endTick, endChunk);
+        openWindows.incrementAndGet();
+        window.advance(tick);
+        return window;
+    }
+
+    public PreloadStats getStats() {
+        return new PreloadStats(openWindows.get(), tickets.size(), loadsRequested.sum(), loadsCompleted.sum());
+    }
+
+    /**
+     * Drops every ticket this plugin holds; open windows stop requesting chunks once closed by their owners.
+     */
+    public void releaseAll() {
+        for (ChunkKey key : tickets.keySet()) {
+            if (tickets.remove(key) != null) {
+                World world = key.world().get();
+                if (world != null) {
+                    world.removePluginChunkTicket(key.x(), key.z(), plugin);
+                }
+            }
+        }
+    }
+
+    /**
+     * Plans are built outside any lock; two windows racing on a new scene version both build and the first one wins.
+     */
+    private ChunkPlan plan(Cinematic cinematic) {
+        ChunkPlan plan = plans.get(cinematic);
+        if (plan != null) {
+            return plan;
+        }
+        ChunkPlan built = buildPlan(cinematic);
+        ChunkPlan raced = plans.putIfAbsent(cinematic, built);
+        return raced == null ? built : raced;
+    }
+
+    private ChunkPlan buildPlan(Cinematic cinematic) {
+        List<Span> spans = new ArrayList<>();
+
+        CameraTrack track = cinematic.getCameraTrack();
+        if (track != null) {
+            PathCollector camera = new PathCollector(spans);
+            int duration = Math.max(0, cinematic.getDurationTicks());
+            for (int tick = 0; tick <= duration; tick += CAMERA_SAMPLE_TICKS) {
+                camera.visit(tick, track.worldAt(tick), track.xAt(tick), track.zAt(tick));
+            }
+            camera.visit(duration, track.worldAt(duration), track.xAt(duration), track.zAt(duration));
+            camera.finish();
+        }
+
+        for (SceneActor actor : cinematic.getActors().values()) {
+            ActorTrack frames = actor.track();
+            if (frames.isEmpty()) {
+                continue;
+            }
+            PathCollector path = new PathCollector(spans);
+            for (int i = Math.max(0, frames.indexAtOrBefore(actor.appearAtTick())); i < frames.size(); i++) {
+                if (frames.tick(i) > actor.disappearAtTick()) {
+                    break;
+                }
+                path.visit(Math.max(actor.appearAtTick(), frames.tick(i)), frames.worldRef(i), frames.x(i), frames.z(i));
+            }
+            path.finish();
+        }
+
+        // Merge spans of the same chunk that are close enough that releasing in between would just reload it.
+        spans.sort(Comparator.comparingInt(Span::firstTick));
+        Map<ChunkKey, Span> open = new HashMap<>();
+        List<Span> merged = new ArrayList<>();
+        for (Span span : spans) {
+            Span previous = open.get(span.key);
+            if (previous != null && span.firstTick <= previous.lastTick + lookaheadTicks) {
+                previous.lastTick = Math.max(previous.lastTick, span.lastTick);
+                continue;
+            }
+            open.put(span.key, span);
+            merged.add(span);
+        }
+        return new ChunkPlan(merged.toArray(Span[]::new));
+    }
+
+    private void acquire(ChunkKey key) {
+        tickets.compute(key, (ignored, count) -> {
+            if (count == null) {
+                World world = key.world().get();
+                if (world != null) {
+                    world.addPluginChunkTicket(key.x(), key.z(), plugin);
+                }
+                return 1;
+            }
+            return count + 1;
+        });
+    }
+
+    private void release(ChunkKey key) {
+        tickets.computeIfPresent(key, (ignored, count) -> {
+            if (count > 1) {
+                return count - 1;
+            }
+            World world = key.world().get();
+            if (world != null) {
+                world.removePluginChunkTicket(key.x(), key.z(), plugin);
+            }
+            return null;
+        });
+    }
+
+    public record PreloadStats(int windows, int tickets, long loadsRequested, long loadsCompleted) {
+    }
+
+    private record ChunkKey(WorldRef world, int x, int z) {
+    }
+
+    private static final class Span {
+        private final ChunkKey key;
+        private final int firstTick;
+        private int lastTick;
+
+        private Span(ChunkKey key, int firstTick, int lastTick) {
+            this.key = key;
+            this.firstTick = firstTick;
+            this.lastTick = lastTick;
+        }
+
+        private int firstTick() {
+            return firstTick;
+        }
+    }
+
+    private record ChunkPlan(Span[] spans) {
+    }
+
+    /**
+     * Turns a path into spans, one square of chunks per stretch the path stays in the same centre chunk.
+     */
+    private final class PathCollector {
+        private final List<Span> spans;
+        private WorldRef world;
+        private int chunkX;
+        private int chunkZ;
+        private int firstTick;
+        private int lastTick;
+
+        private PathCollector(List<Span> spans) {
+            this.spans = spans;
+        }
+
+        private void visit(int tick, WorldRef pointWorld, double x, double z) {
+            if (pointWorld == null) {
+                return;
+            }
+            int pointChunkX = (int) Math.floor(x) >> 4;
+            int pointChunkZ = (int) Math.floor(z) >> 4;
+            if (pointWorld == world && pointChunkX == chunkX && pointChunkZ == chunkZ) {
+                lastTick = tick;
+                return;
+            }
+            finish();
+            world = pointWorld;
+            chunkX = pointChunkX;
+            chunkZ = pointChunkZ;
+            firstTick = tick;
+            lastTick = tick;
+        }
+
+        private void finish() {
+            if (world == null) {
+                return;
+            }
+            for (int dx = -radius; dx <= radius; dx++) {
+                for (int dz = -radius; dz <= radius; dz++) {
+                    spans.add(new Span(new ChunkKey(world, chunkX + dx, chunkZ + dz), firstTick, lastTick));
+                }
+            }
+            world = null;
+        }
+    }
+
+    /**
+     * Preload position of one playback. {@link #advance(int)} is called with the tick being rendered; moving back
+     * releases everything and rescans the plan.
+     */
+    public final class Window {
+
+        private final ChunkPlan plan;
+        private final int endTick;
+        private final ChunkKey endChunk;
+        private final PriorityQueue<Held> held = new PriorityQueue<>(Comparator.comparingInt(entry -> entry.lastTick));
+        private final CompletableFuture<Void> ready = new CompletableFuture<>();
+        private int next;
+        private int tick = Integer.MIN_VALUE;
+        private int pending;
+        private boolean endRequested;
+        private boolean closed;
+
+        private Window(ChunkPlan plan, int endTick, ChunkKey endChunk) {
+            this.plan = plan;
+            this.endTick = endTick;
+            this.endChunk = endChunk;
+        }
+
+        public void advance(int targetTick) {
+            synchronized (this) {
+                advanceLocked(targetTick);
+            }
+        }
+
+        private void advanceLocked(int targetTick) {
+            if (closed || targetTick == tick) {
+                return;
+            }
+            if (targetTick < tick) {
+                releaseHeld();
+                next = 0;
+                endRequested = false;
+            }
+            tick = targetTick;
+
+            while (!held.isEmpty() && held.peek().lastTick < targetTick) {
+                held.poll().release();
+            }
+            int horizon = targetTick + lookaheadTicks;
+            Span[] spans = plan.spans();
+            while (next < spans.length && spans[next].firstTick <= horizon) {
+                Span span = spans[next++];
+                if (span.lastTick >= targetTick) {
+                    request(span.key, span.lastTick);
+                }
+            }
+            if (!endRequested && endChunk != null && horizon >= endTick) {
+                endRequested = true;
+                for (int dx = -radius; dx <= radius; dx++) {
+                    for (int dz = -radius; dz <= radius; dz++) {
+                        request(new ChunkKey(endChunk.world(), endChunk.x() + dx, endChunk.z() + dz), Integer.MAX_VALUE);
+                    }
+                }
+            }
+            if (pending == 0) {
+                ready.complete(null);
+            }
+        }
+
+        /**
+         * Completes once every chunk requested by the first {@link #advance(int)} has loaded, or the window closed.
+         */
+        public CompletableFuture<Void> ready() {
+            return ready;
+        }
+
+        public void close() {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                openWindows.decrementAndGet();
+                releaseHeld();
+            }
+            ready.complete(null);
+        }
+
+        private void request(ChunkKey key, int lastTick) {
+            World world = key.world().get();
+            if (world == null) {
+                return;
+            }
+            Held entry = new Held(key, lastTick);
+            held.add(entry);
+            pending++;
+            loadsRequested.increment();
+            // Paper completes these futures on the server thread, Folia on the region owning the chunk.
+            world.getChunkAtAsync(key.x(), key.z()).whenComplete((chunk, error) -> {
+                boolean done;
+                synchronized (Window.this) {
+                    pending--;
+                    if (error == null && chunk != null) {
+                        loadsCompleted.increment();
+                        entry.loaded();
+                    } else if (error != null) {
+                        plugin.getLogger().warning("Could not preload chunk " + key.x() + "," + key.z() + " in "
+                                + key.world().name() + ": " + error.getMessage());
+                    }
+                    done = pending == 0;
+                }
+                if (done) {
+                    ready.complete(null);
+                }
+            });
+        }
+
+        private void releaseHeld() {
+            while (!held.isEmpty()) {
+                held.poll().release();
+            }
+        }
+    }
+
+    private final class Held {
+        private final ChunkKey key;
+        private final int lastTick;
+        private boolean ticketed;
+        private boolean released;
+
+        private Held(ChunkKey key, int lastTick) {
+            this.key = key;
+            this.lastTick = lastTick;
+        }
+
+        private void loaded() {
+            if (!released && !ticketed) {
+                ticketed = true;
+                acquire(key);
+            }
+        }
+
+        private void release() {
+            released = true;
+            if (ticketed) {
+                ticketed = false;
+                ChunkPreloadService.this.release(key);
+            }
+        }
+    }
+}
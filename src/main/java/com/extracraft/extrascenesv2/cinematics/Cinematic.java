@@ -5,6 +5,7 @@ import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import org.bukkit.Location;
 import org.bukkit.GameMode;
 
@@ -17,10 +18,16 @@ public final class Cinematic {
     private final List<String> startCommands;
     private final List<String> endCommands;
     private final Map<Integer, List<String>> tickCommands;
+    private final Map<Integer, List<SceneAction>> tickActions;
     private final Map<String, SceneActor> actors;
     private final boolean hidePlayersDuringPlayback;
     private final CinematicAudioTrack audioTrack;
     private final List<CinematicSubtitleCue> subtitleCues;
+    private final CameraMode cameraMode;
+    private final ActorLod actorLod;
+    private volatile CameraTrack cameraTrack;
+    private volatile SceneTimeline timeline;
+    private int contentHash;
 
     public Cinematic(String id, int durationTicks, List<CinematicPoint> points) {
         this(id, durationTicks, points, EndAction.stayAtLastCameraPoint(), Map.of(), Map.of(), false, null, List.of());
@@ -57,19 +64,122 @@ public final class Cinematic {
                      Map<Integer, List<String>> tickCommands, Map<String, SceneActor> actors,
                      boolean hidePlayersDuringPlayback, CinematicAudioTrack audioTrack,
                      List<CinematicSubtitleCue> subtitleCues) {
+        this(id, Math.max(1, durationTicks), copyPoints(points),
+                endAction == null ? EndAction.stayAtLastCameraPoint() : endAction,
+                sanitizeCommands(startCommands), sanitizeCommands(endCommands),
+                deepCopyTickCommands(tickCommands), Map.of(), deepCopyActors(actors),
+                hidePlayersDuringPlayback, audioTrack, sortSubtitleCues(subtitleCues), CameraMode.TELEPORT, null, true);
+    }
+
+    /**
+     * Shares already-sanitized parts with another version; used by the {@code with*} copies so undo
+     * history only pays for the part that actually changed.
+     */
+    private Cinematic(String id, int durationTicks, List<CinematicPoint> points, EndAction endAction,
+                      List<String> startCommands, List<String> endCommands,
+                      Map<Integer, List<String>> tickCommands, Map<Integer, List<SceneAction>> tickActions,
+                      Map<String, SceneActor> actors, boolean hidePlayersDuringPlayback, CinematicAudioTrack audioTrack,
+                      List<CinematicSubtitleCue> subtitleCues, CameraMode cameraMode, ActorLod actorLod, boolean shared) {
         this.id = id;
-        this.durationTicks = Math.max(1, durationTicks);
-        this.points = new ArrayList<>(points);
-        this.endAction = endAction == null ? EndAction.stayAtLastCameraPoint() : endAction;
-        this.startCommands = sanitizeCommands(startCommands);
-        this.endCommands = sanitizeCommands(endCommands);
-        this.tickCommands = deepCopyTickCommands(tickCommands);
-        this.actors = deepCopyActors(actors);
+        this.durationTicks = durationTicks;
+        this.points = points;
+        this.endAction = endAction;
+        this.startCommands = startCommands;
+        this.endCommands = endCommands;
+        this.tickCommands = tickCommands;
+        this.tickActions = tickActions;
+        this.actors = actors;
         this.hidePlayersDuringPlayback = hidePlayersDuringPlayback;
         this.audioTrack = audioTrack;
-        this.subtitleCues = subtitleCues == null ? List.of() : subtitleCues.stream()
-                .sorted(java.util.Comparator.comparingInt(CinematicSubtitleCue::startTick))
-                .toList();
+        this.subtitleCues = subtitleCues;
+        this.cameraMode = cameraMode;
+        this.actorLod = actorLod;
+    }
+
+    public Cinematic withDurationTicks(int updatedDurationTicks) {
+        return shareDerived(new Cinematic(id, Math.max(1, updatedDurationTicks), points, endAction, startCommands, endCommands,
+                tickCommands, tickActions, actors, hidePlayersDuringPlayback, audioTrack, subtitleCues, cameraMode, actorLod, true), true, true);
+    }
+
+    public Cinematic withPoints(List<CinematicPoint> updatedPoints) {
+        return shareDerived(new Cinematic(id, durationTicks, copyPoints(updatedPoints), endAction, startCommands, endCommands,
+                tickCommands, tickActions, actors, hidePlayersDuringPlayback, audioTrack, subtitleCues, cameraMode, actorLod, true), false, true);
+    }
+
+    public Cinematic withEndAction(EndAction updatedEndAction) {
+        return shareDerived(new Cinematic(id, durationTicks, points,
+                updatedEndAction == null ? EndAction.stayAtLastCameraPoint() : updatedEndAction,
+                startCommands, endCommands, tickCommands, tickActions, actors, hidePlayersDuringPlayback, audioTrack, subtitleCues, cameraMode, actorLod, true), true, true);
+    }
+
+    public Cinematic withTickCommands(Map<Integer, List<String>> updatedTickCommands) {
+        return shareDerived(new Cinematic(id, durationTicks, points, endAction, startCommands, endCommands,
+                deepCopyTickCommands(updatedTickCommands), tickActions, actors, hidePlayersDuringPlayback, audioTrack, subtitleCues, cameraMode, actorLod, true), true, false);
+    }
+
+    public Cinematic withTickActions(Map<Integer, List<SceneAction>> updatedTickActions) {
+        return shareDerived(new Cinematic(id, durationTicks, points, endAction, startCommands, endCommands,
+                tickCommands, deepCopyTickActions(updatedTickActions), actors, hidePlayersDuringPlayback, audioTrack, subtitleCues, cameraMode, actorLod, true), true, false);
+    }
+
+    public Cinematic withActors(Map<String, SceneActor> updatedActors) {
+        return shareDerived(new Cinematic(id, durationTicks, points, endAction, startCommands, endCommands,
+                tickCommands, tickActions, deepCopyActors(updatedActors), hidePlayersDuringPlayback, audioTrack, subtitleCues, cameraMode, actorLod, true), true, false);
+    }
+
+    public Cinematic withHidePlayersDuringPlayback(boolean updatedHidePlayers) {
+        return shareDerived(new Cinematic(id, durationTicks, points, endAction, startCommands, endCommands,
+                tickCommands, tickActions, actors, updatedHidePlayers, audioTrack, subtitleCues, cameraMode, actorLod, true), true, true);
+    }
+
+    public Cinematic withAudioTrack(CinematicAudioTrack updatedAudioTrack) {
+        return shareDerived(new Cinematic(id, durationTicks, points, endAction, startCommands, endCommands,
+                tickCommands, tickActions, actors, hidePlayersDuringPlayback, updatedAudioTrack, subtitleCues, cameraMode, actorLod, true), true, true);
+    }
+
+    public Cinematic withSubtitleCues(List<CinematicSubtitleCue> updatedSubtitleCues) {
+        return shareDerived(new Cinematic(id, durationTicks, points, endAction, startCommands, endCommands,
+                tickCommands, tickActions, actors, hidePlayersDuringPlayback, audioTrack, sortSubtitleCues(updatedSubtitleCues), cameraMode, actorLod, true), true, false);
+    }
+
+    public Cinematic withCameraMode(CameraMode updatedCameraMode) {
+        return shareDerived(new Cinematic(id, durationTicks, points, endAction, startCommands, endCommands,
+                tickCommands, tickActions, actors, hidePlayersDuringPlayback, audioTrack, subtitleCues,
+                updatedCameraMode == null ? CameraMode.TELEPORT : updatedCameraMode, actorLod, true), true, true);
+    }
+
+    /**
+     * Per-scene actor level of detail; null keeps the server default from {@code actors.lod}.
+     */
+    public Cinematic withActorLod(ActorLod updatedActorLod) {
+        return shareDerived(new Cinematic(id, durationTicks, points, endAction, startCommands, endCommands,
+                tickCommands, tickActions, actors, hidePlayersDuringPlayback, audioTrack, subtitleCues, cameraMode,
+                updatedActorLod, true), true, true);
+    }
+
+    /**
+     * Baked camera path for this version's points, built on first use and reused by copies that keep the same points.
+     */
+    public CameraTrack getCameraTrack() {
+        CameraTrack track = cameraTrack;
+        if (track == null && !points.isEmpty()) {
+            track = CameraTrack.bake(points);
+            cameraTrack = track;
+        }
+        return track;
+    }
+
+    /**
+     * Event index over this version's tick commands and actions, subtitles and actor windows, compiled on first use.
+     * Start and end commands never change between copies, so sharing it with {@code with*} copies is safe.
+     */
+    public SceneTimeline getTimeline() {
+        SceneTimeline compiled = timeline;
+        if (compiled == null) {
+            compiled = SceneTimeline.compile(tickCommands, tickActions, subtitleCues, actors, startCommands, endCommands);
+            timeline = compiled;
+        }
+        return compiled;
     }
 
     public String getId() {
@@ -81,7 +191,7 @@ public final class Cinematic {
     }
 
     public List<CinematicPoint> getPoints() {
-        return Collections.unmodifiableList(points);
+        return points;
     }
 
     public boolean isEmpty() {
@@ -96,6 +206,10 @@ public final class Cinematic {
         return tickCommands;
     }
 
+    public Map<Integer, List<SceneAction>> getTickActions() {
+        return tickActions;
+    }
+
     public List<String> getStartCommands() {
         return startCommands;
     }
@@ -112,6 +226,14 @@ public final class Cinematic {
         return hidePlayersDuringPlayback;
     }
 
+    public CameraMode getCameraMode() {
+        return cameraMode;
+    }
+
+    public ActorLod getActorLod() {
+        return actorLod;
+    }
+
     public CinematicAudioTrack getAudioTrack() {
         return audioTrack;
     }
@@ -121,16 +243,46 @@ public final class Cinematic {
     }
 
     public CinematicSubtitleCue getSubtitleAtTick(int tick) {
-        for (CinematicSubtitleCue cue : subtitleCues) {
-            if (cue.matchesTick(tick)) {
-                return cue;
-            }
+        return getTimeline().subtitleAt(tick);
+    }
+
+    /**
+     * Hash of what {@link CinematicManager} compares to tell a real edit from a no-op, computed once per version.
+     * Equivalent versions hash alike; equal hashes still need the full compare.
+     */
+    int contentHash() {
+        int hash = contentHash;
+        if (hash == 0) {
+            hash = Objects.hash(durationTicks, points, tickCommands, tickActions, actors, hidePlayersDuringPlayback,
+                    cameraMode, actorLod, audioTrack, subtitleCues, endAction.type(), endAction.teleportTarget(),
+                    endAction.gameMode());
+            hash = hash == 0 ? 1 : hash;
+            contentHash = hash;
+        }
+        return hash;
+    }
+
+    private Cinematic shareDerived(Cinematic copy, boolean samePoints, boolean sameEvents) {
+        if (samePoints) {
+            copy.cameraTrack = cameraTrack;
+        }
+        if (sameEvents) {
+            copy.timeline = timeline;
         }
-        return null;
+        return copy;
     }
 
+    private static List<CinematicPoint> copyPoints(List<CinematicPoint> source) {
+        return source == null || source.isEmpty() ? List.of() : Collections.unmodifiableList(new ArrayList<>(source));
+    }
 
-    private Map<String, SceneActor> deepCopyActors(Map<String, SceneActor> source) {
+    private static List<CinematicSubtitleCue> sortSubtitleCues(List<CinematicSubtitleCue> source) {
+        return source == null ? List.of() : source.stream()
+                .sorted(java.util.Comparator.comparingInt(CinematicSubtitleCue::startTick))
+                .toList();
+    }
+
+    private static Map<String, SceneActor> deepCopyActors(Map<String, SceneActor> source) {
         if (source == null || source.isEmpty()) {
             return Map.of();
         }
@@ -145,7 +297,7 @@ public final class Cinematic {
         return Collections.unmodifiableMap(copy);
     }
 
-    private List<String> sanitizeCommands(List<String> source) {
+    private static List<String> sanitizeCommands(List<String> source) {
         if (source == null || source.isEmpty()) {
             return List.of();
         }
@@ -156,7 +308,7 @@ public final class Cinematic {
                 .toList();
     }
 
-    private Map<Integer, List<String>> deepCopyTickCommands(Map<Integer, List<String>> source) {
+    private static Map<Integer, List<String>> deepCopyTickCommands(Map<Integer, List<String>> source) {
         if (source == null || source.isEmpty()) {
             return Map.of();
         }
@@ -177,6 +329,49 @@ public final class Cinematic {
         return Collections.unmodifiableMap(copy);
     }
 
+    private static Map<Integer, List<SceneAction>> deepCopyTickActions(Map<Integer, List<SceneAction>> source) {
+        if (source == null || source.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<Integer, List<SceneAction>> copy = new java.util.TreeMap<>();
+        for (Map.Entry<Integer, List<SceneAction>> entry : source.entrySet()) {
+            List<SceneAction> actions = entry.getValue() == null ? List.of() : entry.getValue().stream()
+                    .filter(java.util.Objects::nonNull)
+                    .toList();
+            if (!actions.isEmpty()) {
+                copy.put(Math.max(0, entry.getKey()), actions);
+            }
+        }
+
+        return Collections.unmodifiableMap(copy);
+    }
+
+    /**
+     * How the viewer is moved along the camera path: a server teleport every tick, a packet-only camera entity
+     * the client spectates while the server position is only resynced when the camera moves far away, or that same
+     * entity sent sparse target poses that the client interpolates between.
+     */
+    public enum CameraMode {
+        TELEPORT,
+        PACKET,
+        SPARSE;
+
+        public static CameraMode fromString(String value) {
+            if (value == null) {
+                return TELEPORT;
+            }
+
+            for (CameraMode mode : values()) {
+                if (mode.name().equalsIgnoreCase(value)) {
+                    return mode;
+                }
+            }
+
+            return TELEPORT;
+        }
+    }
+
     public enum EndActionType {
         RETURN_TO_START,
         TELEPORT,
@@ -199,12 +394,12 @@ public final class Cinematic {
 
     public static final class EndAction {
         private final EndActionType type;
-        private final Location teleportLocation;
+        private final CinematicPoint teleportTarget;
         private final GameMode gameMode;
 
-        private EndAction(EndActionType type, Location teleportLocation, GameMode gameMode) {
+        private EndAction(EndActionType type, CinematicPoint teleportTarget, GameMode gameMode) {
             this.type = type;
-            this.teleportLocation = teleportLocation == null ? null : teleportLocation.clone();
+            this.teleportTarget = teleportTarget;
             this.gameMode = gameMode;
         }
 
@@ -217,11 +412,17 @@ public final class Cinematic {
         }
 
         public static EndAction teleportTo(Location teleportLocation) {
-            return new EndAction(EndActionType.TELEPORT, teleportLocation, null);
+            return teleportLocation == null
+                    ? new EndAction(EndActionType.TELEPORT, null, null)
+                    : teleportTo(new CinematicPoint(0, teleportLocation, CinematicPoint.InterpolationMode.INSTANT));
+        }
+
+        public static EndAction teleportTo(CinematicPoint teleportTarget) {
+            return new EndAction(EndActionType.TELEPORT, teleportTarget, null);
         }
 
         public EndAction withGameMode(GameMode gameMode) {
-            return new EndAction(type, teleportLocation, gameMode);
+            return new EndAction(type, teleportTarget, gameMode);
         }
 
         public EndActionType type() {
@@ -229,7 +430,14 @@ public final class Cinematic {
         }
 
         public Location teleportLocation() {
-            return teleportLocation == null ? null : teleportLocation.clone();
+            return teleportTarget == null ? null : teleportTarget.location();
+        }
+
+        /**
+         * The stored destination, kept by world name even while that world is not loaded.
+         */
+        public CinematicPoint teleportTarget() {
+            return teleportTarget;
         }
 
         public GameMode gameMode() {
@@ -1,48 +1,111 @@
 package com.extracraft.extrascenesv2.cinematics;
 
+import com.extracraft.extrascenesv2.placeholders.CommandTemplate;
+import com.extracraft.extrascenesv2.scheduler.SceneScheduler;
 import java.io.File;
 import java.io.IOException;
-import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.StandardCopyOption;
-import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.Deque;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.Set;
 import java.util.TreeMap;
-import org.bukkit.Bukkit;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.bukkit.GameMode;
 import org.bukkit.Location;
-import org.bukkit.World;
 import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.InvalidConfigurationException;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.Particle;
 import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.potion.PotionEffect;
+import org.bukkit.potion.PotionEffectType;
 
 public final class CinematicManager {
 
     private final JavaPlugin plugin;
-    private final Map<String, Cinematic> cinematics = new LinkedHashMap<>();
+    private final SceneScheduler scheduler;
+    private final Map<String, Cinematic> cinematics = new HashMap<>();
+    private final Map<String, Long> cachedSizes = new HashMap<>();
+    // Last use per cached scene; a hit only overwrites its stamp, so reads never reshape the cache map.
+    private final Map<String, Long> lastUsed = new HashMap<>();
+    private long useClock;
+    private final Map<String, SceneSummary> summaries = new LinkedHashMap<>();
+    private final Map<String, String> sceneFileNames = new HashMap<>();
+    private final Set<String> prefetching = new HashSet<>();
+    private final SceneIndex sceneIndex = new SceneIndex();
+    private final long cacheBudgetBytes;
+    private long cachedBytes;
+    private long cacheHits;
+    private long cacheLoads;
+    private long cacheEvictions;
     private static final int HISTORY_LIMIT = 100;
-    private final Map<String, Deque<Cinematic>> undoSnapshots = new LinkedHashMap<>();
-    private final Map<String, Deque<Cinematic>> redoSnapshots = new LinkedHashMap<>();
+    private static final int LOAD_REPORT_SLOWEST = 5;
+    private final SceneHistory history;
+    private final Map<String, DirtyState> dirtyStates = new LinkedHashMap<>();
+    // Deleted scenes and the scene file each one was loaded from.
+    private final Map<String, String> pendingDeletions = new LinkedHashMap<>();
+    // Scene files left behind when a scene is saved under its normalized name; removed once that write lands.
+    private final Map<String, String> orphanSceneFiles = new ConcurrentHashMap<>();
+    private final Queue<Runnable> failedWrites = new ConcurrentLinkedQueue<>();
+    private final SceneWriteQueue writeQueue;
+    private final long flushTimeoutMillis;
+    private final boolean compressActorRecordings;
+    private final boolean prebakeCameraTracks;
+    // Touched by the writer thread once a scene's binary recordings are on disk.
+    private final Set<String> legacyRecordingFiles = ConcurrentHashMap.newKeySet();
+    // Scenes whose binary recordings could not be read nor moved aside; never written over.
+    private final Set<String> unreadableRecordings = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger journalSequence = new AtomicInteger();
+    private boolean legacyConfigPending;
 
     public CinematicManager(JavaPlugin plugin) {
         this.plugin = plugin;
+        this.scheduler = new SceneScheduler(plugin);
+        this.writeQueue = new SceneWriteQueue(plugin.getLogger(),
+                plugin.getConfig().getLong("storage.write-debounce-ms", 500L));
+        this.flushTimeoutMillis = Math.max(1000L, plugin.getConfig().getLong("storage.flush-timeout-ms", 10000L));
+        this.compressActorRecordings = plugin.getConfig().getBoolean("storage.compress-actor-recordings", true);
+        this.prebakeCameraTracks = plugin.getConfig().getBoolean("storage.prebake-camera-tracks", true);
+        this.history = new SceneHistory(
+                plugin.getConfig().getInt("history.max-entries-per-scene", HISTORY_LIMIT),
+                Math.max(1L, plugin.getConfig().getLong("history.budget-mb", 64L)) * 1024L * 1024L);
+        this.cacheBudgetBytes = Math.max(1L, plugin.getConfig().getLong("storage.cache-budget-mb", 128L)) * 1024L * 1024L;
     }
 
-    public void load() {
+    public synchronized void load() {
+        flush();
+        failedWrites.clear();
         cinematics.clear();
-        undoSnapshots.clear();
-        redoSnapshots.clear();
+        cachedSizes.clear();
+        lastUsed.clear();
+        cachedBytes = 0L;
+        summaries.clear();
+        sceneFileNames.clear();
+        sceneIndex.clear();
+        history.clear();
+        dirtyStates.clear();
+        pendingDeletions.clear();
+        orphanSceneFiles.clear();
+        legacyRecordingFiles.clear();
+        unreadableRecordings.clear();
+        legacyConfigPending = false;
         File scenesFolder = getScenesFolder();
         if (!scenesFolder.exists() && !scenesFolder.mkdirs()) {
             plugin.getLogger().warning("Could not create scenes folder at " + scenesFolder.getAbsolutePath());
@@ -50,21 +113,67 @@ public final class CinematicManager {
         }
 
         boolean loadedFromFiles = false;
-        File[] sceneFiles = scenesFolder.listFiles((dir, name) -> name.toLowerCase(Locale.ROOT).endsWith(".yml"));
-        if (sceneFiles != null) {
+        File[] sceneFiles = scenesFolder.listFiles((dir, name) -> name.toLowerCase(Locale.ROOT).endsWith(".yml")
+                && !name.equals(SceneIndex.FILE_NAME));
+        if (sceneFiles != null && sceneFiles.length > 0) {
+            Map<String, SceneIndex.Entry> indexed = new HashMap<>();
+            for (SceneIndex.Entry entry : SceneIndex.read(getIndexFile()).values()) {
+                indexed.put(entry.fileName(), entry);
+            }
+
+            List<File> staleFiles = new ArrayList<>();
+            for (File sceneFile : sceneFiles) {
+                SceneIndex.Entry entry = indexed.get(sceneFile.getName());
+                if (entry == null || !isIndexEntryFresh(entry, sceneFile)) {
+                    staleFiles.add(sceneFile);
+                }
+            }
+
+            Map<File, SceneLoadResult> parsed = new HashMap<>();
+            if (!staleFiles.isEmpty()) {
+                for (SceneLoadResult result : loadSceneFiles(staleFiles.toArray(File[]::new))) {
+                    parsed.put(result.file(), result);
+                }
+            }
+
             for (File sceneFile : sceneFiles) {
-                YamlConfiguration sceneConfig = YamlConfiguration.loadConfiguration(sceneFile);
-                String fallbackId = stripExtension(sceneFile.getName());
-                Cinematic cinematic = parseCinematic(sceneConfig, fallbackId);
-                if (cinematic == null) {
+                SceneLoadResult result = parsed.get(sceneFile);
+                if (result == null) {
+                    SceneIndex.Entry entry = indexed.get(sceneFile.getName());
+                    String key = normalizeId(entry.summary().id());
+                    uncache(key);
+                    summaries.put(key, entry.summary());
+                    recordSceneFile(key, sceneFile);
+                    sceneIndex.stampScene(key, entry.scene());
+                    sceneIndex.stampRecordings(key, entry.recordings());
+                    loadedFromFiles = true;
+                    continue;
+                }
+                if (result.cinematic() == null) {
                     continue;
                 }
-                cinematics.put(normalizeId(cinematic.getId()), cinematic);
+                String key = normalizeId(result.cinematic().getId());
+                recordSceneFile(key, sceneFile);
+                sceneIndex.stampScene(key, result.sceneStamp());
+                sceneIndex.stampRecordings(key, result.recordingStamp());
+                cacheStore(key, result.cinematic());
+                if (result.legacyRecordings()) {
+                    legacyRecordingFiles.add(key);
+                }
                 loadedFromFiles = true;
             }
+
+            plugin.getLogger().info("Scene index: " + (sceneFiles.length - staleFiles.size()) + " scene(s) indexed, "
+                    + staleFiles.size() + " parsed.");
+            if (!staleFiles.isEmpty() || indexed.size() != sceneFiles.length) {
+                queueIndexWrite();
+            }
         }
 
         if (loadedFromFiles) {
+            migrateLegacyRecordingFiles();
+            recoverRecordingJournals();
+            prefetchConfiguredScenes();
             return;
         }
 
@@ -80,19 +189,26 @@ public final class CinematicManager {
                 continue;
             }
 
-            Cinematic cinematic = parseCinematic(legacySceneSection, id);
+            boolean[] legacyRecordings = new boolean[1];
+            Cinematic cinematic = parseCinematic(legacySceneSection, id, legacyRecordings);
             if (cinematic == null) {
                 continue;
             }
-            cinematics.put(normalizeId(cinematic.getId()), cinematic);
+            String key = normalizeId(cinematic.getId());
+            cacheStore(key, cinematic);
+            if (legacyRecordings[0]) {
+                legacyRecordingFiles.add(key);
+            }
+            markDirty(key, DirtyPart.ALL);
         }
 
-        if (!cinematics.isEmpty()) {
+        if (!summaries.isEmpty()) {
+            legacyConfigPending = true;
             save();
         }
     }
 
-    public void save() {
+    public synchronized void save() {
         File scenesFolder = getScenesFolder();
         if (!scenesFolder.exists() && !scenesFolder.mkdirs()) {
             plugin.getLogger().warning("Could not create scenes folder at " + scenesFolder.getAbsolutePath());
@@ -105,87 +221,490 @@ public final class CinematicManager {
             return;
         }
 
-        Set<String> expectedSceneFiles = new HashSet<>();
-        Set<String> expectedActorRecordingFiles = new HashSet<>();
+        Runnable failedWrite;
+        while ((failedWrite = failedWrites.poll()) != null) {
+            failedWrite.run();
+        }
 
-        for (Cinematic cinematic : cinematics.values()) {
-            String normalizedSceneId = normalizeId(cinematic.getId());
-            String sceneFileName = normalizedSceneId + ".yml";
-            String actorRecordingFileName = normalizedSceneId + ".yml";
-            expectedSceneFiles.add(sceneFileName);
-            expectedActorRecordingFiles.add(actorRecordingFileName);
+        boolean indexChanged = !pendingDeletions.isEmpty();
+        for (Map.Entry<String, String> deletion : new ArrayList<>(pendingDeletions.entrySet())) {
+            String key = deletion.getKey();
+            String sceneFileName = deletion.getValue();
+            pendingDeletions.remove(key);
+            Runnable retry = () -> failedWrites.add(() -> {
+                if (!summaries.containsKey(key)) {
+                    pendingDeletions.putIfAbsent(key, sceneFileName);
+                }
+            });
+            writeQueue.delete(new File(scenesFolder, sceneFileName), retry);
+            if (!sceneFileName.equals(key + ".yml")) {
+                writeQueue.delete(new File(scenesFolder, key + ".yml"), retry);
+            }
+            String orphan = orphanSceneFiles.remove(key);
+            if (orphan != null && !orphan.equals(sceneFileName)) {
+                writeQueue.delete(new File(scenesFolder, orphan), retry);
+            }
+            writeQueue.delete(new File(actorRecordingsFolder, key + ".yml"), retry);
+            writeQueue.delete(new File(actorRecordingsFolder, key + ActorRecordingCodec.EXTENSION), retry);
+        }
 
-            YamlConfiguration sceneConfig = new YamlConfiguration();
-            YamlConfiguration actorRecordingsConfig = new YamlConfiguration();
-            writeCinematic(sceneConfig, cinematic);
-            writeActorRecordings(actorRecordingsConfig, cinematic);
+        for (Map.Entry<String, DirtyState> entry : dirtyStates.entrySet()) {
+            String key = entry.getKey();
+            DirtyState state = entry.getValue();
+            Cinematic snapshot = cinematics.get(key);
+            if (snapshot == null || !state.isDirty()) {
+                continue;
+            }
 
-            try {
-                atomicSaveYaml(sceneConfig, new File(scenesFolder, sceneFileName));
-            } catch (IOException ex) {
-                plugin.getLogger().warning("Could not save scene file " + sceneFileName + ": " + ex.getMessage());
+            String fileName = key + ".yml";
+            indexChanged = true;
+            if (state.sceneVersion != state.savedSceneVersion) {
+                long version = state.sceneVersion;
+                state.savedSceneVersion = version;
+                // Scenes are always written as <key>.yml; a file loaded under another name goes once this one lands.
+                String previousFileName = sceneFileNames.put(key, fileName);
+                if (previousFileName != null && !previousFileName.equals(fileName)) {
+                    orphanSceneFiles.put(key, previousFileName);
+                }
+                writeQueue.write(new File(scenesFolder, fileName), file -> {
+                    YamlConfiguration sceneConfig = new YamlConfiguration();
+                    writeCinematic(sceneConfig, snapshot);
+                    sceneConfig.save(file);
+                    sceneIndex.stampScene(key, SceneIndex.FileStamp.of(file));
+                }, () -> {
+                    String orphan = orphanSceneFiles.remove(key);
+                    if (orphan != null) {
+                        writeQueue.delete(new File(scenesFolder, orphan), null);
+                    }
+                }, () -> failedWrites.add(() -> {
+                    if (state.savedSceneVersion == version) {
+                        state.savedSceneVersion = -1L;
+                    }
+                }));
             }
 
-            try {
-                atomicSaveYaml(actorRecordingsConfig, new File(actorRecordingsFolder, actorRecordingFileName));
-            } catch (IOException ex) {
-                plugin.getLogger().warning("Could not save actor recording file " + actorRecordingFileName + ": " + ex.getMessage());
+            if (state.recordingsVersion != state.savedRecordingsVersion && unreadableRecordings.contains(key)) {
+                plugin.getLogger().warning("Not saving actor recordings of '" + key + "': "
+                        + key + ActorRecordingCodec.EXTENSION + " could not be read and is kept as it is.");
+            } else if (state.recordingsVersion != state.savedRecordingsVersion) {
+                long version = state.recordingsVersion;
+                // The legacy file goes only once the binary one is in place; a failed write keeps it for the retry.
+                File legacyFile = legacyRecordingFiles.contains(key) ? new File(actorRecordingsFolder, fileName) : null;
+                state.savedRecordingsVersion = version;
+                writeQueue.write(new File(actorRecordingsFolder, key + ActorRecordingCodec.EXTENSION),
+                        file -> {
+                            ActorRecordingCodec.write(file, collectActorTracks(snapshot), compressActorRecordings);
+                            sceneIndex.stampRecordings(key, SceneIndex.FileStamp.of(file));
+                        },
+                        legacyFile == null ? null : () -> {
+                            if (legacyRecordingFiles.remove(key)) {
+                                writeQueue.delete(legacyFile, null);
+                            }
+                        },
+                        () -> failedWrites.add(() -> {
+                            if (state.savedRecordingsVersion == version) {
+                                state.savedRecordingsVersion = -1L;
+                            }
+                        }));
             }
         }
 
-        File[] existingSceneFiles = scenesFolder.listFiles((dir, name) -> name.toLowerCase(Locale.ROOT).endsWith(".yml"));
-        if (existingSceneFiles != null) {
-            for (File existingSceneFile : existingSceneFiles) {
-                if (expectedSceneFiles.contains(existingSceneFile.getName())) {
-                    continue;
+        if (indexChanged) {
+            queueIndexWrite();
+        }
+
+        if (legacyConfigPending) {
+            FileConfiguration config = plugin.getConfig();
+            config.set("cinematics", null);
+            plugin.saveConfig();
+            legacyConfigPending = false;
+        }
+    }
+
+    public synchronized boolean flush() {
+        return writeQueue.flush(flushTimeoutMillis);
+    }
+
+    public synchronized void shutdown() {
+        flush();
+        queueIndexWrite();
+        writeQueue.shutdown(flushTimeoutMillis);
+    }
+
+    public synchronized SceneWriteQueue.Stats getPersistenceStats() {
+        return writeQueue.getStats();
+    }
+
+    public synchronized CacheStats getCacheStats() {
+        return new CacheStats(summaries.size(), cinematics.size(), cachedBytes, cacheBudgetBytes, cacheHits, cacheLoads, cacheEvictions);
+    }
+
+    public synchronized HistoryStats getHistoryStats() {
+        return new HistoryStats(history.entryCount(), history.retainedBytes(), history.evictions());
+    }
+
+    public synchronized ActorRecordingJournal openRecordingJournal(String sceneId, String actorId) {
+        File journalFile = getRecordingJournalFile(sceneId, actorId);
+        try {
+            return ActorRecordingJournal.open(journalFile, normalizeId(sceneId), normalizeId(actorId));
+        } catch (IOException ex) {
+            plugin.getLogger().warning("Could not open actor recording journal " + journalFile.getName() + ": " + ex.getMessage());
+            return null;
+        }
+    }
+
+    public synchronized void discardRecordingJournal(ActorRecordingJournal journal) {
+        if (journal == null) {
+            return;
+        }
+        try {
+            journal.close();
+        } catch (IOException ex) {
+            plugin.getLogger().warning("Could not close actor recording journal " + journal.getFile().getName() + ": " + ex.getMessage());
+        }
+        writeQueue.delete(journal.getFile(), null);
+    }
+
+    /**
+     * Parses scene files on a worker pool. Scene data only refers to worlds by {@link WorldRef}, so nothing
+     * here touches the server; results come back in the same order as {@code sceneFiles}.
+     */
+    private List<SceneLoadResult> loadSceneFiles(File[] sceneFiles) {
+        int threads = Math.min(sceneFiles.length, getLoadThreads());
+        long startedAt = System.nanoTime();
+        List<SceneLoadResult> results = new ArrayList<>(sceneFiles.length);
+        if (threads <= 1) {
+            for (File sceneFile : sceneFiles) {
+                results.add(loadSceneFile(sceneFile, true));
+            }
+        } else {
+            AtomicInteger threadIndex = new AtomicInteger();
+            ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+                Thread thread = new Thread(runnable, "ExtraScenesV2-SceneLoader-" + threadIndex.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            List<Future<SceneLoadResult>> futures = new ArrayList<>(sceneFiles.length);
+            try {
+                for (File sceneFile : sceneFiles) {
+                    futures.add(executor.submit(() -> loadSceneFile(sceneFile, true)));
                 }
-                if (!existingSceneFile.delete()) {
-                    plugin.getLogger().warning("Could not delete removed scene file " + existingSceneFile.getName());
+                for (int i = 0; i < futures.size(); i++) {
+                    try {
+                        results.add(futures.get(i).get());
+                    } catch (ExecutionException ex) {
+                        plugin.getLogger().warning("Could not load scene file " + sceneFiles[i].getName() + ": " + ex.getCause());
+                        results.add(new SceneLoadResult(sceneFiles[i], null, false, 0L, null, null));
+                    }
                 }
+            } catch (InterruptedException ex) {
+                finishInterruptedLoad(sceneFiles, futures, results);
+            } finally {
+                executor.shutdownNow();
             }
         }
 
-        File[] existingActorRecordingFiles = actorRecordingsFolder.listFiles((dir, name) -> name.toLowerCase(Locale.ROOT).endsWith(".yml"));
-        if (existingActorRecordingFiles != null) {
-            for (File existingActorRecordingFile : existingActorRecordingFiles) {
-                if (expectedActorRecordingFiles.contains(existingActorRecordingFile.getName())) {
-                    continue;
-                }
-                if (!existingActorRecordingFile.delete()) {
-                    plugin.getLogger().warning("Could not delete removed actor recording file " + existingActorRecordingFile.getName());
+        logLoadReport(results, threads, System.nanoTime() - startedAt);
+        return results;
+    }
+
+    /**
+     * A scene missing from the load result would look deleted to the index, so an interrupted parallel load finishes
+     * on the calling thread: finished loads are kept, the rest are cancelled and loaded one by one. The interrupt is
+     * restored afterwards, since file reads on an interrupted thread would fail.
+     */
+    private void finishInterruptedLoad(File[] sceneFiles, List<Future<SceneLoadResult>> futures, List<SceneLoadResult> results) {
+        List<String> remaining = new ArrayList<>();
+        for (int i = results.size(); i < sceneFiles.length; i++) {
+            remaining.add(sceneFiles[i].getName());
+        }
+        plugin.getLogger().warning("Interrupted while loading scene files; loading " + remaining.size()
+                + " remaining on this thread: " + String.join(", ", remaining));
+
+        for (int i = results.size(); i < sceneFiles.length; i++) {
+            Future<SceneLoadResult> future = i < futures.size() ? futures.get(i) : null;
+            SceneLoadResult result = null;
+            if (future != null && future.isDone() && !future.isCancelled()) {
+                try {
+                    result = future.get();
+                } catch (InterruptedException | ExecutionException ignored) {
+                    // Loaded again below.
                 }
+            } else if (future != null) {
+                future.cancel(true);
             }
+            results.add(result != null ? result : loadSceneFile(sceneFiles[i], true));
         }
+        Thread.currentThread().interrupt();
+    }
 
-        FileConfiguration config = plugin.getConfig();
-        config.set("cinematics", null);
-        plugin.saveConfig();
+    private SceneLoadResult loadSceneFile(File sceneFile, boolean stampRecordings) {
+        long startedAt = System.nanoTime();
+        YamlConfiguration sceneConfig = new YamlConfiguration();
+        SceneIndex.FileStamp sceneStamp = null;
+        try {
+            byte[] content = Files.readAllBytes(sceneFile.toPath());
+            sceneStamp = SceneIndex.FileStamp.of(sceneFile, content);
+            sceneConfig.loadFromString(new String(content, StandardCharsets.UTF_8));
+        } catch (IOException | InvalidConfigurationException ex) {
+            plugin.getLogger().warning("Could not read scene file " + sceneFile.getName() + ": " + ex.getMessage());
+        }
+        boolean[] legacyRecordings = new boolean[1];
+        Cinematic cinematic = parseCinematic(sceneConfig, stripExtension(sceneFile.getName()), legacyRecordings);
+        if (cinematic != null && prebakeCameraTracks) {
+            cinematic.getCameraTrack();
+        }
+        SceneIndex.FileStamp recordingStamp = stampRecordings && cinematic != null
+                ? SceneIndex.FileStamp.of(getRecordingsFile(normalizeId(cinematic.getId())))
+                : null;
+        return new SceneLoadResult(sceneFile, cinematic, legacyRecordings[0], System.nanoTime() - startedAt,
+                sceneStamp, recordingStamp);
     }
 
-    private void atomicSaveYaml(YamlConfiguration sceneConfig, File destinationFile) throws IOException {
-        File parent = destinationFile.getParentFile();
-        if (parent != null && !parent.exists() && !parent.mkdirs()) {
-            throw new IOException("Could not create parent directory for " + destinationFile.getName());
+    private void recordSceneFile(String key, File sceneFile) {
+        String previous = sceneFileNames.put(key, sceneFile.getName());
+        if (previous != null && !previous.equals(sceneFile.getName())) {
+            plugin.getLogger().warning("Scene '" + key + "' is defined by both " + previous + " and "
+                    + sceneFile.getName() + "; using " + sceneFile.getName() + ". Remove the other file.");
         }
+    }
 
-        Path destinationPath = destinationFile.toPath();
-        Path tempPath = destinationPath.resolveSibling(destinationPath.getFileName() + ".tmp");
-        sceneConfig.save(tempPath.toFile());
+    private boolean isIndexEntryFresh(SceneIndex.Entry entry, File sceneFile) {
+        String key = normalizeId(entry.summary().id());
+        return SceneIndex.matches(entry.scene(), sceneFile)
+                && SceneIndex.matches(entry.recordings(), getRecordingsFile(key))
+                && !new File(getActorRecordingsFolder(), key + ".yml").exists();
+    }
 
-        try {
-            Files.move(tempPath, destinationPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
-        } catch (AtomicMoveNotSupportedException ignored) {
-            Files.move(tempPath, destinationPath, StandardCopyOption.REPLACE_EXISTING);
+    private void queueIndexWrite() {
+        Map<String, SceneSummary> summarySnapshot = new LinkedHashMap<>(summaries);
+        Map<String, String> fileNameSnapshot = new HashMap<>(sceneFileNames);
+        writeQueue.write(getIndexFile(), file -> sceneIndex.write(file, summarySnapshot, fileNameSnapshot), null);
+    }
+
+    /**
+     * Returns the scene, parsing it from disk on a cache miss. Scenes are only evicted once their latest
+     * version is on disk, so a reload always sees current data. Public methods {@link #warm(String)} first, so a
+     * miss here only happens when the scene was evicted or rewritten in between; such a miss parses while holding
+     * the monitor and blocks every other caller until it is done.
+     */
+    private Cinematic resolve(String key) {
+        Cinematic cached = cinematics.get(key);
+        if (cached != null) {
+            cacheHits++;
+            lastUsed.put(key, ++useClock);
+            return cached;
+        }
+        String fileName = sceneFileNames.get(key);
+        if (fileName == null || !summaries.containsKey(key)) {
+            return null;
+        }
+
+        SceneLoadResult result = loadSceneFile(new File(getScenesFolder(), fileName), false);
+        cacheLoads++;
+        if (result.cinematic() == null) {
+            return null;
+        }
+        if (result.legacyRecordings()) {
+            legacyRecordingFiles.add(key);
+        }
+        cacheStore(key, result.cinematic());
+        return result.cinematic();
+    }
+
+    public synchronized void prefetchCinematic(String id) {
+        String key = normalizeId(id);
+        String fileName = sceneFileNames.get(key);
+        if (fileName == null || cinematics.containsKey(key) || !prefetching.add(key)) {
+            return;
+        }
+
+        File sceneFile = new File(getScenesFolder(), fileName);
+        scheduler.runAsync(() -> {
+            SceneLoadResult result = loadSceneFile(sceneFile, false);
+            scheduler.runGlobal(() -> completePrefetch(key, fileName, sceneFile, result));
+        });
+    }
+
+    /**
+     * Loads an indexed scene that is not cached without holding the manager's monitor, so a cold read blocks only
+     * the calling thread instead of every thread that touches any scene. The caller still waits for the parse; use
+     * {@link #prefetchCinematic(String)} to load a scene ahead of time without waiting.
+     */
+    private void warm(String id) {
+        String key = normalizeId(id);
+        String fileName;
+        synchronized (this) {
+            fileName = sceneFileNames.get(key);
+            if (fileName == null || cinematics.containsKey(key) || !summaries.containsKey(key)) {
+                return;
+            }
+        }
+        File sceneFile = new File(getScenesFolder(), fileName);
+        install(key, fileName, sceneFile, loadSceneFile(sceneFile, false));
+    }
+
+    private synchronized void completePrefetch(String key, String fileName, File sceneFile, SceneLoadResult result) {
+        prefetching.remove(key);
+        install(key, fileName, sceneFile, result);
+    }
+
+    /**
+     * Caches a scene parsed outside the monitor unless it got cached meanwhile or its file changed since it was read.
+     */
+    private synchronized void install(String key, String fileName, File sceneFile, SceneLoadResult result) {
+        if (result.cinematic() == null || cinematics.containsKey(key)
+                || !fileName.equals(sceneFileNames.get(key))
+                || !java.util.Objects.equals(result.sceneStamp(), sceneIndex.sceneStamp(key))
+                || writeQueue.isPending(sceneFile) || writeQueue.isPending(getRecordingsFile(key))) {
+            return;
+        }
+        cacheLoads++;
+        if (result.legacyRecordings()) {
+            legacyRecordingFiles.add(key);
+        }
+        cacheStore(key, result.cinematic());
+    }
+
+    private void prefetchConfiguredScenes() {
+        for (String id : plugin.getConfig().getStringList("storage.prefetch-scenes")) {
+            prefetchCinematic(id);
         }
     }
 
-    private Cinematic parseCinematic(ConfigurationSection sceneSection, String fallbackId) {
+    private void cacheStore(String key, Cinematic cinematic) {
+        cinematics.put(key, cinematic);
+        lastUsed.put(key, ++useClock);
+        long bytes = SceneHistory.estimateBytes(cinematic);
+        Long previousBytes = cachedSizes.put(key, bytes);
+        cachedBytes += bytes - (previousBytes == null ? 0L : previousBytes);
+        summaries.put(key, SceneSummary.of(cinematic));
+        trimCache(key);
+    }
+
+    private void uncache(String key) {
+        cinematics.remove(key);
+        lastUsed.remove(key);
+        Long bytes = cachedSizes.remove(key);
+        if (bytes != null) {
+            cachedBytes -= bytes;
+        }
+    }
+
+    private void trimCache(String keep) {
+        if (cachedBytes <= cacheBudgetBytes || !failedWrites.isEmpty()) {
+            return;
+        }
+        String[] leastRecentFirst = cinematics.keySet().toArray(String[]::new);
+        Arrays.sort(leastRecentFirst, Comparator.comparingLong(lastUsed::get));
+        for (String key : leastRecentFirst) {
+            if (cachedBytes <= cacheBudgetBytes) {
+                return;
+            }
+            if (key.equals(keep) || !isEvictable(key)) {
+                continue;
+            }
+            uncache(key);
+            cacheEvictions++;
+        }
+    }
+
+    private boolean isEvictable(String key) {
+        DirtyState state = dirtyStates.get(key);
+        return (state == null || !state.isDirty())
+                && sceneFileNames.containsKey(key)
+                && !writeQueue.isPending(new File(getScenesFolder(), sceneFileNames.get(key)))
+                && !writeQueue.isPending(getRecordingsFile(key));
+    }
+
+    private void logLoadReport(List<SceneLoadResult> results, int threads, long elapsedNanos) {
+        long parseNanos = 0L;
+        for (SceneLoadResult result : results) {
+            parseNanos += result.parseNanos();
+        }
+        plugin.getLogger().info(String.format(Locale.ROOT, "Loaded %d scene file(s) in %.1f ms (%.1f ms parse time, %d thread(s)).",
+                results.size(), elapsedNanos / 1_000_000.0D, parseNanos / 1_000_000.0D, Math.max(1, threads)));
+
+        boolean verbose = plugin.getConfig().getBoolean("storage.load-report", false);
+        List<SceneLoadResult> slowest = new ArrayList<>(results);
+        slowest.sort(Comparator.comparingLong(SceneLoadResult::parseNanos).reversed());
+        int shown = verbose ? slowest.size() : Math.min(LOAD_REPORT_SLOWEST, slowest.size());
+        for (int i = 0; i < shown; i++) {
+            SceneLoadResult result = slowest.get(i);
+            plugin.getLogger().info(String.format(Locale.ROOT, "  %s: %.2f ms", result.file().getName(), result.parseNanos() / 1_000_000.0D));
+        }
+    }
+
+    private int getLoadThreads() {
+        int configured = plugin.getConfig().getInt("storage.load-threads", 0);
+        if (configured > 0) {
+            return configured;
+        }
+        return Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1));
+    }
+
+    private void migrateLegacyRecordingFiles() {
+        if (legacyRecordingFiles.isEmpty()) {
+            return;
+        }
+        legacyRecordingFiles.retainAll(summaries.keySet());
+        for (String key : legacyRecordingFiles) {
+            if (resolve(key) != null) {
+                markDirty(key, DirtyPart.RECORDINGS);
+            }
+        }
+        plugin.getLogger().info("Migrating " + legacyRecordingFiles.size() + " actor recording file(s) to the binary format.");
+        save();
+    }
+
+    private void recoverRecordingJournals() {
+        File[] journalFiles = getActorRecordingsFolder().listFiles((dir, name) -> name.endsWith(ActorRecordingJournal.EXTENSION));
+        if (journalFiles == null || journalFiles.length == 0) {
+            return;
+        }
+
+        // Oldest first, so the latest take of an actor is the one that sticks.
+        Arrays.sort(journalFiles, Comparator.comparingLong(File::lastModified));
+        for (File journalFile : journalFiles) {
+            ActorRecordingJournal.Recovered recovered;
+            try {
+                recovered = ActorRecordingJournal.read(journalFile);
+            } catch (IOException ex) {
+                plugin.getLogger().warning("Could not read actor recording journal " + journalFile.getName() + ": " + ex.getMessage());
+                continue;
+            }
+
+            if (recovered != null && !recovered.track().isEmpty()
+                    && saveActorTrack(recovered.sceneId(), recovered.actorId(), recovered.track(), false)) {
+                plugin.getLogger().info("Recovered " + recovered.track().size() + " actor frames for "
+                        + recovered.sceneId() + "/" + recovered.actorId() + " from an interrupted recording.");
+            }
+            writeQueue.delete(journalFile, null);
+        }
+    }
+
+    /**
+     * A journal name of its own for every take: a discarded take's delete is queued, and must not unlink the journal
+     * of a new take of the same actor opened before the queue gets to it.
+     */
+    private File getRecordingJournalFile(String sceneId, String actorId) {
+        return new File(getActorRecordingsFolder(), normalizeId(sceneId) + "." + normalizeId(actorId) + "."
+                + Long.toString(System.currentTimeMillis(), 36) + "-" + journalSequence.incrementAndGet()
+                + ActorRecordingJournal.EXTENSION);
+    }
+
+    public synchronized long getContentVersion(String id) {
+        DirtyState state = dirtyStates.get(normalizeId(id));
+        return state == null ? 0L : state.contentVersion;
+    }
+
+    private Cinematic parseCinematic(ConfigurationSection sceneSection, String fallbackId, boolean[] legacyRecordings) {
         String id = sceneSection.getString("id", fallbackId);
         int durationTicks = Math.max(1, sceneSection.getInt("durationTicks", 200));
         List<CinematicPoint> points = new ArrayList<>();
         for (Map<?, ?> pointMap : sceneSection.getMapList("points")) {
-            String worldName = String.valueOf(pointMap.get("world"));
-            World world = Bukkit.getWorld(worldName);
+            Object worldName = pointMap.get("world");
+            WorldRef world = worldName == null ? null : WorldRef.of(String.valueOf(worldName));
             if (world == null) {
                 continue;
             }
@@ -200,41 +719,45 @@ public final class CinematicManager {
             CinematicPoint.InterpolationMode interpolationMode = CinematicPoint.InterpolationMode.fromString(
                     pointMap.containsKey("interpolation") ? String.valueOf(pointMap.get("interpolation")) : null);
 
-            points.add(new CinematicPoint(tick, new Location(world, x, y, z, yaw, pitch), interpolationMode));
+            points.add(new CinematicPoint(tick, world, x, y, z, yaw, pitch, interpolationMode));
         }
 
         points.sort(Comparator.comparingInt(CinematicPoint::tick));
         List<String> startCommands = parseCommands(sceneSection.getStringList("startCommands"));
         List<String> endCommands = parseCommands(sceneSection.getStringList("endCommands"));
         Map<Integer, List<String>> tickCommands = parseTickCommands(sceneSection.getConfigurationSection("tickCommands"));
+        Map<Integer, List<SceneAction>> tickActions = parseTickActions(id, sceneSection.getConfigurationSection("tickActions"));
         Cinematic.EndAction endAction = parseEndAction(sceneSection.getConfigurationSection("endAction"));
-        Map<String, List<ActorFrame>> actorFrames = loadActorFramesFile(normalizeId(id));
-        Map<String, SceneActor> actors = parseActors(sceneSection.getConfigurationSection("actors"), actorFrames);
+        Map<String, ActorTrack> actorTracks = loadActorTracksFile(normalizeId(id), legacyRecordings);
+        Map<String, SceneActor> actors = parseActors(sceneSection.getConfigurationSection("actors"), actorTracks);
         boolean hidePlayersDuringPlayback = sceneSection.getBoolean("hidePlayersDuringPlayback", false);
         CinematicAudioTrack audioTrack = parseAudioTrack(sceneSection.getConfigurationSection("audio"));
         List<CinematicSubtitleCue> subtitleCues = parseSubtitles(sceneSection.getConfigurationSection("subtitles"));
-        return new Cinematic(id, durationTicks, points, endAction, startCommands, endCommands, tickCommands, actors, hidePlayersDuringPlayback, audioTrack, subtitleCues);
+        return new Cinematic(id, durationTicks, points, endAction, startCommands, endCommands, tickCommands, actors, hidePlayersDuringPlayback, audioTrack, subtitleCues)
+                .withCameraMode(Cinematic.CameraMode.fromString(sceneSection.getString("cameraMode")))
+                .withTickActions(tickActions)
+                .withActorLod(parseActorLod(sceneSection.getConfigurationSection("actorLod")));
     }
 
     private void writeCinematic(YamlConfiguration config, Cinematic cinematic) {
         config.set("id", cinematic.getId());
         List<Map<String, Object>> serializedPoints = new ArrayList<>();
         for (CinematicPoint point : cinematic.getPoints()) {
-            Location loc = point.location();
             Map<String, Object> serialized = new LinkedHashMap<>();
             serialized.put("tick", point.tick());
-            serialized.put("world", loc.getWorld() == null ? "world" : loc.getWorld().getName());
-            serialized.put("x", loc.getX());
-            serialized.put("y", loc.getY());
-            serialized.put("z", loc.getZ());
-            serialized.put("yaw", loc.getYaw());
-            serialized.put("pitch", loc.getPitch());
+            serialized.put("world", point.world() == null ? "world" : point.world().name());
+            serialized.put("x", point.x());
+            serialized.put("y", point.y());
+            serialized.put("z", point.z());
+            serialized.put("yaw", point.yaw());
+            serialized.put("pitch", point.pitch());
             serialized.put("interpolation", point.interpolationMode().name().toLowerCase(Locale.ROOT));
             serializedPoints.add(serialized);
         }
 
         config.set("durationTicks", cinematic.getDurationTicks());
         config.set("hidePlayersDuringPlayback", cinematic.shouldHidePlayersDuringPlayback());
+        config.set("cameraMode", cinematic.getCameraMode().name().toLowerCase(Locale.ROOT));
         config.set("points", serializedPoints);
         config.set("startCommands", cinematic.getStartCommands());
         config.set("endCommands", cinematic.getEndCommands());
@@ -242,6 +765,10 @@ public final class CinematicManager {
         for (Map.Entry<Integer, List<String>> entry : cinematic.getTickCommands().entrySet()) {
             config.set("tickCommands." + entry.getKey(), entry.getValue());
         }
+        config.set("tickActions", null);
+        for (Map.Entry<Integer, List<SceneAction>> entry : cinematic.getTickActions().entrySet()) {
+            config.set("tickActions." + entry.getKey(), entry.getValue().stream().map(this::serializeAction).toList());
+        }
 
         config.set("actors", null);
         for (SceneActor actor : cinematic.getActors().values()) {
@@ -264,6 +791,17 @@ public final class CinematicManager {
             config.set("audio.stopCommandTemplate", audioTrack.stopCommandTemplate());
         }
 
+        config.set("actorLod", null);
+        ActorLod actorLod = cinematic.getActorLod();
+        if (actorLod != null) {
+            config.set("actorLod.enabled", actorLod.enabled());
+            config.set("actorLod.fullRateDistance", actorLod.fullRateDistance());
+            config.set("actorLod.viewDistance", actorLod.viewDistance());
+            config.set("actorLod.viewAngle", actorLod.viewAngle());
+            config.set("actorLod.maxInterval", actorLod.maxInterval());
+            config.set("actorLod.despawnDelay", actorLod.despawnDelay());
+        }
+
         config.set("subtitles", null);
         int subtitleIndex = 0;
         for (CinematicSubtitleCue cue : cinematic.getSubtitleCues()) {
@@ -278,18 +816,18 @@ public final class CinematicManager {
         config.set(endActionPath + ".type", cinematic.getEndAction().type().name().toLowerCase(Locale.ROOT));
         GameMode gameMode = cinematic.getEndAction().gameMode();
         config.set(endActionPath + ".gameMode", gameMode == null ? null : gameMode.name().toLowerCase(Locale.ROOT));
-        Location teleportLocation = cinematic.getEndAction().teleportLocation();
-        if (teleportLocation == null || teleportLocation.getWorld() == null) {
+        CinematicPoint teleportTarget = cinematic.getEndAction().teleportTarget();
+        if (teleportTarget == null || teleportTarget.world() == null) {
             config.set(endActionPath + ".teleport", null);
             return;
         }
 
-        config.set(endActionPath + ".teleport.world", teleportLocation.getWorld().getName());
-        config.set(endActionPath + ".teleport.x", teleportLocation.getX());
-        config.set(endActionPath + ".teleport.y", teleportLocation.getY());
-        config.set(endActionPath + ".teleport.z", teleportLocation.getZ());
-        config.set(endActionPath + ".teleport.yaw", teleportLocation.getYaw());
-        config.set(endActionPath + ".teleport.pitch", teleportLocation.getPitch());
+        config.set(endActionPath + ".teleport.world", teleportTarget.world().name());
+        config.set(endActionPath + ".teleport.x", teleportTarget.x());
+        config.set(endActionPath + ".teleport.y", teleportTarget.y());
+        config.set(endActionPath + ".teleport.z", teleportTarget.z());
+        config.set(endActionPath + ".teleport.yaw", teleportTarget.yaw());
+        config.set(endActionPath + ".teleport.pitch", teleportTarget.pitch());
     }
 
     private File getScenesFolder() {
@@ -300,11 +838,32 @@ public final class CinematicManager {
         return new File(getScenesFolder(), "actor-recordings");
     }
 
-    private Map<String, List<ActorFrame>> loadActorFramesFile(String sceneId) {
+    private File getRecordingsFile(String key) {
+        return new File(getActorRecordingsFolder(), key + ActorRecordingCodec.EXTENSION);
+    }
+
+    private File getIndexFile() {
+        return new File(getScenesFolder(), SceneIndex.FILE_NAME);
+    }
+
+    private Map<String, ActorTrack> loadActorTracksFile(String sceneId, boolean[] legacyRecordings) {
+        File binaryFile = new File(getActorRecordingsFolder(), sceneId + ActorRecordingCodec.EXTENSION);
+        if (binaryFile.exists()) {
+            try {
+                Map<String, ActorTrack> actorTracks = new LinkedHashMap<>();
+                ActorRecordingCodec.read(binaryFile).forEach((actorId, track) -> actorTracks.put(normalizeId(actorId), track));
+                return actorTracks;
+            } catch (IOException ex) {
+                plugin.getLogger().severe("Could not read actor recording file " + binaryFile.getName() + ": " + ex.getMessage());
+                setAsideUnreadable(sceneId, binaryFile);
+            }
+        }
+
         File actorFile = new File(getActorRecordingsFolder(), sceneId + ".yml");
         if (!actorFile.exists()) {
             return Map.of();
         }
+        legacyRecordings[0] = true;
 
         YamlConfiguration actorConfig = YamlConfiguration.loadConfiguration(actorFile);
         ConfigurationSection actorsSection = actorConfig.getConfigurationSection("actors");
@@ -312,15 +871,30 @@ public final class CinematicManager {
             return Map.of();
         }
 
-        Map<String, List<ActorFrame>> actorFrames = new LinkedHashMap<>();
+        Map<String, ActorTrack> actorTracks = new LinkedHashMap<>();
         for (String actorId : actorsSection.getKeys(false)) {
             ConfigurationSection actorSection = actorsSection.getConfigurationSection(actorId);
             if (actorSection == null) {
                 continue;
             }
-            actorFrames.put(normalizeId(actorId), parseActorFrames(actorSection.getMapList("frames")));
+            actorTracks.put(normalizeId(actorId), parseActorTrack(actorSection.getMapList("frames")));
+        }
+        return actorTracks;
+    }
+
+    /**
+     * Moves an unreadable recordings file out of the way so the next save starts a fresh one. When it cannot be moved
+     * the scene's recordings are never saved this session, leaving the file for manual recovery.
+     */
+    private void setAsideUnreadable(String sceneId, File binaryFile) {
+        File corrupt = new File(binaryFile.getParentFile(), binaryFile.getName() + ".corrupt-" + System.currentTimeMillis());
+        if (binaryFile.renameTo(corrupt)) {
+            plugin.getLogger().severe("Kept it as " + corrupt.getName() + "; actor recordings of '" + sceneId + "' start empty.");
+            return;
         }
-        return actorFrames;
+        unreadableRecordings.add(sceneId);
+        plugin.getLogger().severe("Could not move " + binaryFile.getName() + " aside; actor recordings of '" + sceneId
+                + "' will not be saved until it is fixed or removed and the plugin reloaded.");
     }
 
     private String stripExtension(String fileName) {
@@ -331,367 +905,589 @@ public final class CinematicManager {
         return fileName.substring(0, dotIndex);
     }
 
-    public boolean createCinematic(String id, int durationTicks) {
+    public synchronized boolean createCinematic(String id, int durationTicks) {
         String key = normalizeId(id);
-        if (cinematics.containsKey(key)) {
+        if (summaries.containsKey(key)) {
             return false;
         }
-        cinematics.put(key, new Cinematic(id, durationTicks, List.of(), Cinematic.EndAction.stayAtLastCameraPoint(), Map.of(), Map.of(), false, null, List.of()));
+        cacheStore(key, new Cinematic(id, durationTicks, List.of(), Cinematic.EndAction.stayAtLastCameraPoint(), Map.of(), Map.of(), false, null, List.of()));
+        String deletedFileName = pendingDeletions.remove(key);
+        if (deletedFileName != null && !deletedFileName.equals(key + ".yml")) {
+            orphanSceneFiles.put(key, deletedFileName);
+        }
+        markDirty(key, DirtyPart.ALL);
         save();
         return true;
     }
 
     public boolean deleteCinematic(String id) {
-        String key = normalizeId(id);
-        Cinematic removed = cinematics.remove(key);
-        if (removed == null) {
-            return false;
+        warm(id);
+        synchronized (this) {
+            String key = normalizeId(id);
+            Cinematic removed = resolve(key);
+            if (removed == null) {
+                return false;
+            }
+            uncache(key);
+            summaries.remove(key);
+            String fileName = sceneFileNames.remove(key);
+            sceneIndex.remove(key);
+            history.recordEdit(key, removed, null);
+            dirtyStates.remove(key);
+            pendingDeletions.put(key, fileName == null ? key + ".yml" : fileName);
+            save();
+            return true;
         }
-        pushHistory(undoSnapshots, key, removed);
-        redoSnapshots.remove(key);
-        save();
-        return true;
     }
 
     public Optional<Cinematic> getCinematic(String id) {
-        return Optional.ofNullable(cinematics.get(normalizeId(id)));
+        warm(id);
+        synchronized (this) {
+            return Optional.ofNullable(resolve(normalizeId(id)));
+        }
     }
 
-    public List<String> getCinematicIds() {
-        return cinematics.values().stream().map(Cinematic::getId).toList();
+    public synchronized Optional<SceneSummary> getSceneSummary(String id) {
+        return Optional.ofNullable(summaries.get(normalizeId(id)));
+    }
+
+    public synchronized List<String> getCinematicIds() {
+        return summaries.values().stream().map(SceneSummary::id).toList();
     }
 
     public boolean setDuration(String id, int durationTicks) {
-        String key = normalizeId(id);
-        Cinematic cinematic = cinematics.get(key);
-        if (cinematic == null) {
-            return false;
+        warm(id);
+        synchronized (this) {
+            String key = normalizeId(id);
+            Cinematic cinematic = resolve(key);
+            if (cinematic == null) {
+                return false;
+            }
+            commit(key, cinematic, cinematic.withDurationTicks(durationTicks), DirtyPart.SCENE);
+            save();
+            return true;
         }
-        rememberUndoSnapshot(key, cinematic);
-        cinematics.put(key, new Cinematic(cinematic.getId(), durationTicks, cinematic.getPoints(), cinematic.getEndAction(), cinematic.getTickCommands(), cinematic.getActors(), cinematic.shouldHidePlayersDuringPlayback(), cinematic.getAudioTrack(), cinematic.getStartCommands(), cinematic.getEndCommands(), cinematic.getSubtitleCues()));
-        save();
-        return true;
     }
 
     public boolean upsertPoint(String id, int tick, Location location, CinematicPoint.InterpolationMode interpolationMode) {
-        String key = normalizeId(id);
-        Cinematic cinematic = cinematics.get(key);
-        if (cinematic == null) {
-            return false;
+        warm(id);
+        synchronized (this) {
+            String key = normalizeId(id);
+            Cinematic cinematic = resolve(key);
+            if (cinematic == null) {
+                return false;
+            }
+
+            List<CinematicPoint> updated = new ArrayList<>(cinematic.getPoints());
+            updated.removeIf(p -> p.tick() == tick);
+            updated.add(new CinematicPoint(Math.max(0, tick), location.clone(), interpolationMode));
+            updated.sort(Comparator.comparingInt(CinematicPoint::tick));
+            commit(key, cinematic, cinematic.withPoints(updated), DirtyPart.SCENE);
+            save();
+            return true;
         }
+    }
 
-        List<CinematicPoint> updated = new ArrayList<>(cinematic.getPoints());
-        updated.removeIf(p -> p.tick() == tick);
-        updated.add(new CinematicPoint(Math.max(0, tick), location.clone(), interpolationMode));
-        updated.sort(Comparator.comparingInt(CinematicPoint::tick));
-        rememberUndoSnapshot(key, cinematic);
-        cinematics.put(key, new Cinematic(cinematic.getId(), cinematic.getDurationTicks(), updated, cinematic.getEndAction(), cinematic.getTickCommands(), cinematic.getActors(), cinematic.shouldHidePlayersDuringPlayback(), cinematic.getAudioTrack(), cinematic.getStartCommands(), cinematic.getEndCommands(), cinematic.getSubtitleCues()));
-        save();
-        return true;
+    public CameraRecordingSession beginCameraRecording(String id, CinematicPoint.InterpolationMode interpolationMode) {
+        warm(id);
+        synchronized (this) {
+            Cinematic cinematic = resolve(normalizeId(id));
+            if (cinematic == null) {
+                return null;
+            }
+            return new CameraRecordingSession(cinematic.getId(), interpolationMode);
+        }
     }
 
-    public boolean deletePoint(String id, int tick) {
-        String key = normalizeId(id);
-        Cinematic cinematic = cinematics.get(key);
-        if (cinematic == null) {
-            return false;
+    public boolean commitCameraRecording(CameraRecordingSession session) {
+        if (session != null) {
+            warm(session.getSceneId());
         }
+        synchronized (this) {
+            if (session == null || session.isCommitted()) {
+                return false;
+            }
+            session.markCommitted();
+            String key = normalizeId(session.getSceneId());
+            Cinematic cinematic = resolve(key);
+            if (cinematic == null || session.size() == 0) {
+                return false;
+            }
 
-        List<CinematicPoint> updated = new ArrayList<>(cinematic.getPoints());
-        boolean removed = updated.removeIf(p -> p.tick() == tick);
-        if (!removed) {
-            return false;
+            List<CinematicPoint> existing = cinematic.getPoints();
+            List<CinematicPoint> merged = new ArrayList<>(existing.size() + session.size());
+            int existingIndex = 0;
+            for (int sampleIndex = 0; sampleIndex < session.size(); sampleIndex++) {
+                int sampleTick = session.tickAt(sampleIndex);
+                while (existingIndex < existing.size() && existing.get(existingIndex).tick() < sampleTick) {
+                    merged.add(existing.get(existingIndex++));
+                }
+                if (existingIndex < existing.size() && existing.get(existingIndex).tick() == sampleTick) {
+                    existingIndex++;
+                }
+                merged.add(session.pointAt(sampleIndex));
+            }
+            while (existingIndex < existing.size()) {
+                merged.add(existing.get(existingIndex++));
+            }
+
+            commit(key, cinematic, cinematic.withPoints(merged), DirtyPart.SCENE);
+            save();
+            return true;
         }
+    }
 
-        rememberUndoSnapshot(key, cinematic);
-        cinematics.put(key, new Cinematic(cinematic.getId(), cinematic.getDurationTicks(), updated, cinematic.getEndAction(), cinematic.getTickCommands(), cinematic.getActors(), cinematic.shouldHidePlayersDuringPlayback(), cinematic.getAudioTrack(), cinematic.getStartCommands(), cinematic.getEndCommands(), cinematic.getSubtitleCues()));
-        save();
-        return true;
+    public boolean deletePoint(String id, int tick) {
+        warm(id);
+        synchronized (this) {
+            String key = normalizeId(id);
+            Cinematic cinematic = resolve(key);
+            if (cinematic == null) {
+                return false;
+            }
+
+            List<CinematicPoint> updated = new ArrayList<>(cinematic.getPoints());
+            boolean removed = updated.removeIf(p -> p.tick() == tick);
+            if (!removed) {
+                return false;
+            }
+
+            commit(key, cinematic, cinematic.withPoints(updated), DirtyPart.SCENE);
+            save();
+            return true;
+        }
     }
 
     public boolean setPointInterpolation(String id, int tick, CinematicPoint.InterpolationMode interpolationMode) {
-        String key = normalizeId(id);
-        Cinematic cinematic = cinematics.get(key);
-        if (cinematic == null) {
-            return false;
-        }
+        warm(id);
+        synchronized (this) {
+            String key = normalizeId(id);
+            Cinematic cinematic = resolve(key);
+            if (cinematic == null) {
+                return false;
+            }
 
-        List<CinematicPoint> updated = new ArrayList<>(cinematic.getPoints());
-        boolean changed = false;
+            List<CinematicPoint> updated = new ArrayList<>(cinematic.getPoints());
+            boolean changed = false;
 
-        for (int i = 0; i < updated.size(); i++) {
-            CinematicPoint point = updated.get(i);
-            if (point.tick() != tick) {
-                continue;
+            for (int i = 0; i < updated.size(); i++) {
+                CinematicPoint point = updated.get(i);
+                if (point.tick() != tick) {
+                    continue;
+                }
+
+                updated.set(i, point.withInterpolationMode(interpolationMode));
+                changed = true;
+                break;
             }
 
-            updated.set(i, new CinematicPoint(point.tick(), point.location().clone(), interpolationMode));
-            changed = true;
-            break;
-        }
+            if (!changed) {
+                return false;
+            }
 
-        if (!changed) {
-            return false;
+            commit(key, cinematic, cinematic.withPoints(updated), DirtyPart.SCENE);
+            save();
+            return true;
         }
-
-        rememberUndoSnapshot(key, cinematic);
-        cinematics.put(key, new Cinematic(cinematic.getId(), cinematic.getDurationTicks(), updated, cinematic.getEndAction(), cinematic.getTickCommands(), cinematic.getActors(), cinematic.shouldHidePlayersDuringPlayback(), cinematic.getAudioTrack(), cinematic.getStartCommands(), cinematic.getEndCommands(), cinematic.getSubtitleCues()));
-        save();
-        return true;
     }
 
     public boolean clearPoints(String id) {
-        String key = normalizeId(id);
-        Cinematic cinematic = cinematics.get(key);
-        if (cinematic == null) {
-            return false;
+        warm(id);
+        synchronized (this) {
+            String key = normalizeId(id);
+            Cinematic cinematic = resolve(key);
+            if (cinematic == null) {
+                return false;
+            }
+            commit(key, cinematic, cinematic.withPoints(List.of()), DirtyPart.SCENE);
+            save();
+            return true;
         }
-        rememberUndoSnapshot(key, cinematic);
-        cinematics.put(key, new Cinematic(cinematic.getId(), cinematic.getDurationTicks(), List.of(), cinematic.getEndAction(), cinematic.getTickCommands(), cinematic.getActors(), cinematic.shouldHidePlayersDuringPlayback(), cinematic.getAudioTrack(), cinematic.getStartCommands(), cinematic.getEndCommands(), cinematic.getSubtitleCues()));
-        save();
-        return true;
     }
 
     public boolean setEndAction(String id, Cinematic.EndAction endAction) {
-        String key = normalizeId(id);
-        Cinematic cinematic = cinematics.get(key);
-        if (cinematic == null) {
-            return false;
+        warm(id);
+        synchronized (this) {
+            String key = normalizeId(id);
+            Cinematic cinematic = resolve(key);
+            if (cinematic == null) {
+                return false;
+            }
+            commit(key, cinematic, cinematic.withEndAction(endAction), DirtyPart.SCENE);
+            save();
+            return true;
         }
-        rememberUndoSnapshot(key, cinematic);
-        cinematics.put(key, new Cinematic(cinematic.getId(), cinematic.getDurationTicks(), cinematic.getPoints(), endAction, cinematic.getTickCommands(), cinematic.getActors(), cinematic.shouldHidePlayersDuringPlayback(), cinematic.getAudioTrack(), cinematic.getStartCommands(), cinematic.getEndCommands(), cinematic.getSubtitleCues()));
-        save();
-        return true;
     }
 
     public boolean setHidePlayersDuringPlayback(String id, boolean hidePlayersDuringPlayback) {
-        String key = normalizeId(id);
-        Cinematic cinematic = cinematics.get(key);
-        if (cinematic == null) {
-            return false;
+        warm(id);
+        synchronized (this) {
+            String key = normalizeId(id);
+            Cinematic cinematic = resolve(key);
+            if (cinematic == null) {
+                return false;
+            }
+            commit(key, cinematic, cinematic.withHidePlayersDuringPlayback(hidePlayersDuringPlayback), DirtyPart.SCENE);
+            save();
+            return true;
         }
-        rememberUndoSnapshot(key, cinematic);
-        cinematics.put(key, new Cinematic(cinematic.getId(), cinematic.getDurationTicks(), cinematic.getPoints(), cinematic.getEndAction(), cinematic.getTickCommands(), cinematic.getActors(), hidePlayersDuringPlayback, cinematic.getAudioTrack(), cinematic.getStartCommands(), cinematic.getEndCommands(), cinematic.getSubtitleCues()));
-        save();
-        return true;
     }
 
-    public boolean addTickCommand(String id, int tick, String command) {
-        String key = normalizeId(id);
-        Cinematic cinematic = cinematics.get(key);
-        if (cinematic == null) {
-            return false;
+    public boolean setCameraMode(String id, Cinematic.CameraMode cameraMode) {
+        warm(id);
+        synchronized (this) {
+            String key = normalizeId(id);
+            Cinematic cinematic = resolve(key);
+            if (cinematic == null) {
+                return false;
+            }
+            commit(key, cinematic, cinematic.withCameraMode(cameraMode), DirtyPart.SCENE);
+            save();
+            return true;
         }
+    }
 
-        String normalizedCommand = command == null ? "" : command.trim();
-        if (normalizedCommand.isEmpty()) {
-            return false;
+    /**
+     * Sets or, with {@code null}, clears the scene's actor level-of-detail override.
+     */
+    public boolean setActorLod(String id, ActorLod actorLod) {
+        warm(id);
+        synchronized (this) {
+            String key = normalizeId(id);
+            Cinematic cinematic = resolve(key);
+            if (cinematic == null) {
+                return false;
+            }
+            commit(key, cinematic, cinematic.withActorLod(actorLod), DirtyPart.SCENE);
+            save();
+            return true;
         }
+    }
 
-        Map<Integer, List<String>> updated = new TreeMap<>(cinematic.getTickCommands());
-        List<String> commandsAtTick = new ArrayList<>(updated.getOrDefault(Math.max(0, tick), List.of()));
-        commandsAtTick.add(normalizedCommand);
-        updated.put(Math.max(0, tick), commandsAtTick);
-        rememberUndoSnapshot(key, cinematic);
-        cinematics.put(key, new Cinematic(cinematic.getId(), cinematic.getDurationTicks(), cinematic.getPoints(), cinematic.getEndAction(), updated, cinematic.getActors(), cinematic.shouldHidePlayersDuringPlayback(), cinematic.getAudioTrack(), cinematic.getStartCommands(), cinematic.getEndCommands(), cinematic.getSubtitleCues()));
-        save();
-        return true;
+    public boolean addTickCommand(String id, int tick, String command) {
+        warm(id);
+        synchronized (this) {
+            String key = normalizeId(id);
+            Cinematic cinematic = resolve(key);
+            if (cinematic == null) {
+                return false;
+            }
+
+            String normalizedCommand = command == null ? "" : command.trim();
+            if (normalizedCommand.isEmpty()) {
+                return false;
+            }
+
+            Map<Integer, List<String>> updated = new TreeMap<>(cinematic.getTickCommands());
+            List<String> commandsAtTick = new ArrayList<>(updated.getOrDefault(Math.max(0, tick), List.of()));
+            commandsAtTick.add(normalizedCommand);
+            updated.put(Math.max(0, tick), commandsAtTick);
+            commit(key, cinematic, cinematic.withTickCommands(updated), DirtyPart.SCENE);
+            save();
+            return true;
+        }
     }
 
     public boolean removeTickCommand(String id, int tick, int index) {
-        String key = normalizeId(id);
-        Cinematic cinematic = cinematics.get(key);
-        if (cinematic == null) {
-            return false;
-        }
+        warm(id);
+        synchronized (this) {
+            String key = normalizeId(id);
+            Cinematic cinematic = resolve(key);
+            if (cinematic == null) {
+                return false;
+            }
 
-        int safeTick = Math.max(0, tick);
-        Map<Integer, List<String>> updated = new TreeMap<>(cinematic.getTickCommands());
-        List<String> commandsAtTick = new ArrayList<>(updated.getOrDefault(safeTick, List.of()));
-        if (index < 1 || index > commandsAtTick.size()) {
-            return false;
-        }
+            int safeTick = Math.max(0, tick);
+            Map<Integer, List<String>> updated = new TreeMap<>(cinematic.getTickCommands());
+            List<String> commandsAtTick = new ArrayList<>(updated.getOrDefault(safeTick, List.of()));
+            if (index < 1 || index > commandsAtTick.size()) {
+                return false;
+            }
 
-        commandsAtTick.remove(index - 1);
-        if (commandsAtTick.isEmpty()) {
-            updated.remove(safeTick);
-        } else {
-            updated.put(safeTick, commandsAtTick);
-        }
+            commandsAtTick.remove(index - 1);
+            if (commandsAtTick.isEmpty()) {
+                updated.remove(safeTick);
+            } else {
+                updated.put(safeTick, commandsAtTick);
+            }
 
-        rememberUndoSnapshot(key, cinematic);
-        cinematics.put(key, new Cinematic(cinematic.getId(), cinematic.getDurationTicks(), cinematic.getPoints(), cinematic.getEndAction(), updated, cinematic.getActors(), cinematic.shouldHidePlayersDuringPlayback(), cinematic.getAudioTrack(), cinematic.getStartCommands(), cinematic.getEndCommands(), cinematic.getSubtitleCues()));
-        save();
-        return true;
+            commit(key, cinematic, cinematic.withTickCommands(updated), DirtyPart.SCENE);
+            save();
+            return true;
+        }
     }
 
     public boolean clearTickCommands(String id, Integer tick) {
-        String key = normalizeId(id);
-        Cinematic cinematic = cinematics.get(key);
-        if (cinematic == null) {
-            return false;
-        }
+        warm(id);
+        synchronized (this) {
+            String key = normalizeId(id);
+            Cinematic cinematic = resolve(key);
+            if (cinematic == null) {
+                return false;
+            }
 
-        Map<Integer, List<String>> updated = new TreeMap<>(cinematic.getTickCommands());
-        if (tick == null) {
-            updated.clear();
-        } else {
-            updated.remove(Math.max(0, tick));
-        }
+            Map<Integer, List<String>> updated = new TreeMap<>(cinematic.getTickCommands());
+            if (tick == null) {
+                updated.clear();
+            } else {
+                updated.remove(Math.max(0, tick));
+            }
 
-        rememberUndoSnapshot(key, cinematic);
-        cinematics.put(key, new Cinematic(cinematic.getId(), cinematic.getDurationTicks(), cinematic.getPoints(), cinematic.getEndAction(), updated, cinematic.getActors(), cinematic.shouldHidePlayersDuringPlayback(), cinematic.getAudioTrack(), cinematic.getStartCommands(), cinematic.getEndCommands(), cinematic.getSubtitleCues()));
-        save();
-        return true;
+            commit(key, cinematic, cinematic.withTickCommands(updated), DirtyPart.SCENE);
+            save();
+            return true;
+        }
     }
 
     public boolean upsertActor(String sceneId, String actorId, String displayName, Double scale, String skinTexture, String skinSignature) {
-        String key = normalizeId(sceneId);
-        Cinematic cinematic = cinematics.get(key);
-        if (cinematic == null) {
-            return false;
-        }
+        warm(sceneId);
+        synchronized (this) {
+            String key = normalizeId(sceneId);
+            Cinematic cinematic = resolve(key);
+            if (cinematic == null) {
+                return false;
+            }
 
-        Map<String, SceneActor> updatedActors = new LinkedHashMap<>(cinematic.getActors());
-        String actorKey = normalizeId(actorId);
-        SceneActor current = updatedActors.get(actorKey);
-        if (current == null) {
-            current = new SceneActor(actorId, displayName == null ? actorId : displayName, skinTexture, skinSignature,
-                    scale == null ? 1.0D : scale, 0, cinematic.getDurationTicks(), List.of());
-        } else {
-            current = current.withProfile(displayName, skinTexture, skinSignature, scale, null, null);
+            Map<String, SceneActor> updatedActors = new LinkedHashMap<>(cinematic.getActors());
+            String actorKey = normalizeId(actorId);
+            SceneActor current = updatedActors.get(actorKey);
+            if (current == null) {
+                current = new SceneActor(actorId, displayName == null ? actorId : displayName, skinTexture, skinSignature,
+                        scale == null ? 1.0D : scale, 0, cinematic.getDurationTicks(), ActorTrack.EMPTY);
+            } else {
+                current = current.withProfile(displayName, skinTexture, skinSignature, scale, null, null);
+            }
+            updatedActors.put(actorKey, current);
+            commit(key, cinematic, cinematic.withActors(updatedActors), DirtyPart.SCENE);
+            save();
+            return true;
         }
-        updatedActors.put(actorKey, current);
-        rememberUndoSnapshot(key, cinematic);
-        cinematics.put(key, new Cinematic(cinematic.getId(), cinematic.getDurationTicks(), cinematic.getPoints(), cinematic.getEndAction(), cinematic.getTickCommands(), updatedActors, cinematic.shouldHidePlayersDuringPlayback(), cinematic.getAudioTrack(), cinematic.getStartCommands(), cinematic.getEndCommands(), cinematic.getSubtitleCues()));
-        save();
-        return true;
     }
 
     public SceneActor getActor(String sceneId, String actorId) {
-        Cinematic cinematic = cinematics.get(normalizeId(sceneId));
-        if (cinematic == null) {
-            return null;
+        warm(sceneId);
+        synchronized (this) {
+            Cinematic cinematic = resolve(normalizeId(sceneId));
+            if (cinematic == null) {
+                return null;
+            }
+            return cinematic.getActors().get(normalizeId(actorId));
         }
-        return cinematic.getActors().get(normalizeId(actorId));
     }
 
     public boolean saveActorFrames(String sceneId, String actorId, List<ActorFrame> frames) {
-        String key = normalizeId(sceneId);
-        Cinematic cinematic = cinematics.get(key);
-        if (cinematic == null) {
-            return false;
-        }
+        return saveActorFrames(sceneId, actorId, frames, true);
+    }
 
-        Map<String, SceneActor> updatedActors = new LinkedHashMap<>(cinematic.getActors());
-        String actorKey = normalizeId(actorId);
-        SceneActor actor = updatedActors.get(actorKey);
-        if (actor == null) {
-            return false;
-        }
+    public boolean saveActorFrames(String sceneId, String actorId, List<ActorFrame> frames, boolean newHistoryEntry) {
+        return saveActorTrack(sceneId, actorId, ActorTrack.of(frames), newHistoryEntry);
+    }
 
-        updatedActors.put(actorKey, actor.withFrames(frames));
-        rememberUndoSnapshot(key, cinematic);
-        cinematics.put(key, new Cinematic(cinematic.getId(), cinematic.getDurationTicks(), cinematic.getPoints(), cinematic.getEndAction(), cinematic.getTickCommands(), updatedActors, cinematic.shouldHidePlayersDuringPlayback(), cinematic.getAudioTrack(), cinematic.getStartCommands(), cinematic.getEndCommands(), cinematic.getSubtitleCues()));
-        save();
-        return true;
+    public boolean saveActorTrack(String sceneId, String actorId, ActorTrack track, boolean newHistoryEntry) {
+        warm(sceneId);
+        synchronized (this) {
+            String key = normalizeId(sceneId);
+            Cinematic cinematic = resolve(key);
+            if (cinematic == null) {
+                return false;
+            }
+
+            Map<String, SceneActor> updatedActors = new LinkedHashMap<>(cinematic.getActors());
+            String actorKey = normalizeId(actorId);
+            SceneActor actor = updatedActors.get(actorKey);
+            if (actor == null) {
+                return false;
+            }
+
+            updatedActors.put(actorKey, actor.withTrack(track));
+            Cinematic updated = cinematic.withActors(updatedActors);
+            if (newHistoryEntry) {
+                commit(key, cinematic, updated, DirtyPart.RECORDINGS);
+            } else {
+                amend(key, cinematic, updated, DirtyPart.RECORDINGS);
+            }
+            save();
+            return true;
+        }
     }
 
     public boolean removeActor(String sceneId, String actorId) {
-        String key = normalizeId(sceneId);
-        Cinematic cinematic = cinematics.get(key);
-        if (cinematic == null) {
-            return false;
-        }
+        warm(sceneId);
+        synchronized (this) {
+            String key = normalizeId(sceneId);
+            Cinematic cinematic = resolve(key);
+            if (cinematic == null) {
+                return false;
+            }
 
-        Map<String, SceneActor> updatedActors = new LinkedHashMap<>(cinematic.getActors());
-        if (updatedActors.remove(normalizeId(actorId)) == null) {
-            return false;
-        }
+            Map<String, SceneActor> updatedActors = new LinkedHashMap<>(cinematic.getActors());
+            if (updatedActors.remove(normalizeId(actorId)) == null) {
+                return false;
+            }
 
-        rememberUndoSnapshot(key, cinematic);
-        cinematics.put(key, new Cinematic(cinematic.getId(), cinematic.getDurationTicks(), cinematic.getPoints(), cinematic.getEndAction(), cinematic.getTickCommands(), updatedActors, cinematic.shouldHidePlayersDuringPlayback(), cinematic.getAudioTrack(), cinematic.getStartCommands(), cinematic.getEndCommands(), cinematic.getSubtitleCues()));
-        save();
-        return true;
+            commit(key, cinematic, cinematic.withActors(updatedActors), DirtyPart.ALL);
+            save();
+            return true;
+        }
     }
 
 
     public boolean setActorWindow(String sceneId, String actorId, int appearAtTick, int disappearAtTick) {
-        String key = normalizeId(sceneId);
-        Cinematic cinematic = cinematics.get(key);
-        if (cinematic == null) {
-            return false;
+        warm(sceneId);
+        synchronized (this) {
+            String key = normalizeId(sceneId);
+            Cinematic cinematic = resolve(key);
+            if (cinematic == null) {
+                return false;
+            }
+
+            Map<String, SceneActor> updatedActors = new LinkedHashMap<>(cinematic.getActors());
+            String actorKey = normalizeId(actorId);
+            SceneActor actor = updatedActors.get(actorKey);
+            if (actor == null) {
+                return false;
+            }
+
+            updatedActors.put(actorKey, actor.withProfile(null, null, null, null, appearAtTick, disappearAtTick));
+            commit(key, cinematic, cinematic.withActors(updatedActors), DirtyPart.SCENE);
+            save();
+            return true;
         }
+    }
 
-        Map<String, SceneActor> updatedActors = new LinkedHashMap<>(cinematic.getActors());
-        String actorKey = normalizeId(actorId);
-        SceneActor actor = updatedActors.get(actorKey);
-        if (actor == null) {
-            return false;
+    public boolean addTickAction(String id, int tick, SceneAction action) {
+        warm(id);
+        synchronized (this) {
+            String key = normalizeId(id);
+            Cinematic cinematic = resolve(key);
+            if (cinematic == null || action == null) {
+                return false;
+            }
+
+            Map<Integer, List<SceneAction>> updated = new TreeMap<>(cinematic.getTickActions());
+            List<SceneAction> actionsAtTick = new ArrayList<>(updated.getOrDefault(Math.max(0, tick), List.of()));
+            actionsAtTick.add(action);
+            updated.put(Math.max(0, tick), actionsAtTick);
+            commit(key, cinematic, cinematic.withTickActions(updated), DirtyPart.SCENE);
+            save();
+            return true;
         }
+    }
 
-        updatedActors.put(actorKey, actor.withProfile(null, null, null, null, appearAtTick, disappearAtTick));
-        rememberUndoSnapshot(key, cinematic);
-        cinematics.put(key, new Cinematic(cinematic.getId(), cinematic.getDurationTicks(), cinematic.getPoints(), cinematic.getEndAction(), cinematic.getTickCommands(), updatedActors, cinematic.shouldHidePlayersDuringPlayback(), cinematic.getAudioTrack(), cinematic.getStartCommands(), cinematic.getEndCommands(), cinematic.getSubtitleCues()));
-        save();
-        return true;
+    public boolean removeTickAction(String id, int tick, int index) {
+        warm(id);
+        synchronized (this) {
+            String key = normalizeId(id);
+            Cinematic cinematic = resolve(key);
+            if (cinematic == null) {
+                return false;
+            }
+
+            int safeTick = Math.max(0, tick);
+            Map<Integer, List<SceneAction>> updated = new TreeMap<>(cinematic.getTickActions());
+            List<SceneAction> actionsAtTick = new ArrayList<>(updated.getOrDefault(safeTick, List.of()));
+            if (index < 1 || index > actionsAtTick.size()) {
+                return false;
+            }
+
+            actionsAtTick.remove(index - 1);
+            if (actionsAtTick.isEmpty()) {
+                updated.remove(safeTick);
+            } else {
+                updated.put(safeTick, actionsAtTick);
+            }
+
+            commit(key, cinematic, cinematic.withTickActions(updated), DirtyPart.SCENE);
+            save();
+            return true;
+        }
+    }
+
+    public boolean clearTickActions(String id, Integer tick) {
+        warm(id);
+        synchronized (this) {
+            String key = normalizeId(id);
+            Cinematic cinematic = resolve(key);
+            if (cinematic == null) {
+                return false;
+            }
+
+            Map<Integer, List<SceneAction>> updated = new TreeMap<>(cinematic.getTickActions());
+            if (tick == null) {
+                updated.clear();
+            } else {
+                updated.remove(Math.max(0, tick));
+            }
+
+            commit(key, cinematic, cinematic.withTickActions(updated), DirtyPart.SCENE);
+            save();
+            return true;
+        }
     }
 
     public boolean setAudioTrack(String id, CinematicAudioTrack audioTrack) {
-        String key = normalizeId(id);
-        Cinematic cinematic = cinematics.get(key);
-        if (cinematic == null) {
-            return false;
+        warm(id);
+        synchronized (this) {
+            String key = normalizeId(id);
+            Cinematic cinematic = resolve(key);
+            if (cinematic == null) {
+                return false;
+            }
+            commit(key, cinematic, cinematic.withAudioTrack(audioTrack), DirtyPart.SCENE);
+            save();
+            return true;
         }
-        rememberUndoSnapshot(key, cinematic);
-        cinematics.put(key, new Cinematic(cinematic.getId(), cinematic.getDurationTicks(), cinematic.getPoints(), cinematic.getEndAction(), cinematic.getTickCommands(), cinematic.getActors(), cinematic.shouldHidePlayersDuringPlayback(), audioTrack, cinematic.getStartCommands(), cinematic.getEndCommands(), cinematic.getSubtitleCues()));
-        save();
-        return true;
     }
 
     public boolean upsertSubtitle(String id, CinematicSubtitleCue cue) {
-        String key = normalizeId(id);
-        Cinematic cinematic = cinematics.get(key);
-        if (cinematic == null) {
-            return false;
+        warm(id);
+        synchronized (this) {
+            String key = normalizeId(id);
+            Cinematic cinematic = resolve(key);
+            if (cinematic == null) {
+                return false;
+            }
+            List<CinematicSubtitleCue> updated = new ArrayList<>(cinematic.getSubtitleCues());
+            updated.removeIf(existing -> existing.startTick() == cue.startTick());
+            updated.add(cue);
+            updated.sort(Comparator.comparingInt(CinematicSubtitleCue::startTick));
+            commit(key, cinematic, cinematic.withSubtitleCues(updated), DirtyPart.SCENE);
+            save();
+            return true;
         }
-        List<CinematicSubtitleCue> updated = new ArrayList<>(cinematic.getSubtitleCues());
-        updated.removeIf(existing -> existing.startTick() == cue.startTick());
-        updated.add(cue);
-        updated.sort(Comparator.comparingInt(CinematicSubtitleCue::startTick));
-        rememberUndoSnapshot(key, cinematic);
-        cinematics.put(key, new Cinematic(cinematic.getId(), cinematic.getDurationTicks(), cinematic.getPoints(), cinematic.getEndAction(), cinematic.getTickCommands(), cinematic.getActors(), cinematic.shouldHidePlayersDuringPlayback(), cinematic.getAudioTrack(), cinematic.getStartCommands(), cinematic.getEndCommands(), updated));
-        save();
-        return true;
     }
 
     public boolean removeSubtitle(String id, int startTick) {
-        String key = normalizeId(id);
-        Cinematic cinematic = cinematics.get(key);
-        if (cinematic == null) {
-            return false;
-        }
-        List<CinematicSubtitleCue> updated = new ArrayList<>(cinematic.getSubtitleCues());
-        boolean removed = updated.removeIf(existing -> existing.startTick() == Math.max(0, startTick));
-        if (!removed) {
-            return false;
+        warm(id);
+        synchronized (this) {
+            String key = normalizeId(id);
+            Cinematic cinematic = resolve(key);
+            if (cinematic == null) {
+                return false;
+            }
+            List<CinematicSubtitleCue> updated = new ArrayList<>(cinematic.getSubtitleCues());
+            boolean removed = updated.removeIf(existing -> existing.startTick() == Math.max(0, startTick));
+            if (!removed) {
+                return false;
+            }
+            commit(key, cinematic, cinematic.withSubtitleCues(updated), DirtyPart.SCENE);
+            save();
+            return true;
         }
-        rememberUndoSnapshot(key, cinematic);
-        cinematics.put(key, new Cinematic(cinematic.getId(), cinematic.getDurationTicks(), cinematic.getPoints(), cinematic.getEndAction(), cinematic.getTickCommands(), cinematic.getActors(), cinematic.shouldHidePlayersDuringPlayback(), cinematic.getAudioTrack(), cinematic.getStartCommands(), cinematic.getEndCommands(), updated));
-        save();
-        return true;
     }
 
     public boolean clearSubtitles(String id) {
-        String key = normalizeId(id);
-        Cinematic cinematic = cinematics.get(key);
-        if (cinematic == null) {
-            return false;
+        warm(id);
+        synchronized (this) {
+            String key = normalizeId(id);
+            Cinematic cinematic = resolve(key);
+            if (cinematic == null) {
+                return false;
+            }
+            commit(key, cinematic, cinematic.withSubtitleCues(List.of()), DirtyPart.SCENE);
+            save();
+            return true;
         }
-        rememberUndoSnapshot(key, cinematic);
-        cinematics.put(key, new Cinematic(cinematic.getId(), cinematic.getDurationTicks(), cinematic.getPoints(), cinematic.getEndAction(), cinematic.getTickCommands(), cinematic.getActors(), cinematic.shouldHidePlayersDuringPlayback(), cinematic.getAudioTrack(), cinematic.getStartCommands(), cinematic.getEndCommands(), List.of()));
-        save();
-        return true;
     }
 
     private CinematicAudioTrack parseAudioTrack(ConfigurationSection section) {
@@ -707,6 +1503,20 @@ public final class CinematicManager {
         return audioTrack.isConfigured() ? audioTrack : null;
     }
 
+    private ActorLod parseActorLod(ConfigurationSection section) {
+        if (section == null) {
+            return null;
+        }
+        ActorLod defaults = ActorLod.DEFAULT;
+        return new ActorLod(
+                section.getBoolean("enabled", defaults.enabled()),
+                section.getDouble("fullRateDistance", defaults.fullRateDistance()),
+                section.getDouble("viewDistance", defaults.viewDistance()),
+                section.getDouble("viewAngle", defaults.viewAngle()),
+                section.getInt("maxInterval", defaults.maxInterval()),
+                section.getInt("despawnDelay", defaults.despawnDelay()));
+    }
+
     private List<CinematicSubtitleCue> parseSubtitles(ConfigurationSection section) {
         if (section == null) {
             return List.of();
@@ -727,7 +1537,128 @@ public final class CinematicManager {
         return cues;
     }
 
-    private Map<String, SceneActor> parseActors(ConfigurationSection section, Map<String, List<ActorFrame>> actorFrames) {
+    private Map<Integer, List<SceneAction>> parseTickActions(String sceneId, ConfigurationSection section) {
+        if (section == null) {
+            return Map.of();
+        }
+
+        Map<Integer, List<SceneAction>> actions = new TreeMap<>();
+        for (String tickKey : section.getKeys(false)) {
+            int tick;
+            try {
+                tick = Math.max(0, Integer.parseInt(tickKey));
+            } catch (NumberFormatException ex) {
+                continue;
+            }
+
+            List<SceneAction> values = new ArrayList<>();
+            for (Map<?, ?> actionMap : section.getMapList(tickKey)) {
+                SceneAction action = parseAction(actionMap);
+                if (action == null) {
+                    plugin.getLogger().warning("Skipping invalid action at tick " + tick + " of scene " + sceneId + ": " + actionMap);
+                    continue;
+                }
+                values.add(action);
+            }
+            if (!values.isEmpty()) {
+                actions.put(tick, values);
+            }
+        }
+        return actions;
+    }
+
+    private SceneAction parseAction(Map<?, ?> map) {
+        SceneAction.Type type = SceneAction.Type.fromString(stringValue(map, "type", null));
+        if (type == null) {
+            return null;
+        }
+        try {
+            return switch (type) {
+                case SOUND -> {
+                    String sound = stringValue(map, "sound", "");
+                    yield sound.isBlank() ? null : new SceneAction.PlaySound(sound,
+                            (float) asDouble(map.containsKey("volume") ? map.get("volume") : 1.0D),
+                            (float) asDouble(map.containsKey("pitch") ? map.get("pitch") : 1.0D),
+                            booleanValue(map, "viewerOnly", true));
+                }
+                case TITLE -> new SceneAction.ShowTitle(
+                        CommandTemplate.parse(stringValue(map, "title", "")),
+                        CommandTemplate.parse(stringValue(map, "subtitle", "")),
+                        (int) asDouble(map.containsKey("fadeIn") ? map.get("fadeIn") : 10),
+                        (int) asDouble(map.containsKey("stay") ? map.get("stay") : 70),
+                        (int) asDouble(map.containsKey("fadeOut") ? map.get("fadeOut") : 20));
+                case ACTIONBAR -> new SceneAction.ShowActionBar(CommandTemplate.parse(stringValue(map, "text", "")));
+                case PARTICLE -> {
+                    Particle particle = SceneAction.particleByName(stringValue(map, "particle", null));
+                    yield particle == null ? null : new SceneAction.SpawnParticle(particle,
+                            asDouble(map.containsKey("x") ? map.get("x") : 0.0D),
+                            asDouble(map.containsKey("y") ? map.get("y") : 0.0D),
+                            asDouble(map.containsKey("z") ? map.get("z") : 0.0D),
+                            booleanValue(map, "relative", true),
+                            (int) asDouble(map.containsKey("count") ? map.get("count") : 1),
+                            asDouble(map.containsKey("spread") ? map.get("spread") : 0.0D),
+                            asDouble(map.containsKey("speed") ? map.get("speed") : 0.0D),
+                            booleanValue(map, "viewerOnly", true));
+                }
+                case POTION -> {
+                    PotionEffectType effect = SceneAction.effectByName(stringValue(map, "effect", null));
+                    yield effect == null ? null : new SceneAction.AddPotion(new PotionEffect(effect,
+                            Math.max(1, (int) asDouble(map.containsKey("duration") ? map.get("duration") : 20)),
+                            Math.max(0, (int) asDouble(map.containsKey("amplifier") ? map.get("amplifier") : 0)),
+                            false, booleanValue(map, "particles", false), true));
+                }
+            };
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+
+    private Map<String, Object> serializeAction(SceneAction action) {
+        Map<String, Object> serialized = new LinkedHashMap<>();
+        serialized.put("type", action.type().name().toLowerCase(Locale.ROOT));
+        if (action instanceof SceneAction.PlaySound sound) {
+            serialized.put("sound", sound.sound());
+            serialized.put("volume", sound.volume());
+            serialized.put("pitch", sound.pitch());
+            serialized.put("viewerOnly", sound.viewerOnly());
+        } else if (action instanceof SceneAction.ShowTitle title) {
+            serialized.put("title", title.title().source());
+            serialized.put("subtitle", title.subtitle().source());
+            serialized.put("fadeIn", title.fadeIn());
+            serialized.put("stay", title.stay());
+            serialized.put("fadeOut", title.fadeOut());
+        } else if (action instanceof SceneAction.ShowActionBar actionBar) {
+            serialized.put("text", actionBar.text().source());
+        } else if (action instanceof SceneAction.SpawnParticle particle) {
+            serialized.put("particle", particle.particle().name().toLowerCase(Locale.ROOT));
+            serialized.put("x", particle.x());
+            serialized.put("y", particle.y());
+            serialized.put("z", particle.z());
+            serialized.put("relative", particle.relative());
+            serialized.put("count", particle.count());
+            serialized.put("spread", particle.spread());
+            serialized.put("speed", particle.speed());
+            serialized.put("viewerOnly", particle.viewerOnly());
+        } else if (action instanceof SceneAction.AddPotion potion) {
+            serialized.put("effect", potion.effect().getType().getKey().toString());
+            serialized.put("duration", potion.effect().getDuration());
+            serialized.put("amplifier", potion.effect().getAmplifier());
+            serialized.put("particles", potion.effect().hasParticles());
+        }
+        return serialized;
+    }
+
+    private static String stringValue(Map<?, ?> map, String key, String fallback) {
+        Object value = map.get(key);
+        return value == null ? fallback : String.valueOf(value);
+    }
+
+    private static boolean booleanValue(Map<?, ?> map, String key, boolean fallback) {
+        Object value = map.get(key);
+        return value == null ? fallback : Boolean.parseBoolean(String.valueOf(value));
+    }
+
+    private Map<String, SceneActor> parseActors(ConfigurationSection section, Map<String, ActorTrack> actorTracks) {
         if (section == null) {
             return Map.of();
         }
@@ -746,64 +1677,45 @@ public final class CinematicManager {
             String texture = actorSection.getString("skin.texture");
             String signature = actorSection.getString("skin.signature");
 
-            List<ActorFrame> frames = actorFrames.get(normalizeId(actorId));
-            if (frames == null) {
-                frames = parseActorFrames(actorSection.getMapList("frames"));
+            ActorTrack track = actorTracks.get(normalizeId(actorId));
+            if (track == null) {
+                track = parseActorTrack(actorSection.getMapList("frames"));
             }
 
-            actors.put(normalizeId(actorId), new SceneActor(actorId, displayName, texture, signature, scale, appearAt, disappearAt, frames));
+            actors.put(normalizeId(actorId), new SceneActor(actorId, displayName, texture, signature, scale, appearAt, disappearAt, track));
         }
 
         return actors;
     }
 
-    private List<ActorFrame> parseActorFrames(List<Map<?, ?>> serializedFrames) {
-        List<ActorFrame> frames = new ArrayList<>();
+    private ActorTrack parseActorTrack(List<Map<?, ?>> serializedFrames) {
+        if (serializedFrames.isEmpty()) {
+            return ActorTrack.EMPTY;
+        }
+        ActorTrack.Builder builder = new ActorTrack.Builder(serializedFrames.size());
         for (Map<?, ?> frameMap : serializedFrames) {
-            World world = Bukkit.getWorld(String.valueOf(frameMap.get("world")));
-            if (world == null) {
-                continue;
-            }
             Object tickValue = frameMap.containsKey("tick") ? frameMap.get("tick") : 0;
-            int tick = Math.max(0, (int) asDouble(tickValue));
-            Location loc = new Location(
-                    world,
+            float yaw = (float) asDouble(frameMap.containsKey("yaw") ? frameMap.get("yaw") : 0);
+            builder.add(
+                    Math.max(0, (int) asDouble(tickValue)),
+                    frameMap.get("world") == null ? null : WorldRef.of(String.valueOf(frameMap.get("world"))),
                     asDouble(frameMap.get("x")),
                     asDouble(frameMap.get("y")),
                     asDouble(frameMap.get("z")),
-                    (float) asDouble(frameMap.containsKey("yaw") ? frameMap.get("yaw") : 0),
-                    (float) asDouble(frameMap.containsKey("pitch") ? frameMap.get("pitch") : 0));
-            float headYaw = (float) asDouble(frameMap.containsKey("headYaw") ? frameMap.get("headYaw") : loc.getYaw());
-            String pose = String.valueOf(frameMap.containsKey("pose") ? frameMap.get("pose") : "STANDING");
-            frames.add(new ActorFrame(tick, loc, headYaw, pose));
+                    yaw,
+                    (float) asDouble(frameMap.containsKey("pitch") ? frameMap.get("pitch") : 0),
+                    (float) asDouble(frameMap.containsKey("headYaw") ? frameMap.get("headYaw") : yaw),
+                    String.valueOf(frameMap.containsKey("pose") ? frameMap.get("pose") : "STANDING"));
         }
-        return frames;
+        return builder.build();
     }
 
-    private void writeActorRecordings(YamlConfiguration config, Cinematic cinematic) {
-        config.set("actors", null);
+    private Map<String, ActorTrack> collectActorTracks(Cinematic cinematic) {
+        Map<String, ActorTrack> actorTracks = new LinkedHashMap<>();
         for (SceneActor actor : cinematic.getActors().values()) {
-            String actorPath = "actors." + actor.id();
-            List<Map<String, Object>> frameList = new ArrayList<>();
-            for (ActorFrame frame : actor.frames()) {
-                Location frameLoc = frame.location();
-                if (frameLoc == null || frameLoc.getWorld() == null) {
-                    continue;
-                }
-                Map<String, Object> serialized = new LinkedHashMap<>();
-                serialized.put("tick", frame.tick());
-                serialized.put("world", frameLoc.getWorld().getName());
-                serialized.put("x", frameLoc.getX());
-                serialized.put("y", frameLoc.getY());
-                serialized.put("z", frameLoc.getZ());
-                serialized.put("yaw", frameLoc.getYaw());
-                serialized.put("pitch", frameLoc.getPitch());
-                serialized.put("headYaw", frame.headYaw());
-                serialized.put("pose", frame.pose());
-                frameList.add(serialized);
-            }
-            config.set(actorPath + ".frames", frameList);
+            actorTracks.put(normalizeId(actor.id()), actor.track());
         }
+        return actorTracks;
     }
 
     private Map<Integer, List<String>> parseTickCommands(ConfigurationSection section) {
@@ -863,7 +1775,7 @@ public final class CinematicManager {
             return Cinematic.EndAction.stayAtLastCameraPoint().withGameMode(gameMode);
         }
 
-        World world = Bukkit.getWorld(teleportSection.getString("world", ""));
+        WorldRef world = WorldRef.of(teleportSection.getString("world", ""));
         if (world == null) {
             return Cinematic.EndAction.stayAtLastCameraPoint().withGameMode(gameMode);
         }
@@ -873,7 +1785,8 @@ public final class CinematicManager {
         double z = teleportSection.getDouble("z");
         float yaw = (float) teleportSection.getDouble("yaw");
         float pitch = (float) teleportSection.getDouble("pitch");
-        return Cinematic.EndAction.teleportTo(new Location(world, x, y, z, yaw, pitch)).withGameMode(gameMode);
+        return Cinematic.EndAction.teleportTo(new CinematicPoint(0, world, x, y, z, yaw, pitch, CinematicPoint.InterpolationMode.INSTANT))
+                .withGameMode(gameMode);
     }
 
     private static GameMode parseEndGameMode(String rawValue) {
@@ -890,61 +1803,61 @@ public final class CinematicManager {
     }
 
     public boolean undo(String id) {
-        String key = normalizeId(id);
-        Cinematic current = cinematics.get(key);
-        Deque<Cinematic> undoStack = undoSnapshots.get(key);
-        if (current == null || undoStack == null || undoStack.isEmpty()) {
-            return false;
-        }
-        Cinematic previous = undoStack.pop();
+        warm(id);
+        synchronized (this) {
+            String key = normalizeId(id);
+            Cinematic previous = history.undo(key, resolve(key));
+            if (previous == null) {
+                return false;
+            }
 
-        pushHistory(redoSnapshots, key, current);
-        cinematics.put(key, previous);
-        if (undoStack.isEmpty()) {
-            undoSnapshots.remove(key);
+            cacheStore(key, previous);
+            markDirty(key, DirtyPart.ALL);
+            save();
+            return true;
         }
-        save();
-        return true;
     }
 
     public boolean redo(String id) {
-        String key = normalizeId(id);
-        Cinematic current = cinematics.get(key);
-        Deque<Cinematic> redoStack = redoSnapshots.get(key);
-        if (current == null || redoStack == null || redoStack.isEmpty()) {
-            return false;
-        }
-        Cinematic next = redoStack.pop();
+        warm(id);
+        synchronized (this) {
+            String key = normalizeId(id);
+            Cinematic next = history.redo(key, resolve(key));
+            if (next == null) {
+                return false;
+            }
 
-        pushHistory(undoSnapshots, key, current);
-        cinematics.put(key, next);
-        if (redoStack.isEmpty()) {
-            redoSnapshots.remove(key);
+            cacheStore(key, next);
+            markDirty(key, DirtyPart.ALL);
+            save();
+            return true;
         }
-        save();
-        return true;
     }
 
-    private void rememberUndoSnapshot(String key, Cinematic cinematic) {
-        if (key == null || cinematic == null) {
+    private void commit(String key, Cinematic previous, Cinematic updated, DirtyPart part) {
+        cacheStore(key, updated);
+        if (areEquivalent(previous, updated)) {
             return;
         }
-        Cinematic current = cinematics.get(key);
-        if (current != null && areEquivalent(current, cinematic)) {
-            return;
+        history.recordEdit(key, previous, updated);
+        markDirty(key, part);
+    }
+
+    private void amend(String key, Cinematic previous, Cinematic updated, DirtyPart part) {
+        cacheStore(key, updated);
+        if (!areEquivalent(previous, updated)) {
+            markDirty(key, part);
         }
-        pushHistory(undoSnapshots, key, cinematic);
-        redoSnapshots.remove(key);
     }
 
-    private void pushHistory(Map<String, Deque<Cinematic>> history, String key, Cinematic cinematic) {
-        Deque<Cinematic> stack = history.computeIfAbsent(key, ignored -> new ArrayDeque<>());
-        if (!stack.isEmpty() && areEquivalent(stack.peek(), cinematic)) {
-            return;
+    private void markDirty(String key, DirtyPart part) {
+        DirtyState state = dirtyStates.computeIfAbsent(key, ignored -> new DirtyState());
+        state.contentVersion++;
+        if (part != DirtyPart.RECORDINGS) {
+            state.sceneVersion = state.contentVersion;
         }
-        stack.push(cinematic);
-        while (stack.size() > HISTORY_LIMIT) {
-            stack.removeLast();
+        if (part != DirtyPart.SCENE) {
+            state.recordingsVersion = state.contentVersion;
         }
     }
 
@@ -952,22 +1865,55 @@ public final class CinematicManager {
         if (a == b) {
             return true;
         }
-        if (a == null || b == null) {
+        if (a == null || b == null || a.contentHash() != b.contentHash()) {
             return false;
         }
+        // Same hash: almost always a no-op edit, the full compare only rules out a collision.
         return a.getId().equalsIgnoreCase(b.getId())
                 && a.getDurationTicks() == b.getDurationTicks()
                 && a.getPoints().equals(b.getPoints())
                 && a.getTickCommands().equals(b.getTickCommands())
+                && a.getTickActions().equals(b.getTickActions())
                 && a.getActors().equals(b.getActors())
                 && a.shouldHidePlayersDuringPlayback() == b.shouldHidePlayersDuringPlayback()
+                && a.getCameraMode() == b.getCameraMode()
+                && java.util.Objects.equals(a.getActorLod(), b.getActorLod())
                 && java.util.Objects.equals(a.getAudioTrack(), b.getAudioTrack())
                 && a.getSubtitleCues().equals(b.getSubtitleCues())
                 && java.util.Objects.equals(a.getEndAction().type(), b.getEndAction().type())
-                && java.util.Objects.equals(a.getEndAction().teleportLocation(), b.getEndAction().teleportLocation())
+                && java.util.Objects.equals(a.getEndAction().teleportTarget(), b.getEndAction().teleportTarget())
                 && java.util.Objects.equals(a.getEndAction().gameMode(), b.getEndAction().gameMode());
     }
 
+    public record HistoryStats(int entries, long retainedBytes, long evictions) {
+    }
+
+    public record CacheStats(int indexed, int materialized, long cachedBytes, long budgetBytes,
+                             long hits, long loads, long evictions) {
+    }
+
+    private record SceneLoadResult(File file, Cinematic cinematic, boolean legacyRecordings, long parseNanos,
+                                   SceneIndex.FileStamp sceneStamp, SceneIndex.FileStamp recordingStamp) {
+    }
+
+    private enum DirtyPart {
+        SCENE,
+        RECORDINGS,
+        ALL
+    }
+
+    private static final class DirtyState {
+        private long contentVersion;
+        private long sceneVersion;
+        private long savedSceneVersion;
+        private long recordingsVersion;
+        private long savedRecordingsVersion;
+
+        private boolean isDirty() {
+            return sceneVersion != savedSceneVersion || recordingsVersion != savedRecordingsVersion;
+        }
+    }
+
     private String normalizeId(String id) {
         return id.toLowerCase(Locale.ROOT);
     }
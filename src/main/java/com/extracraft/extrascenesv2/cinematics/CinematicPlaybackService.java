@@ -1,8 +1,13 @@
 package com.extracraft.extrascenesv2.cinematics;
 
 import com.extracraft.extrascenesv2.audio.OpenAudioCommandService;
+import com.extracraft.extrascenesv2.placeholders.CommandTemplate;
 import com.extracraft.extrascenesv2.placeholders.PlaceholderResolver;
-import java.util.HashMap;
+import com.extracraft.extrascenesv2.scheduler.SceneScheduler;
+import com.extracraft.extrascenesv2.scheduler.SceneTask;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
@@ -10,6 +15,10 @@ import java.util.Set;
 import java.util.Map;
 import java.util.UUID;
 import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 import org.bukkit.Bukkit;
 import org.bukkit.GameMode;
 import org.bukkit.Location;
@@ -25,7 +34,6 @@ import org.bukkit.inventory.ItemFlag;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
 import org.bukkit.plugin.java.JavaPlugin;
-import org.bukkit.scheduler.BukkitTask;
 
 public final class CinematicPlaybackService {
 
@@ -33,14 +41,32 @@ public final class CinematicPlaybackService {
             NamespacedKey.fromString("extrascenesv2:cinematic_pumpkin_speed_penalty");
 
     private final JavaPlugin plugin;
-    private final Map<UUID, PlaybackState> states = new HashMap<>();
-    private final Map<UUID, Set<String>> playedCinematics = new HashMap<>();
+    private final SceneScheduler scheduler;
+    private final Map<UUID, PlaybackState> states = new ConcurrentHashMap<>();
+    private final Map<String, Screening> screenings = new ConcurrentHashMap<>();
+    private final Map<UUID, Set<String>> playedCinematics = new ConcurrentHashMap<>();
     private final PlaceholderResolver placeholderResolver;
     private final ActorPlaybackService actorPlaybackService;
     private final OpenAudioCommandService openAudioCommandService;
-    private final Map<UUID, String> subtitleLine1 = new HashMap<>();
-    private final Map<UUID, String> subtitleLine2 = new HashMap<>();
-    private static final double BEZIER_TENSION = 0.82;
+    private final SceneActionService sceneActionService;
+    private final VirtualCameraService virtualCameraService;
+    private final ChunkPreloadService chunkPreloadService;
+    private final int prerollMaxTicks;
+    private final Map<UUID, PendingStart> pendingStarts = new ConcurrentHashMap<>();
+    private final double packetCameraResyncSquared;
+    private final double sparseToleranceBlocks;
+    private final double sparseToleranceDegrees;
+    private final int sparseMaxIntervalTicks;
+    private final Map<String, CameraCounter> cameraCounters = new ConcurrentHashMap<>();
+    private final Map<UUID, String> subtitleLine1 = new ConcurrentHashMap<>();
+    private final Map<UUID, String> subtitleLine2 = new ConcurrentHashMap<>();
+    private static final Phase[] PHASES = Phase.values();
+    private final List<PlaybackState> frame = new ArrayList<>();
+    private SceneTask driverTask;
+    private long driverTicks;
+    private long driverTotalNanos;
+    private long driverLastNanos;
+    private long driverMaxNanos;
 
     public CinematicPlaybackService(JavaPlugin plugin) {
         this(plugin, new PlaceholderResolver(), new ActorPlaybackService(plugin));
@@ -53,9 +79,19 @@ public final class CinematicPlaybackService {
     public CinematicPlaybackService(JavaPlugin plugin, PlaceholderResolver placeholderResolver,
                                     ActorPlaybackService actorPlaybackService, OpenAudioCommandService openAudioCommandService) {
         this.plugin = plugin;
+        this.scheduler = new SceneScheduler(plugin);
         this.placeholderResolver = placeholderResolver;
         this.actorPlaybackService = actorPlaybackService;
         this.openAudioCommandService = openAudioCommandService;
+        this.sceneActionService = new SceneActionService(plugin, placeholderResolver);
+        this.virtualCameraService = new VirtualCameraService(plugin);
+        this.chunkPreloadService = new ChunkPreloadService(plugin);
+        this.prerollMaxTicks = Math.max(0, plugin.getConfig().getInt("preload.preroll-max-ticks", 0));
+        double resync = Math.max(1.0D, plugin.getConfig().getDouble("camera.packet-resync-blocks", 16.0D));
+        this.packetCameraResyncSquared = resync * resync;
+        this.sparseToleranceBlocks = Math.max(0.0D, plugin.getConfig().getDouble("camera.sparse-tolerance-blocks", 0.03D));
+        this.sparseToleranceDegrees = Math.max(0.0D, plugin.getConfig().getDouble("camera.sparse-tolerance-degrees", 0.5D));
+        this.sparseMaxIntervalTicks = plugin.getConfig().getInt("camera.sparse-max-interval-ticks", 40);
     }
 
     public boolean isInCinematic(Player player) {
@@ -67,6 +103,9 @@ public final class CinematicPlaybackService {
         if (cinematic.isEmpty()) {
             return false;
         }
+        if (handOff(player, () -> play(player, cinematic, startTick, endTick))) {
+            return true;
+        }
 
         int safeStart = Math.max(0, startTick);
         int maxEnd = Math.max(0, cinematic.getDurationTicks());
@@ -74,18 +113,218 @@ public final class CinematicPlaybackService {
 
         stop(player);
 
-        boolean fullPlayback = safeStart == 0 && safeEnd >= maxEnd;
-        PlaybackState state = new PlaybackState(cinematic, safeStart, safeEnd, fullPlayback, player.getLocation(), player.getGameMode());
+        Location startLocation = player.getLocation();
+        ChunkPreloadService.Window window = chunkPreloadService.open(cinematic, safeStart, safeEnd,
+                endTarget(cinematic, startLocation));
+        if (window != null && prerollMaxTicks > 0 && !window.ready().isDone()) {
+            // Pre-roll: start once the first window is loaded, or after preroll-max-ticks at the latest.
+            PendingStart pending = new PendingStart(cinematic, safeStart, safeEnd, startLocation, window);
+            pendingStarts.put(player.getUniqueId(), pending);
+            // Chunk loads complete on the chunk's own region under Folia.
+            window.ready().thenRun(() -> {
+                if (!handOff(player, () -> beginPending(player, pending))) {
+                    beginPending(player, pending);
+                }
+            });
+            pending.timeout = scheduler.runForLater(player, () -> beginPending(player, pending), null, prerollMaxTicks);
+            return true;
+        }
+        begin(player, cinematic, safeStart, safeEnd, startLocation, window);
+        return true;
+    }
+
+    private void beginPending(Player player, PendingStart pending) {
+        if (!pendingStarts.remove(player.getUniqueId(), pending)) {
+            return;
+        }
+        if (pending.timeout != null) {
+            pending.timeout.cancel();
+        }
+        if (!player.isOnline()) {
+            pending.window.close();
+            return;
+        }
+        begin(player, pending.cinematic, pending.startTick, pending.endTick, pending.startLocation, pending.window);
+    }
+
+    private void cancelPending(UUID playerId) {
+        PendingStart pending = pendingStarts.remove(playerId);
+        if (pending != null) {
+            if (pending.timeout != null) {
+                pending.timeout.cancel();
+            }
+            pending.window.close();
+        }
+    }
+
+    private void begin(Player player, Cinematic cinematic, int startTick, int endTick, Location startLocation,
+                       ChunkPreloadService.Window window) {
+        boolean fullPlayback = startTick == 0 && endTick >= Math.max(0, cinematic.getDurationTicks());
+        PlaybackState state = new PlaybackState(player, cinematic, startTick, endTick, fullPlayback, startLocation, player.getGameMode());
+        state.chunkWindow = window;
+        states.put(player.getUniqueId(), state);
+        subtitleLine1.put(player.getUniqueId(), "");
+        subtitleLine2.put(player.getUniqueId(), "");
+        startRunning(player, state);
+        actorPlaybackService.start(player, state.cinematic, state.currentTick);
+        startAudio(player, state);
+        runLifecycleCommands(player, state, state.cinematic.getTimeline().startTemplates(), state.currentTick);
+    }
+
+    /**
+     * A session may only be touched from the thread that owns its viewer: always the main thread on Paper, the
+     * viewer's region on Folia. Returns true when {@code action} had to be handed to that thread instead.
+     */
+    private boolean handOff(Player player, Runnable action) {
+        return handOff(player, action, null);
+    }
+
+    /**
+     * Same as {@link #handOff(Player, Runnable)}; {@code retired} runs instead of {@code action} when the player
+     * leaves before their region gets to it.
+     */
+    private boolean handOff(Player player, Runnable action, Runnable retired) {
+        if (scheduler.owns(player)) {
+            return false;
+        }
+        scheduler.runFor(player, action, retired);
+        return true;
+    }
+
+    /**
+     * Where the end action sends the viewer, so the preload can have it ready before the scene ends.
+     */
+    private static Location endTarget(Cinematic cinematic, Location startLocation) {
+        Cinematic.EndAction endAction = cinematic.getEndAction();
+        return switch (endAction.type()) {
+            case RETURN_TO_START -> startLocation;
+            case TELEPORT -> endAction.teleportLocation();
+            default -> null;
+        };
+    }
+
+    /**
+     * Starts one shared playback of {@code cinematic} for every viewer. The screening owns the clock, timeline
+     * cursor and camera sample; viewers only receive the result. A running screening of the same scene is stopped
+     * first. Returns how many viewers joined or were handed off to their region to join; a screening whose
+     * handed-off viewers all fail to join is dropped once the last handoff resolves.
+     */
+    public int startScreening(Cinematic cinematic, Collection<? extends Player> viewers) {
+        if (cinematic.isEmpty()) {
+            return 0;
+        }
+
+        String screeningId = normalizeId(cinematic.getId());
+        stopScreening(screeningId);
+        Screening screening = new Screening(screeningId, cinematic);
+        screening.chunkWindow = chunkPreloadService.open(cinematic, 0, screening.endTick,
+                cinematic.getEndAction().type() == Cinematic.EndActionType.TELEPORT
+                        ? cinematic.getEndAction().teleportLocation()
+                        : null);
+        screenings.put(screeningId, screening);
+        int joined = 0;
+        for (Player viewer : viewers) {
+            if (viewer == null || !viewer.isOnline()) {
+                continue;
+            }
+            screening.pendingJoins.incrementAndGet();
+            if (handOff(viewer, () -> {
+                try {
+                    if (screenings.get(screeningId) == screening && viewer.isOnline()) {
+                        addViewer(screening, viewer);
+                    }
+                } finally {
+                    joinResolved(screening);
+                }
+            }, () -> joinResolved(screening))) {
+                joined++;
+                continue;
+            }
+            screening.pendingJoins.decrementAndGet();
+            if (addViewer(screening, viewer)) {
+                joined++;
+            }
+        }
+        // Releases the hold the screening started with; drops it now if nobody joined and no handoff is pending.
+        joinResolved(screening);
+        return joined;
+    }
+
+    private void joinResolved(Screening screening) {
+        if (screening.pendingJoins.decrementAndGet() == 0 && screening.viewers.isEmpty()
+                && screenings.remove(screening.id, screening)) {
+            closeWindow(screening);
+        }
+    }
+
+    /**
+     * Adds a late viewer to a running screening at its current tick.
+     */
+    public boolean joinScreening(String screeningId, Player player) {
+        Screening screening = screeningId == null ? null : screenings.get(normalizeId(screeningId));
+        if (screening == null) {
+            return false;
+        }
+        PlaybackState current = states.get(player.getUniqueId());
+        if (current != null && current.screening == screening) {
+            return false;
+        }
+        if (handOff(player, () -> joinScreening(screeningId, player))) {
+            return true;
+        }
+        return addViewer(screening, player);
+    }
+
+    public boolean stopScreening(String screeningId) {
+        Screening screening = screeningId == null ? null : screenings.remove(normalizeId(screeningId));
+        if (screening == null) {
+            return false;
+        }
+        for (PlaybackState state : screening.viewers) {
+            stop(state.player, true);
+        }
+        closeWindow(screening);
+        return true;
+    }
+
+    public String getScreeningId(UUID playerId) {
+        PlaybackState state = playerId == null ? null : states.get(playerId);
+        return state == null || state.screening == null ? "" : state.screening.id;
+    }
+
+    public List<ScreeningInfo> getScreenings() {
+        List<ScreeningInfo> result = new ArrayList<>();
+        for (Screening screening : screenings.values()) {
+            result.add(new ScreeningInfo(screening.id, screening.cinematic.getId(),
+                    screening.currentTick, screening.endTick, screening.viewers.size()));
+        }
+        return result;
+    }
+
+    private boolean addViewer(Screening screening, Player player) {
+        stop(player);
+        PlaybackState state = new PlaybackState(player, screening, player.getLocation(), player.getGameMode());
+        screening.viewers.add(state);
         states.put(player.getUniqueId(), state);
         subtitleLine1.put(player.getUniqueId(), "");
         subtitleLine2.put(player.getUniqueId(), "");
         startRunning(player, state);
         actorPlaybackService.start(player, state.cinematic, state.currentTick);
         startAudio(player, state);
-        runLifecycleCommands(player, state, state.cinematic.getStartCommands(), state.currentTick);
+        runLifecycleCommands(player, state, state.cinematic.getTimeline().startTemplates(), state.currentTick);
         return true;
     }
 
+    private void leaveScreening(PlaybackState state) {
+        Screening screening = state.screening;
+        if (screening == null || !screening.viewers.remove(state) || !screening.viewers.isEmpty()
+                || screening.pendingJoins.get() > 0) {
+            return;
+        }
+        closeWindow(screening);
+        screenings.remove(screening.id, screening);
+    }
+
     public boolean hasPlayerPlayed(String cinematicId, UUID playerId) {
         if (cinematicId == null || cinematicId.isBlank() || playerId == null) {
             return false;
@@ -118,7 +357,7 @@ public final class CinematicPlaybackService {
     }
 
     public String getCurrentSceneId(UUID playerId) {
-        PlaybackState state = states.get(playerId);
+        PlaybackState state = playerId == null ? null : states.get(playerId);
         if (state == null) {
             return "";
         }
@@ -126,7 +365,7 @@ public final class CinematicPlaybackService {
     }
 
     public int getCurrentTick(UUID playerId) {
-        PlaybackState state = states.get(playerId);
+        PlaybackState state = playerId == null ? null : states.get(playerId);
         if (state == null) {
             return 0;
         }
@@ -134,7 +373,7 @@ public final class CinematicPlaybackService {
     }
 
     public int getCurrentEndTick(UUID playerId) {
-        PlaybackState state = states.get(playerId);
+        PlaybackState state = playerId == null ? null : states.get(playerId);
         if (state == null) {
             return 0;
         }
@@ -174,17 +413,27 @@ public final class CinematicPlaybackService {
     }
 
     public boolean stop(Player player, boolean runEndCommands) {
+        if (handOff(player, () -> stop(player, runEndCommands))) {
+            return states.containsKey(player.getUniqueId()) || pendingStarts.containsKey(player.getUniqueId());
+        }
+        boolean pending = pendingStarts.containsKey(player.getUniqueId());
+        cancelPending(player.getUniqueId());
         PlaybackState state = states.remove(player.getUniqueId());
         if (state == null) {
-            return false;
+            return pending;
         }
 
         if (runEndCommands) {
-            runLifecycleCommands(player, state, state.cinematic.getEndCommands(), Math.max(0, state.currentTick));
+            runLifecycleCommands(player, state, state.cinematic.getTimeline().endTemplates(), Math.max(0, state.currentTick));
         }
 
+        leaveScreening(state);
         cancelSeekTransition(state);
-        cancelTask(state);
+        closeWindow(state);
+        cancelSessionDriver(state);
+        state.running = false;
+        state.rendering = false;
+        releaseCamera(player, state);
         restoreHiddenPlayers(player, state);
         clearFakeHelmet(player);
         restoreGameMode(player, state);
@@ -196,18 +445,23 @@ public final class CinematicPlaybackService {
     }
 
     public boolean pause(Player player) {
+        if (handOff(player, () -> pause(player))) {
+            return states.containsKey(player.getUniqueId());
+        }
         PlaybackState state = states.get(player.getUniqueId());
-        if (state == null || !state.running) {
+        if (state == null || !state.running || state.screening != null) {
             return false;
         }
         cancelSeekTransition(state);
-        cancelTask(state);
         state.running = false;
         stopAudio(player, state);
         return true;
     }
 
     public boolean resume(Player player) {
+        if (handOff(player, () -> resume(player))) {
+            return states.containsKey(player.getUniqueId());
+        }
         PlaybackState state = states.get(player.getUniqueId());
         if (state == null || state.running) {
             return false;
@@ -215,13 +469,16 @@ public final class CinematicPlaybackService {
         startRunning(player, state);
         actorPlaybackService.start(player, state.cinematic, state.currentTick);
         startAudio(player, state);
-        runLifecycleCommands(player, state, state.cinematic.getStartCommands(), state.currentTick);
+        runLifecycleCommands(player, state, state.cinematic.getTimeline().startTemplates(), state.currentTick);
         return true;
     }
 
     public boolean seek(Player player, int targetTick) {
+        if (handOff(player, () -> seek(player, targetTick))) {
+            return states.containsKey(player.getUniqueId());
+        }
         PlaybackState state = states.get(player.getUniqueId());
-        if (state == null) {
+        if (state == null || state.screening != null) {
             return false;
         }
 
@@ -245,6 +502,9 @@ public final class CinematicPlaybackService {
     }
 
     public void stopAll() {
+        for (UUID playerId : pendingStarts.keySet().toArray(UUID[]::new)) {
+            cancelPending(playerId);
+        }
         for (UUID playerId : states.keySet().toArray(UUID[]::new)) {
             PlaybackState state = states.remove(playerId);
             if (state == null) {
@@ -252,9 +512,12 @@ public final class CinematicPlaybackService {
             }
 
             cancelSeekTransition(state);
-            cancelTask(state);
+            cancelSessionDriver(state);
+            state.running = false;
+            state.rendering = false;
             Player player = Bukkit.getPlayer(playerId);
             if (player != null && player.isOnline()) {
+                releaseCamera(player, state);
                 restoreHiddenPlayers(player, state);
                 clearFakeHelmet(player);
                 restoreGameMode(player, state);
@@ -263,23 +526,38 @@ public final class CinematicPlaybackService {
                 subtitleLine2.remove(playerId);
                 stopAudio(player, state);
             }
+            virtualCameraService.forget(playerId);
         }
+        screenings.clear();
+        chunkPreloadService.releaseAll();
+        cancelDriver();
     }
 
     public void handleDisconnect(Player player) {
+        cancelPending(player.getUniqueId());
         PlaybackState state = states.get(player.getUniqueId());
         if (state == null) {
             return;
         }
 
-        cancelTask(state);
         cancelSeekTransition(state);
+        closeWindow(state);
+        cancelSessionDriver(state);
         state.running = false;
+        virtualCameraService.forget(player.getUniqueId());
+        state.serverAnchor.setWorld(null);
         restoreHiddenPlayers(player, state);
         clearFakeHelmet(player);
         restoreGameMode(player, state);
         actorPlaybackService.cleanup(player);
         stopAudio(player, state);
+        if (state.screening != null) {
+            // A screening keeps running without the viewer; rejoining goes through joinScreening.
+            states.remove(player.getUniqueId());
+            leaveScreening(state);
+            subtitleLine1.remove(player.getUniqueId());
+            subtitleLine2.remove(player.getUniqueId());
+        }
     }
 
     public void handleJoin(Player player) {
@@ -288,6 +566,9 @@ public final class CinematicPlaybackService {
             return;
         }
 
+        state.player = player;
+        state.chunkWindow = chunkPreloadService.open(state.cinematic, state.currentTick, state.endTick,
+                endTarget(state.cinematic, state.startLocation));
         subtitleLine1.put(player.getUniqueId(), "");
         subtitleLine2.put(player.getUniqueId(), "");
         startRunning(player, state);
@@ -295,12 +576,69 @@ public final class CinematicPlaybackService {
         startAudio(player, state);
     }
 
+    public DriverStats getDriverStats() {
+        int running = 0;
+        PlaybackState slowest = null;
+        for (PlaybackState state : states.values()) {
+            if (state.running || state.seekSteps > 0) {
+                running++;
+            }
+            if (slowest == null || state.lastFrameNanos > slowest.lastFrameNanos) {
+                slowest = state;
+            }
+        }
+        return new DriverStats(
+                states.size(),
+                running,
+                driverLastNanos / 1_000_000.0D,
+                driverTicks == 0L ? 0.0D : driverTotalNanos / (double) driverTicks / 1_000_000.0D,
+                driverMaxNanos / 1_000_000.0D,
+                slowest == null ? "" : slowest.player.getName() + "/" + slowest.cinematic.getId(),
+                slowest == null ? 0.0D : slowest.lastFrameNanos / 1_000_000.0D);
+    }
+
     private void startRunning(Player player, PlaybackState state) {
         hideOtherPlayersIfNeeded(player, state);
         applyFakePumpkin(player);
         applySpectatorMode(player, state);
         state.running = true;
-        state.task = Bukkit.getScheduler().runTaskTimer(plugin, () -> tick(player), 0L, 1L);
+        ensureDriver(state);
+    }
+
+    /**
+     * Paper runs every session from one global driver. On Folia each session runs on its viewer's region and the
+     * global driver only keeps screening clocks.
+     */
+    private void ensureDriver(PlaybackState state) {
+        if (SceneScheduler.isFolia()) {
+            if (state.driverTask == null) {
+                state.driverTask = scheduler.runForTimer(state.player, () -> driveSession(state), null, 1L, 1L);
+            }
+            if (state.screening == null) {
+                return;
+            }
+        }
+        ensureGlobalDriver();
+    }
+
+    private synchronized void ensureGlobalDriver() {
+        if (driverTask == null) {
+            driverTask = scheduler.runGlobalTimer(this::driveTick, 0L, 1L);
+        }
+    }
+
+    private synchronized void cancelDriver() {
+        if (driverTask != null) {
+            driverTask.cancel();
+            driverTask = null;
+        }
+    }
+
+    private static void cancelSessionDriver(PlaybackState state) {
+        if (state.driverTask != null) {
+            state.driverTask.cancel();
+            state.driverTask = null;
+        }
     }
 
     private void hideOtherPlayersIfNeeded(Player viewer, PlaybackState state) {
@@ -334,60 +672,403 @@ public final class CinematicPlaybackService {
         state.hiddenPlayers.clear();
     }
 
-    private void tick(Player player) {
-        PlaybackState state = states.get(player.getUniqueId());
-        if (state == null || !state.running) {
+    /**
+     * Advances every session by one server tick. Sessions are first moved to the tick they render, then each
+     * phase runs for all sessions before the next phase starts, so commands always see the camera of the same
+     * tick and subtitles always follow actors.
+     */
+    private void driveTick() {
+        if (SceneScheduler.isFolia() ? screenings.isEmpty() : states.isEmpty()) {
+            cancelDriver();
             return;
         }
 
+        long started = System.nanoTime();
+        for (Screening screening : screenings.values()) {
+            screening.rendering = screening.currentTick <= screening.endTick;
+        }
+        if (!SceneScheduler.isFolia()) {
+            driveSessions();
+        }
+        for (Screening screening : screenings.values()) {
+            if (screening.rendering) {
+                ChunkPreloadService.Window window = screening.chunkWindow;
+                if (window != null) {
+                    window.advance(screening.currentTick);
+                }
+                screening.currentTick++;
+            }
+        }
+
+        long elapsed = System.nanoTime() - started;
+        driverTicks++;
+        driverTotalNanos += elapsed;
+        driverLastNanos = elapsed;
+        driverMaxNanos = Math.max(driverMaxNanos, elapsed);
+    }
+
+    private void driveSessions() {
+        frame.clear();
+        frame.addAll(states.values());
+        for (PlaybackState state : frame) {
+            state.frameNanos = 0L;
+            state.rendering = false;
+            try {
+                prepareFrame(state);
+            } catch (Exception ex) {
+                fail(state, ex);
+            }
+        }
+
+        for (Phase phase : PHASES) {
+            for (PlaybackState state : frame) {
+                if (!state.rendering) {
+                    continue;
+                }
+                long phaseStarted = System.nanoTime();
+                try {
+                    state.rendering = runPhase(phase, state, state.renderTick, state.executeTickCommands);
+                } catch (Exception ex) {
+                    fail(state, ex);
+                }
+                state.frameNanos += System.nanoTime() - phaseStarted;
+            }
+        }
+
+        for (PlaybackState state : frame) {
+            finishFrame(state);
+            state.lastFrameNanos = state.frameNanos;
+        }
+        frame.clear();
+    }
+
+    /**
+     * Folia: one session's frame on its viewer's region. Phases keep their order within the session; sessions in
+     * different regions run in parallel, so there is no phase ordering across them.
+     */
+    private void driveSession(PlaybackState state) {
+        if (states.get(state.player.getUniqueId()) != state) {
+            cancelSessionDriver(state);
+            return;
+        }
+        long started = System.nanoTime();
+        state.rendering = false;
         try {
-            if (!player.isOnline()) {
+            prepareFrame(state);
+            for (Phase phase : PHASES) {
+                if (!state.rendering) {
+                    break;
+                }
+                state.rendering = runPhase(phase, state, state.renderTick, state.executeTickCommands);
+            }
+        } catch (Exception ex) {
+            fail(state, ex);
+        }
+        finishFrame(state);
+        state.lastFrameNanos = System.nanoTime() - started;
+    }
+
+    private static void finishFrame(PlaybackState state) {
+        if (!state.rendering || state.screening != null) {
+            return;
+        }
+        if (state.chunkWindow != null) {
+            state.chunkWindow.advance(state.renderTick);
+        }
+        if (state.executeTickCommands) {
+            state.currentTick++;
+        }
+    }
+
+    private void prepareFrame(PlaybackState state) {
+        Player player = state.player;
+        if (states.get(player.getUniqueId()) != state) {
+            return;
+        }
+        if (!player.isOnline()) {
+            if (state.running || state.seekSteps > 0) {
                 handleDisconnect(player);
-                return;
             }
+            return;
+        }
 
-            if (state.currentTick > state.endTick) {
+        if (state.screening != null) {
+            Screening screening = state.screening;
+            int tick = screening.currentTick;
+            if (SceneScheduler.isFolia() ? tick > screening.endTick : !screening.rendering) {
                 finishPlayback(player, state);
                 return;
             }
+            if (tick == state.screeningTick) {
+                // On Folia the clock runs on the global region and may not have moved since this viewer's last frame.
+                return;
+            }
+            state.screeningTick = tick;
+            state.currentTick = tick;
+            state.renderTick = tick;
+            state.executeTickCommands = true;
+            state.rendering = true;
+            return;
+        }
 
-            renderAtTick(player, state, state.currentTick, true);
-            state.currentTick++;
-        } catch (Exception ex) {
-            plugin.getLogger().severe("Scene error for " + player.getName() + ": " + ex.getMessage());
-            stop(player);
+        if (state.seekSteps > 0) {
+            state.seekStep++;
+            int renderTick;
+            if (state.seekStep > state.seekSteps) {
+                renderTick = state.seekToTick;
+                state.seekSteps = 0;
+            } else {
+                double smoothT = CameraTrack.smootherStep(state.seekStep / (double) state.seekSteps);
+                renderTick = (int) Math.round(state.seekFromTick + ((state.seekToTick - state.seekFromTick) * smoothT));
+                renderTick = Math.max(0, Math.min(renderTick, state.endTick));
+            }
+            state.currentTick = renderTick;
+            state.renderTick = renderTick;
+            state.executeTickCommands = false;
+            state.rendering = true;
+            return;
+        }
+
+        if (!state.running) {
+            return;
+        }
+        if (state.currentTick > state.endTick) {
+            finishPlayback(player, state);
+            return;
+        }
+        state.renderTick = state.currentTick;
+        state.executeTickCommands = true;
+        state.rendering = true;
+    }
+
+    private void fail(PlaybackState state, Exception ex) {
+        state.rendering = false;
+        plugin.getLogger().severe("Scene error for " + state.player.getName() + ": " + ex.getMessage());
+        if (states.get(state.player.getUniqueId()) == state) {
+            stop(state.player);
         }
     }
 
     private void renderAtTick(Player player, PlaybackState state, int tick, boolean executeTickCommands) {
-        Location destination = interpolateLocation(state.cinematic, tick);
-        if (destination == null || destination.getWorld() == null) {
-            stop(player);
+        for (Phase phase : PHASES) {
+            if (!runPhase(phase, state, tick, executeTickCommands)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Runs one phase for a session and returns false once the session has been stopped.
+     */
+    private boolean runPhase(Phase phase, PlaybackState state, int tick, boolean executeTickCommands) {
+        Player player = state.player;
+        switch (phase) {
+            case CAMERA -> {
+                Location camera = cameraAt(state, tick);
+                if (camera == null) {
+                    stop(player);
+                    return false;
+                }
+                moveCamera(player, state, camera, tick);
+            }
+            case TICK_COMMANDS -> {
+                if (executeTickCommands) {
+                    runTickCommands(player, state);
+                }
+            }
+            case ACTIONS -> {
+                if (executeTickCommands) {
+                    runTickActions(player, state);
+                }
+            }
+            case ACTORS -> {
+                state.cursor.moveTo(tick);
+                actorPlaybackService.tick(player, state.cursor.actors(), tick, null, state.lastCamera, state.cinematic.getActorLod());
+            }
+            case SUBTITLES -> updateSubtitles(player, state, tick);
+        }
+        return states.get(player.getUniqueId()) == state;
+    }
+
+    /**
+     * Camera pose for {@code tick}; screening viewers share one sample per tick.
+     */
+    private Location cameraAt(PlaybackState state, int tick) {
+        Screening screening = state.screening;
+        if (screening == null || SceneScheduler.isFolia()) {
+            CameraTrack track = state.cinematic.getCameraTrack();
+            return track != null && track.apply(tick, state.camera) ? state.camera : null;
+        }
+        if (screening.cameraTick != tick) {
+            CameraTrack track = screening.cinematic.getCameraTrack();
+            screening.cameraValid = track != null && track.apply(tick, screening.camera);
+            screening.cameraTick = tick;
+        }
+        return screening.cameraValid ? screening.camera : null;
+    }
+
+    private void moveCamera(Player player, PlaybackState state, Location camera, int tick) {
+        state.lastCamera = camera;
+        CameraCounter counter = cameraCounter(state);
+        counter.ticks.increment();
+        if (!state.packetCamera) {
+            scheduler.teleport(player, camera);
+            counter.packets.increment();
             return;
         }
 
-        player.teleport(destination);
-        if (executeTickCommands) {
-            runTickCommands(player, state);
+        int sent = state.sparseCamera ? moveSparseCamera(player, state, camera, tick)
+                : virtualCameraService.move(player, camera) ? 1 : -1;
+        if (sent < 0) {
+            // No anchor yet, or the camera changed world: spawn a fresh one at the current pose.
+            if (!virtualCameraService.attach(player, camera)) {
+                // Fall back to the teleport path for the rest of this session.
+                state.packetCamera = false;
+                scheduler.teleport(player, camera);
+                counter.packets.increment();
+                return;
+            }
+            counter.packets.add(2L);
+            state.cameraTick = Integer.MIN_VALUE;
+            sent = state.sparseCamera ? moveSparseCamera(player, state, camera, tick) : 0;
+            if (sent < 0) {
+                // Interpolated moves keep failing on a fresh anchor: continue with per-tick packets, after putting the
+                // display's teleport duration back to 0 in case the failed attempt already changed it.
+                state.sparseCamera = false;
+                sent = virtualCameraService.moveInterpolated(player, camera, 0);
+            }
+        }
+        counter.packets.add(sent);
+
+        // The server position only follows coarsely, enough to keep the chunks around the camera loaded.
+        Location anchor = state.serverAnchor;
+        if (anchor.getWorld() != camera.getWorld() || anchor.distanceSquared(camera) > packetCameraResyncSquared) {
+            scheduler.teleport(player, camera);
+            anchor.setWorld(camera.getWorld());
+            anchor.setX(camera.getX());
+            anchor.setY(camera.getY());
+            anchor.setZ(camera.getZ());
+        }
+    }
+
+    /**
+     * Sends the pose of the next sparse key tick, to be reached by client interpolation, on key ticks and after any
+     * jump in time. Returns the packets sent, 0 when this tick needs nothing, or -1 when the anchor must be rebuilt.
+     */
+    private int moveSparseCamera(Player player, PlaybackState state, Location camera, int tick) {
+        boolean contiguous = tick == state.cameraTick + 1;
+        state.cameraTick = tick;
+        CameraTrack track = state.cinematic.getCameraTrack();
+        int[] keys = track.sparseKeyTicks(sparseToleranceBlocks, sparseToleranceDegrees, sparseMaxIntervalTicks);
+        int index = Arrays.binarySearch(keys, tick);
+        if (contiguous && index < 0) {
+            return 0;
         }
-        actorPlaybackService.tick(player, state.cinematic, tick);
-        updateSubtitles(player, state);
+
+        int next = index >= 0 ? index + 1 : -index - 1;
+        int targetTick = next < keys.length ? keys[next] : tick;
+        Location target = state.sparseTarget;
+        if (targetTick == tick || !track.apply(targetTick, target) || target.getWorld() != camera.getWorld()) {
+            target = camera;
+            targetTick = tick + 1;
+        }
+        int sent = virtualCameraService.moveInterpolated(player, target, targetTick - tick);
+        return sent == 0 ? -1 : sent;
     }
 
-    private void runTickCommands(Player player, PlaybackState state) {
-        List<String> commands = state.cinematic.getTickCommands().get(state.currentTick);
-        if (commands == null || commands.isEmpty()) {
+    private CameraCounter cameraCounter(PlaybackState state) {
+        if (state.cameraCounter == null) {
+            state.cameraCounter = cameraCounters.computeIfAbsent(normalizeId(state.cinematic.getId()),
+                    ignored -> new CameraCounter());
+        }
+        state.cameraCounter.mode = state.cinematic.getCameraMode();
+        return state.cameraCounter;
+    }
+
+    public List<CameraStats> getCameraStats() {
+        List<CameraStats> result = new ArrayList<>();
+        for (Map.Entry<String, CameraCounter> entry : cameraCounters.entrySet()) {
+            CameraCounter counter = entry.getValue();
+            result.add(new CameraStats(entry.getKey(), counter.mode, counter.ticks.sum(), counter.packets.sum()));
+        }
+        return result;
+    }
+
+    private void releaseCamera(Player player, PlaybackState state) {
+        if (!state.packetCamera || !virtualCameraService.isAttached(player)) {
             return;
         }
+        // Leave the viewer where the client last saw the camera, like the teleport path does.
+        if (state.lastCamera != null && player.isOnline()) {
+            scheduler.teleport(player, state.lastCamera);
+        }
+        virtualCameraService.detach(player);
+    }
+
+    private static void closeWindow(PlaybackState state) {
+        if (state.chunkWindow != null) {
+            state.chunkWindow.close();
+            state.chunkWindow = null;
+        }
+    }
 
-        for (String rawCommand : commands) {
-            String command = placeholderResolver.apply(rawCommand, player, state.cinematic, state.currentTick);
+    private static void closeWindow(Screening screening) {
+        if (screening.chunkWindow != null) {
+            screening.chunkWindow.close();
+            screening.chunkWindow = null;
+        }
+    }
+
+    public ChunkPreloadService.PreloadStats getPreloadStats() {
+        return chunkPreloadService.getStats();
+    }
+
+    private void runTickCommands(Player player, PlaybackState state) {
+        state.cursor.moveTo(state.currentTick);
+        for (CommandTemplate template : state.cursor.templates()) {
+            String command = placeholderResolver.apply(template, player, state.cinematic, state.currentTick);
             if (command.isBlank()) {
                 continue;
             }
             String normalized = command.startsWith("/") ? command.substring(1) : command;
-            Bukkit.dispatchCommand(Bukkit.getConsoleSender(), normalized);
+            scheduler.dispatchConsole(normalized);
+        }
+    }
+
+    private void runTickActions(Player player, PlaybackState state) {
+        state.cursor.moveTo(state.currentTick);
+        SceneAction[] actions = state.cursor.actions();
+        if (actions.length == 0) {
+            return;
         }
+        Location camera = state.lastCamera != null ? state.lastCamera : player.getLocation();
+        // Screening viewers share the camera, so world sounds and particles come from the first viewer only.
+        boolean worldEffects = state.screening == null || state.screening.viewers.indexOf(state) == 0;
+        sceneActionService.run(player, actions, camera, state.cinematic, state.currentTick, worldEffects);
+    }
+
+    public ActorPlaybackService.FrameCacheStats getActorFrameCacheStats() {
+        return actorPlaybackService.getFrameCacheStats();
+    }
+
+    public ActorPlaybackService.UpdateStats getActorUpdateStats() {
+        return actorPlaybackService.getUpdateStats();
+    }
+
+    public ActorPlaybackService.BundleStats getActorBundleStats() {
+        return actorPlaybackService.getBundleStats();
+    }
+
+    public ActorPlaybackService.LodStats getActorLodStats() {
+        return actorPlaybackService.getLodStats();
+    }
+
+    public ActorLod getDefaultActorLod() {
+        return actorPlaybackService.getDefaultLod();
+    }
+
+    public SceneActionService.ActionStats getActionStats() {
+        return sceneActionService.getStats();
     }
 
     private void finishPlayback(Player player, PlaybackState state) {
@@ -395,17 +1076,19 @@ public final class CinematicPlaybackService {
             markAsPlayed(player.getUniqueId(), state.cinematic.getId());
         }
 
-        runLifecycleCommands(player, state, state.cinematic.getEndCommands(), state.endTick);
+        runLifecycleCommands(player, state, state.cinematic.getTimeline().endTemplates(), state.endTick);
 
         Cinematic.EndAction endAction = state.cinematic.getEndAction();
         if (endAction.type() == Cinematic.EndActionType.RETURN_TO_START) {
             if (state.startLocation != null && state.startLocation.getWorld() != null) {
-                player.teleport(state.startLocation);
+                scheduler.teleport(player, state.startLocation);
+                state.lastCamera = null;
             }
         } else if (endAction.type() == Cinematic.EndActionType.TELEPORT) {
             Location teleportLocation = endAction.teleportLocation();
             if (teleportLocation != null && teleportLocation.getWorld() != null) {
-                player.teleport(teleportLocation);
+                scheduler.teleport(player, teleportLocation);
+                state.lastCamera = null;
             }
         }
 
@@ -416,18 +1099,14 @@ public final class CinematicPlaybackService {
         }
     }
 
-    private void runLifecycleCommands(Player player, PlaybackState state, List<String> commands, int tick) {
-        if (commands == null || commands.isEmpty()) {
-            return;
-        }
-
-        for (String rawCommand : commands) {
-            String command = placeholderResolver.apply(rawCommand, player, state.cinematic, tick);
+    private void runLifecycleCommands(Player player, PlaybackState state, CommandTemplate[] commands, int tick) {
+        for (CommandTemplate template : commands) {
+            String command = placeholderResolver.apply(template, player, state.cinematic, tick);
             if (command.isBlank()) {
                 continue;
             }
             String normalized = command.startsWith("/") ? command.substring(1) : command;
-            Bukkit.dispatchCommand(Bukkit.getConsoleSender(), normalized);
+            scheduler.dispatchConsole(normalized);
         }
     }
 
@@ -446,105 +1125,9 @@ public final class CinematicPlaybackService {
         player.setGameMode(state.originalGameMode);
     }
 
-    private Location interpolateLocation(Cinematic cinematic, int tick) {
-        List<CinematicPoint> points = cinematic.getPoints();
-        if (points.isEmpty()) {
-            return null;
-        }
-
-        int nextIndex = 0;
-        while (nextIndex < points.size() && points.get(nextIndex).tick() < tick) {
-            nextIndex++;
-        }
-
-        CinematicPoint prev = nextIndex > 0 ? points.get(nextIndex - 1) : null;
-        CinematicPoint next = nextIndex < points.size() ? points.get(nextIndex) : null;
-
-        if (prev == null && next == null) {
-            return null;
-        }
-        if (prev == null) {
-            return next.location().clone();
-        }
-        if (next == null) {
-            return prev.location().clone();
-        }
-        if (prev.tick() == next.tick()) {
-            return prev.location().clone();
-        }
-        if (next.interpolationMode() == CinematicPoint.InterpolationMode.INSTANT) {
-            return prev.location().clone();
-        }
-        if (prev.location().getWorld() == null || next.location().getWorld() == null) {
-            return null;
-        }
-        if (!prev.location().getWorld().equals(next.location().getWorld())) {
-            return prev.location().clone();
-        }
-
-        Location prevLocation = prev.location();
-        Location nextLocation = next.location();
-        double rawT = (tick - prev.tick()) / (double) (next.tick() - prev.tick());
-
-        if (next.interpolationMode() == CinematicPoint.InterpolationMode.LINEAR) {
-            double linearT = Math.max(0.0, Math.min(1.0, rawT));
-            double x = lerp(prevLocation.getX(), nextLocation.getX(), linearT);
-            double y = lerp(prevLocation.getY(), nextLocation.getY(), linearT);
-            double z = lerp(prevLocation.getZ(), nextLocation.getZ(), linearT);
-            float yaw = (float) lerpAngle(prevLocation.getYaw(), nextLocation.getYaw(), linearT);
-            float pitch = (float) lerp(prevLocation.getPitch(), nextLocation.getPitch(), linearT);
-            return new Location(prevLocation.getWorld(), x, y, z, yaw, pitch);
-        }
-
-        double smoothT = smootherStep(rawT);
-
-        Location beforeLocation = nextIndex - 2 >= 0 ? points.get(nextIndex - 2).location() : prevLocation;
-        Location afterLocation = nextIndex + 1 < points.size() ? points.get(nextIndex + 1).location() : nextLocation;
-
-        double c1x = prevLocation.getX() + (nextLocation.getX() - beforeLocation.getX()) * (BEZIER_TENSION / 6.0);
-        double c1y = prevLocation.getY() + (nextLocation.getY() - beforeLocation.getY()) * (BEZIER_TENSION / 6.0);
-        double c1z = prevLocation.getZ() + (nextLocation.getZ() - beforeLocation.getZ()) * (BEZIER_TENSION / 6.0);
-
-        double c2x = nextLocation.getX() - (afterLocation.getX() - prevLocation.getX()) * (BEZIER_TENSION / 6.0);
-        double c2y = nextLocation.getY() - (afterLocation.getY() - prevLocation.getY()) * (BEZIER_TENSION / 6.0);
-        double c2z = nextLocation.getZ() - (afterLocation.getZ() - prevLocation.getZ()) * (BEZIER_TENSION / 6.0);
-
-        double x = cubicBezier(prevLocation.getX(), c1x, c2x, nextLocation.getX(), smoothT);
-        double y = cubicBezier(prevLocation.getY(), c1y, c2y, nextLocation.getY(), smoothT);
-        double z = cubicBezier(prevLocation.getZ(), c1z, c2z, nextLocation.getZ(), smoothT);
-        float yaw = (float) lerpAngle(prevLocation.getYaw(), nextLocation.getYaw(), smoothT);
-        float pitch = (float) lerp(prevLocation.getPitch(), nextLocation.getPitch(), smoothT);
-
-        return new Location(prevLocation.getWorld(), x, y, z, yaw, pitch);
-    }
-
-    private static double lerp(double start, double end, double t) {
-        return start + (end - start) * t;
-    }
-
-    private static double lerpAngle(double start, double end, double t) {
-        double delta = ((end - start + 540.0) % 360.0) - 180.0;
-        return start + delta * t;
-    }
-
-    private static double cubicBezier(double p0, double p1, double p2, double p3, double t) {
-        double oneMinusT = 1.0 - t;
-        double oneMinusTSquared = oneMinusT * oneMinusT;
-        double tSquared = t * t;
-
-        return oneMinusTSquared * oneMinusT * p0
-                + 3.0 * oneMinusTSquared * t * p1
-                + 3.0 * oneMinusT * tSquared * p2
-                + tSquared * t * p3;
-    }
-
-    private static double smootherStep(double t) {
-        double clamped = Math.max(0.0, Math.min(1.0, t));
-        return clamped * clamped * clamped * (clamped * (clamped * 6.0 - 15.0) + 10.0);
-    }
-
-    private void updateSubtitles(Player player, PlaybackState state) {
-        CinematicSubtitleCue cue = state.cinematic.getSubtitleAtTick(state.currentTick);
+    private void updateSubtitles(Player player, PlaybackState state, int tick) {
+        state.cursor.moveTo(tick);
+        CinematicSubtitleCue cue = state.cursor.subtitle();
         String line1 = cue == null ? "" : cue.line1();
         String line2 = cue == null ? "" : cue.line2();
         subtitleLine1.put(player.getUniqueId(), line1);
@@ -577,7 +1160,7 @@ public final class CinematicPlaybackService {
         }
 
         playedCinematics
-                .computeIfAbsent(playerId, ignored -> new HashSet<>())
+                .computeIfAbsent(playerId, ignored -> ConcurrentHashMap.newKeySet())
                 .add(normalizeId(cinematicId));
     }
 
@@ -585,18 +1168,8 @@ public final class CinematicPlaybackService {
         return cinematicId.toLowerCase(Locale.ROOT);
     }
 
-    private static void cancelTask(PlaybackState state) {
-        if (state.task != null) {
-            state.task.cancel();
-            state.task = null;
-        }
-    }
-
     private static void cancelSeekTransition(PlaybackState state) {
-        if (state.seekTransitionTask != null) {
-            state.seekTransitionTask.cancel();
-            state.seekTransitionTask = null;
-        }
+        state.seekSteps = 0;
     }
 
     private void startSeekTransition(Player player, PlaybackState state, int fromTick, int toTick, int steps) {
@@ -606,28 +1179,11 @@ public final class CinematicPlaybackService {
             return;
         }
 
-        final int[] currentStep = {0};
-        state.seekTransitionTask = Bukkit.getScheduler().runTaskTimer(plugin, () -> {
-            if (!player.isOnline() || !states.containsKey(player.getUniqueId())) {
-                cancelSeekTransition(state);
-                return;
-            }
-
-            double t = currentStep[0] / (double) steps;
-            double smoothT = smootherStep(t);
-            int renderTick = (int) Math.round(fromTick + ((toTick - fromTick) * smoothT));
-            renderTick = Math.max(0, Math.min(renderTick, state.endTick));
-
-            state.currentTick = renderTick;
-            renderAtTick(player, state, renderTick, false);
-
-            currentStep[0]++;
-            if (currentStep[0] > steps) {
-                state.currentTick = toTick;
-                renderAtTick(player, state, toTick, false);
-                cancelSeekTransition(state);
-            }
-        }, 0L, 1L);
+        state.seekFromTick = fromTick;
+        state.seekToTick = toTick;
+        state.seekStep = -1;
+        state.seekSteps = steps;
+        ensureDriver(state);
     }
 
     private void applyFakePumpkin(Player player) {
@@ -692,21 +1248,134 @@ public final class CinematicPlaybackService {
         return pumpkin;
     }
 
+    /**
+     * Camera updates per scene since startup; {@code ticks} is how many updates the teleport path would have sent.
+     */
+    public record CameraStats(String sceneId, Cinematic.CameraMode mode, long ticks, long packets) {
+
+        public long packetsSaved() {
+            return Math.max(0L, ticks - packets);
+        }
+    }
+
+    public record ScreeningInfo(String id, String sceneId, int tick, int endTick, int viewers) {
+    }
+
+    public record DriverStats(int sessions, int active, double lastTickMillis, double averageTickMillis,
+                              double maxTickMillis, String slowestSession, double slowestSessionMillis) {
+    }
+
+    private enum Phase {
+        CAMERA,
+        TICK_COMMANDS,
+        ACTIONS,
+        ACTORS,
+        SUBTITLES
+    }
+
+    private static final class CameraCounter {
+        private volatile Cinematic.CameraMode mode = Cinematic.CameraMode.TELEPORT;
+        private final LongAdder ticks = new LongAdder();
+        private final LongAdder packets = new LongAdder();
+    }
+
+    private static final class PendingStart {
+        private final Cinematic cinematic;
+        private final int startTick;
+        private final int endTick;
+        private final Location startLocation;
+        private final ChunkPreloadService.Window window;
+        private SceneTask timeout;
+
+        private PendingStart(Cinematic cinematic, int startTick, int endTick, Location startLocation,
+                             ChunkPreloadService.Window window) {
+            this.cinematic = cinematic;
+            this.startTick = startTick;
+            this.endTick = endTick;
+            this.startLocation = startLocation;
+            this.window = window;
+        }
+    }
+
+    private static final class Screening {
+        private final String id;
+        private final Cinematic cinematic;
+        private final SceneTimeline.Cursor cursor;
+        private final int endTick;
+        private final Location camera = new Location(null, 0.0, 0.0, 0.0);
+        private final List<PlaybackState> viewers = new CopyOnWriteArrayList<>();
+        private volatile int currentTick;
+        private int cameraTick = Integer.MIN_VALUE;
+        private boolean cameraValid;
+        private volatile boolean rendering;
+        private volatile ChunkPreloadService.Window chunkWindow;
+        // Starts at 1 for startScreening itself, plus one per viewer still being handed off to their region.
+        private final AtomicInteger pendingJoins = new AtomicInteger(1);
+
+        private Screening(String id, Cinematic cinematic) {
+            this.id = id;
+            this.cinematic = cinematic;
+            this.cursor = cinematic.getTimeline().cursor();
+            this.endTick = Math.max(0, cinematic.getDurationTicks());
+        }
+    }
+
     private static final class PlaybackState {
+        private Player player;
+        private final Screening screening;
         private final Cinematic cinematic;
+        private final SceneTimeline.Cursor cursor;
         private final int endTick;
         private final boolean fullPlayback;
         private final Location startLocation;
+        private final Location camera = new Location(null, 0.0, 0.0, 0.0);
+        private final Location serverAnchor = new Location(null, 0.0, 0.0, 0.0);
+        private final Location sparseTarget = new Location(null, 0.0, 0.0, 0.0);
+        private Location lastCamera;
+        private boolean packetCamera;
+        private boolean sparseCamera;
+        private int cameraTick = Integer.MIN_VALUE;
+        private CameraCounter cameraCounter;
+        private ChunkPreloadService.Window chunkWindow;
+        private SceneTask driverTask;
+        private int screeningTick = Integer.MIN_VALUE;
         private final GameMode originalGameMode;
         private int currentTick;
         private boolean running;
         private boolean changedGameMode;
-        private BukkitTask task;
-        private BukkitTask seekTransitionTask;
+        private int seekFromTick;
+        private int seekToTick;
+        private int seekStep;
+        private int seekSteps;
+        private boolean rendering;
+        private int renderTick;
+        private boolean executeTickCommands;
+        private long frameNanos;
+        private long lastFrameNanos;
         private final Set<UUID> hiddenPlayers = new HashSet<>();
 
-        private PlaybackState(Cinematic cinematic, int startTick, int endTick, boolean fullPlayback, Location startLocation, GameMode originalGameMode) {
+        private PlaybackState(Player player, Cinematic cinematic, int startTick, int endTick, boolean fullPlayback,
+                              Location startLocation, GameMode originalGameMode) {
+            this(player, null, cinematic, cinematic.getTimeline().cursor(), startTick, endTick, fullPlayback,
+                    startLocation, originalGameMode);
+        }
+
+        private PlaybackState(Player player, Screening screening, Location startLocation, GameMode originalGameMode) {
+            this(player, screening, screening.cinematic,
+                    SceneScheduler.isFolia() ? screening.cinematic.getTimeline().cursor() : screening.cursor,
+                    screening.currentTick, screening.endTick,
+                    screening.currentTick == 0, startLocation, originalGameMode);
+        }
+
+        private PlaybackState(Player player, Screening screening, Cinematic cinematic, SceneTimeline.Cursor cursor,
+                              int startTick, int endTick, boolean fullPlayback,
+                              Location startLocation, GameMode originalGameMode) {
+            this.player = player;
+            this.screening = screening;
             this.cinematic = cinematic;
+            this.cursor = cursor;
+            this.packetCamera = cinematic.getCameraMode() != Cinematic.CameraMode.TELEPORT;
+            this.sparseCamera = cinematic.getCameraMode() == Cinematic.CameraMode.SPARSE;
             this.currentTick = startTick;
             this.endTick = endTick;
             this.fullPlayback = fullPlayback;
@@ -2,7 +2,8 @@ package com.extracraft.extrascenesv2.cinematics;
 
 import org.bukkit.Location;
 
-public record CinematicPoint(int tick, Location location, InterpolationMode interpolationMode) {
+public record CinematicPoint(int tick, WorldRef world, double x, double y, double z, float yaw, float pitch,
+                             InterpolationMode interpolationMode) {
 
     public enum InterpolationMode {
         SMOOTH,
@@ -27,4 +28,20 @@ public record CinematicPoint(int tick, Location location, InterpolationMode inte
     public CinematicPoint {
         interpolationMode = interpolationMode == null ? InterpolationMode.SMOOTH : interpolationMode;
     }
+
+    public CinematicPoint(int tick, Location location, InterpolationMode interpolationMode) {
+        this(tick, WorldRef.from(location.getWorld()), location.getX(), location.getY(), location.getZ(),
+                location.getYaw(), location.getPitch(), interpolationMode);
+    }
+
+    /**
+     * A new location bound to the live world; the world is null while it is not loaded.
+     */
+    public Location location() {
+        return new Location(world == null ? null : world.get(), x, y, z, yaw, pitch);
+    }
+
+    public CinematicPoint withInterpolationMode(InterpolationMode mode) {
+        return new CinematicPoint(tick, world, x, y, z, yaw, pitch, mode);
+    }
 }
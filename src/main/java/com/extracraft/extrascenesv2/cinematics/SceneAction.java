@@ -0,0 +1,165 @@
+package com.extracraft.extrascenesv2.cinematics;
+
+import com.extracraft.extrascenesv2.placeholders.CommandTemplate;
+import java.util.Locale;
+import org.bukkit.NamespacedKey;
+import org.bukkit.Particle;
+import org.bukkit.Registry;
+import org.bukkit.potion.PotionEffect;
+import org.bukkit.potion.PotionEffectType;
+
+/**
+ * A typed per-tick effect run straight against the Bukkit API instead of through a console command. Texts are kept
+ * as {@link CommandTemplate}s, so the same {@code {token}} and PlaceholderAPI placeholders as tick commands work.
+ * Viewer-only sounds and particles are sent to the viewer alone; the others are played in the world at the camera.
+ */
+public sealed interface SceneAction {
+
+    Type type();
+
+    /**
+     * Short human-readable form for listings.
+     */
+    String describe();
+
+    record PlaySound(String sound, float volume, float pitch, boolean viewerOnly) implements SceneAction {
+
+        public PlaySound {
+            sound = sound == null ? "" : sound.trim().toLowerCase(Locale.ROOT);
+            volume = Math.max(0.0F, volume);
+            pitch = Math.max(0.5F, Math.min(2.0F, pitch));
+        }
+
+        @Override
+        public Type type() {
+            return Type.SOUND;
+        }
+
+        @Override
+        public String describe() {
+            return "sound " + sound + " vol=" + volume + " pitch=" + pitch + (viewerOnly ? " (viewer)" : " (world)");
+        }
+    }
+
+    record ShowTitle(CommandTemplate title, CommandTemplate subtitle, int fadeIn, int stay, int fadeOut) implements SceneAction {
+
+        public ShowTitle {
+            title = title == null ? CommandTemplate.parse("") : title;
+            subtitle = subtitle == null ? CommandTemplate.parse("") : subtitle;
+            fadeIn = Math.max(0, fadeIn);
+            stay = Math.max(0, stay);
+            fadeOut = Math.max(0, fadeOut);
+        }
+
+        @Override
+        public Type type() {
+            return Type.TITLE;
+        }
+
+        @Override
+        public String describe() {
+            return "title " + fadeIn + "/" + stay + "/" + fadeOut + " \"" + title.source() + "\""
+                    + (subtitle.isBlank() ? "" : " | \"" + subtitle.source() + "\"");
+        }
+    }
+
+    record ShowActionBar(CommandTemplate text) implements SceneAction {
+
+        public ShowActionBar {
+            text = text == null ? CommandTemplate.parse("") : text;
+        }
+
+        @Override
+        public Type type() {
+            return Type.ACTIONBAR;
+        }
+
+        @Override
+        public String describe() {
+            return "actionbar \"" + text.source() + "\"";
+        }
+    }
+
+    /**
+     * Particles at {@code x y z}, absolute or, when {@code relative}, offset from the camera pose. Only particles
+     * without extra data (dust colours, block states) are accepted.
+     */
+    record SpawnParticle(Particle particle, double x, double y, double z, boolean relative, int count, double spread,
+                         double speed, boolean viewerOnly) implements SceneAction {
+
+        public SpawnParticle {
+            count = Math.max(0, count);
+            spread = Math.max(0.0D, spread);
+            speed = Math.max(0.0D, speed);
+        }
+
+        @Override
+        public Type type() {
+            return Type.PARTICLE;
+        }
+
+        @Override
+        public String describe() {
+            String prefix = relative ? "~" : "";
+            return "particle " + particle.name().toLowerCase(Locale.ROOT) + " " + prefix + x + " " + prefix + y + " "
+                    + prefix + z + " x" + count + " spread=" + spread + " speed=" + speed
+                    + (viewerOnly ? " (viewer)" : " (world)");
+        }
+    }
+
+    record AddPotion(PotionEffect effect) implements SceneAction {
+
+        @Override
+        public Type type() {
+            return Type.POTION;
+        }
+
+        @Override
+        public String describe() {
+            return "potion " + effect.getType().getKey().getKey() + " " + effect.getDuration() + "t amp=" + effect.getAmplifier();
+        }
+    }
+
+    enum Type {
+        SOUND,
+        TITLE,
+        ACTIONBAR,
+        PARTICLE,
+        POTION;
+
+        public static Type fromString(String value) {
+            if (value == null) {
+                return null;
+            }
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException ex) {
+                return null;
+            }
+        }
+    }
+
+    static Particle particleByName(String name) {
+        if (name == null || name.isBlank()) {
+            return null;
+        }
+        String key = name.trim().toUpperCase(Locale.ROOT);
+        if (key.startsWith("MINECRAFT:")) {
+            key = key.substring("MINECRAFT:".length());
+        }
+        try {
+            Particle particle = Particle.valueOf(key);
+            return particle.getDataType() == Void.class ? particle : null;
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
+    static PotionEffectType effectByName(String name) {
+        if (name == null || name.isBlank()) {
+            return null;
+        }
+        NamespacedKey key = NamespacedKey.fromString(name.trim().toLowerCase(Locale.ROOT));
+        return key == null ? null : Registry.EFFECT.get(key);
+    }
+}
@@ -0,0 +1,129 @@
+package com.extracraft.extrascenesv2.cinematics;
+
+import com.extracraft.extrascenesv2.placeholders.PlaceholderResolver;
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
+import net.kyori.adventure.title.Title;
+import org.bukkit.Location;
+import org.bukkit.SoundCategory;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.java.JavaPlugin;
+
+/**
+ * Runs a tick's {@link SceneAction}s for one viewer on the thread that owns that viewer. Sounds and relative
+ * particles are placed at the camera pose rather than the player's server position, which lags behind in the packet
+ * camera modes.
+ */
+public final class SceneActionService {
+
+    private static final LegacyComponentSerializer TEXT = LegacyComponentSerializer.legacyAmpersand();
+
+    private final JavaPlugin plugin;
+    private final PlaceholderResolver placeholderResolver;
+    private final ThreadLocal<Location> positions = ThreadLocal.withInitial(() -> new Location(null, 0.0D, 0.0D, 0.0D));
+    private final LongAdder executed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    public SceneActionService(JavaPlugin plugin, PlaceholderResolver placeholderResolver) {
+        this.plugin = plugin;
+        this.placeholderResolver = placeholderResolver;
+    }
+
+    /**
+     * Runs {@code actions} for {@code viewer}. World sounds and particles are skipped unless {@code worldEffects},
+     * so a screening plays them once instead of once per viewer.
+     */
+    public void run(Player viewer, SceneAction[] actions, Location camera, Cinematic cinematic, int tick, boolean worldEffects) {
+        for (SceneAction action : actions) {
+            try {
+                if (apply(viewer, action, camera, cinematic, tick, worldEffects)) {
+                    executed.increment();
+                }
+            } catch (IllegalArgumentException ex) {
+                failed.increment();
+                plugin.getLogger().warning("Could not run " + action.describe() + " at tick " + tick + " of scene "
+                        + cinematic.getId() + ": " + ex.getMessage());
+            }
+        }
+    }
+
+    public ActionStats getStats() {
+        return new ActionStats(executed.sum(), failed.sum());
+    }
+
+    private boolean apply(Player viewer, SceneAction action, Location camera, Cinematic cinematic, int tick, boolean worldEffects) {
+        return switch (action) {
+            case SceneAction.PlaySound sound -> playSound(viewer, sound, camera, worldEffects);
+            case SceneAction.ShowTitle title -> {
+                viewer.showTitle(Title.title(
+                        text(title.title().isBlank() ? "" : placeholderResolver.apply(title.title(), viewer, cinematic, tick)),
+                        text(title.subtitle().isBlank() ? "" : placeholderResolver.apply(title.subtitle(), viewer, cinematic, tick)),
+                        Title.Times.times(ticks(title.fadeIn()), ticks(title.stay()), ticks(title.fadeOut()))));
+                yield true;
+            }
+            case SceneAction.ShowActionBar actionBar -> {
+                viewer.sendActionBar(text(placeholderResolver.apply(actionBar.text(), viewer, cinematic, tick)));
+                yield true;
+            }
+            case SceneAction.SpawnParticle particle -> spawnParticle(viewer, particle, camera, worldEffects);
+            case SceneAction.AddPotion potion -> {
+                viewer.addPotionEffect(potion.effect());
+                yield true;
+            }
+        };
+    }
+
+    private boolean playSound(Player viewer, SceneAction.PlaySound sound, Location camera, boolean worldEffects) {
+        if (sound.viewerOnly()) {
+            viewer.playSound(camera, sound.sound(), SoundCategory.MASTER, sound.volume(), sound.pitch());
+        } else if (worldEffects && camera.getWorld() != null) {
+            camera.getWorld().playSound(camera, sound.sound(), SoundCategory.MASTER, sound.volume(), sound.pitch());
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    private boolean spawnParticle(Player viewer, SceneAction.SpawnParticle particle, Location camera, boolean worldEffects) {
+        if (!particle.viewerOnly() && !worldEffects) {
+            return false;
+        }
+        World world = camera.getWorld();
+        if (world == null) {
+            return false;
+        }
+        Location at = positions.get();
+        at.setWorld(world);
+        if (particle.relative()) {
+            at.setX(camera.getX() + particle.x());
+            at.setY(camera.getY() + particle.y());
+            at.setZ(camera.getZ() + particle.z());
+        } else {
+            at.setX(particle.x());
+            at.setY(particle.y());
+            at.setZ(particle.z());
+        }
+        if (particle.viewerOnly()) {
+            viewer.spawnParticle(particle.particle(), at, particle.count(), particle.spread(), particle.spread(),
+                    particle.spread(), particle.speed());
+        } else {
+            world.spawnParticle(particle.particle(), at, particle.count(), particle.spread(), particle.spread(),
+                    particle.spread(), particle.speed());
+        }
+        return true;
+    }
+
+    private static Component text(String value) {
+        return value.isEmpty() ? Component.empty() : TEXT.deserialize(value);
+    }
+
+    private static Duration ticks(int ticks) {
+        return Duration.ofMillis(ticks * 50L);
+    }
+
+    public record ActionStats(long executed, long failed) {
+    }
+}
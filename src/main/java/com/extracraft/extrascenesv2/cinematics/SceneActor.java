@@ -1,9 +1,7 @@
 package com.extracraft.extrascenesv2.cinematics;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
 
 public final class SceneActor {
 
@@ -14,10 +12,15 @@ public final class SceneActor {
     private final double scale;
     private final int appearAtTick;
     private final int disappearAtTick;
-    private final List<ActorFrame> frames;
+    private final ActorTrack track;
 
     public SceneActor(String id, String displayName, String skinTexture, String skinSignature,
                       double scale, int appearAtTick, int disappearAtTick, List<ActorFrame> frames) {
+        this(id, displayName, skinTexture, skinSignature, scale, appearAtTick, disappearAtTick, ActorTrack.of(frames));
+    }
+
+    public SceneActor(String id, String displayName, String skinTexture, String skinSignature,
+                      double scale, int appearAtTick, int disappearAtTick, ActorTrack track) {
         this.id = id;
         this.displayName = displayName == null ? id : displayName;
         this.skinTexture = blankToNull(skinTexture);
@@ -25,9 +28,7 @@ public final class SceneActor {
         this.scale = Math.max(0.0625D, Math.min(16.0D, scale));
         this.appearAtTick = Math.max(0, appearAtTick);
         this.disappearAtTick = Math.max(this.appearAtTick, disappearAtTick);
-        List<ActorFrame> copied = new ArrayList<>(frames == null ? List.of() : frames);
-        copied.sort(Comparator.comparingInt(ActorFrame::tick));
-        this.frames = Collections.unmodifiableList(copied);
+        this.track = track == null ? ActorTrack.EMPTY : track;
     }
 
     public String id() { return id; }
@@ -37,14 +38,20 @@ public final class SceneActor {
     public double scale() { return scale; }
     public int appearAtTick() { return appearAtTick; }
     public int disappearAtTick() { return disappearAtTick; }
-    public List<ActorFrame> frames() { return frames; }
+    public ActorTrack track() { return track; }
+
+    public List<ActorFrame> frames() { return track.toFrames(); }
 
     public boolean isVisibleAtTick(int tick) {
         return tick >= appearAtTick && tick <= disappearAtTick;
     }
 
     public SceneActor withFrames(List<ActorFrame> updatedFrames) {
-        return new SceneActor(id, displayName, skinTexture, skinSignature, scale, appearAtTick, disappearAtTick, updatedFrames);
+        return withTrack(ActorTrack.of(updatedFrames));
+    }
+
+    public SceneActor withTrack(ActorTrack updatedTrack) {
+        return new SceneActor(id, displayName, skinTexture, skinSignature, scale, appearAtTick, disappearAtTick, updatedTrack);
     }
 
     public SceneActor withProfile(String updatedName, String updatedTexture, String updatedSignature, Double updatedScale,
@@ -57,7 +64,28 @@ public final class SceneActor {
                 updatedScale == null ? scale : updatedScale,
                 updatedAppearAtTick == null ? appearAtTick : updatedAppearAtTick,
                 updatedDisappearAtTick == null ? disappearAtTick : updatedDisappearAtTick,
-                frames);
+                track);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        return other instanceof SceneActor actor
+                && Objects.equals(id, actor.id)
+                && Objects.equals(displayName, actor.displayName)
+                && Objects.equals(skinTexture, actor.skinTexture)
+                && Objects.equals(skinSignature, actor.skinSignature)
+                && Double.compare(scale, actor.scale) == 0
+                && appearAtTick == actor.appearAtTick
+                && disappearAtTick == actor.disappearAtTick
+                && track.equals(actor.track);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, displayName, skinTexture, skinSignature, scale, appearAtTick, disappearAtTick, track);
     }
 
     private static String blankToNull(String value) {
@@ -0,0 +1,175 @@
+package com.extracraft.extrascenesv2.cinematics;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Undo/redo stacks for every scene. Snapshots are {@link Cinematic} versions that share unchanged parts with
+ * their neighbours, so each entry is charged only for what differs from the version after it. When the
+ * global byte budget is exceeded the oldest entries across all scenes are dropped first.
+ */
+final class SceneHistory {
+
+    private final int entryLimit;
+    private final long byteBudget;
+    private final Map<String, Deque<Entry>> undo = new LinkedHashMap<>();
+    private final Map<String, Deque<Entry>> redo = new LinkedHashMap<>();
+    private long retainedBytes;
+    private long sequence;
+    private long evictions;
+
+    SceneHistory(int entryLimit, long byteBudget) {
+        this.entryLimit = Math.max(1, entryLimit);
+        this.byteBudget = Math.max(0L, byteBudget);
+    }
+
+    void recordEdit(String key, Cinematic previous, Cinematic updated) {
+        push(undo, key, previous, updated);
+        clear(redo, key);
+        enforceBudget();
+    }
+
+    Cinematic undo(String key, Cinematic current) {
+        return move(undo, redo, key, current);
+    }
+
+    Cinematic redo(String key, Cinematic current) {
+        return move(redo, undo, key, current);
+    }
+
+    void clear() {
+        undo.clear();
+        redo.clear();
+        retainedBytes = 0L;
+    }
+
+    int entryCount() {
+        int count = 0;
+        for (Deque<Entry> stack : undo.values()) {
+            count += stack.size();
+        }
+        for (Deque<Entry> stack : redo.values()) {
+            count += stack.size();
+        }
+        return count;
+    }
+
+    long retainedBytes() {
+        return retainedBytes;
+    }
+
+    long evictions() {
+        return evictions;
+    }
+
+    private Cinematic move(Map<String, Deque<Entry>> from, Map<String, Deque<Entry>> to, String key, Cinematic current) {
+        Deque<Entry> stack = from.get(key);
+        if (current == null || stack == null || stack.isEmpty()) {
+            return null;
+        }
+        Entry entry = stack.pop();
+        retainedBytes -= entry.bytes();
+        if (stack.isEmpty()) {
+            from.remove(key);
+        }
+        push(to, key, current, entry.snapshot());
+        enforceBudget();
+        return entry.snapshot();
+    }
+
+    private void push(Map<String, Deque<Entry>> history, String key, Cinematic snapshot, Cinematic newer) {
+        Deque<Entry> stack = history.computeIfAbsent(key, ignored -> new ArrayDeque<>());
+        if (!stack.isEmpty() && stack.peek().snapshot() == snapshot) {
+            return;
+        }
+        long bytes = estimateRetainedBytes(snapshot, newer);
+        stack.push(new Entry(snapshot, bytes, ++sequence));
+        retainedBytes += bytes;
+        while (stack.size() > entryLimit) {
+            retainedBytes -= stack.removeLast().bytes();
+        }
+    }
+
+    private void clear(Map<String, Deque<Entry>> history, String key) {
+        Deque<Entry> stack = history.remove(key);
+        if (stack == null) {
+            return;
+        }
+        for (Entry entry : stack) {
+            retainedBytes -= entry.bytes();
+        }
+    }
+
+    private void enforceBudget() {
+        while (retainedBytes > byteBudget) {
+            Deque<Entry> oldestStack = null;
+            Map<String, Deque<Entry>> oldestHistory = null;
+            String oldestKey = null;
+            for (Map<String, Deque<Entry>> history : List.of(undo, redo)) {
+                for (Map.Entry<String, Deque<Entry>> candidate : history.entrySet()) {
+                    Entry last = candidate.getValue().peekLast();
+                    if (last != null && (oldestStack == null || last.sequence() < oldestStack.peekLast().sequence())) {
+                        oldestStack = candidate.getValue();
+                        oldestHistory = history;
+                        oldestKey = candidate.getKey();
+                    }
+                }
+            }
+            if (oldestStack == null) {
+                retainedBytes = 0L;
+                return;
+            }
+            retainedBytes -= oldestStack.removeLast().bytes();
+            evictions++;
+            if (oldestStack.isEmpty()) {
+                oldestHistory.remove(oldestKey);
+            }
+        }
+    }
+
+    static long estimateBytes(Cinematic cinematic) {
+        return estimateRetainedBytes(cinematic, null);
+    }
+
+    private static long estimateRetainedBytes(Cinematic snapshot, Cinematic newer) {
+        long bytes = 96L;
+        if (newer == null || snapshot.getPoints() != newer.getPoints()) {
+            bytes += 32L + snapshot.getPoints().size() * 120L;
+        }
+        if (newer == null || snapshot.getTickCommands() != newer.getTickCommands()) {
+            for (List<String> commands : snapshot.getTickCommands().values()) {
+                bytes += 64L;
+                for (String command : commands) {
+                    bytes += 40L + command.length() * 2L;
+                }
+            }
+        }
+        if (newer == null || snapshot.getTickActions() != newer.getTickActions()) {
+            for (List<SceneAction> actions : snapshot.getTickActions().values()) {
+                bytes += 64L + actions.size() * 96L;
+            }
+        }
+        if (newer == null || snapshot.getActors() != newer.getActors()) {
+            for (Map.Entry<String, SceneActor> actor : snapshot.getActors().entrySet()) {
+                SceneActor newerActor = newer == null ? null : newer.getActors().get(actor.getKey());
+                if (newerActor == actor.getValue()) {
+                    continue;
+                }
+                bytes += 200L;
+                if (newerActor == null || newerActor.track() != actor.getValue().track()) {
+                    bytes += actor.getValue().track().estimatedBytes();
+                }
+            }
+        }
+        if (newer == null || snapshot.getSubtitleCues() != newer.getSubtitleCues()) {
+            bytes += snapshot.getSubtitleCues().size() * 160L;
+        }
+        return bytes;
+    }
+
+    private record Entry(Cinematic snapshot, long bytes, long sequence) {
+    }
+}
@@ -0,0 +1,167 @@
+package com.extracraft.extrascenesv2.cinematics;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+/**
+ * Manifest of every scene on disk ({@code scenes/.index.yml}). Each entry stores the scene summary plus the size,
+ * modification time and CRC32 of the scene file and its actor recording file, so startup only parses files
+ * whose stamps no longer match. Stamps are recorded by the writer thread right after a file is written.
+ */
+final class SceneIndex {
+
+    static final String FILE_NAME = ".index.yml";
+    private static final int VERSION = 1;
+
+    private final Map<String, FileStamp> sceneStamps = new ConcurrentHashMap<>();
+    private final Map<String, FileStamp> recordingStamps = new ConcurrentHashMap<>();
+
+    void stampScene(String key, FileStamp stamp) {
+        putOrRemove(sceneStamps, key, stamp);
+    }
+
+    void stampRecordings(String key, FileStamp stamp) {
+        putOrRemove(recordingStamps, key, stamp);
+    }
+
+    FileStamp sceneStamp(String key) {
+        return sceneStamps.get(key);
+    }
+
+    void remove(String key) {
+        sceneStamps.remove(key);
+        recordingStamps.remove(key);
+    }
+
+    void clear() {
+        sceneStamps.clear();
+        recordingStamps.clear();
+    }
+
+    static Map<String, Entry> read(File file) {
+        Map<String, Entry> entries = new LinkedHashMap<>();
+        if (!file.exists()) {
+            return entries;
+        }
+        YamlConfiguration config = YamlConfiguration.loadConfiguration(file);
+        ConfigurationSection scenes = config.getConfigurationSection("scenes");
+        if (config.getInt("version") != VERSION || scenes == null) {
+            return entries;
+        }
+
+        for (String key : scenes.getKeys(false)) {
+            ConfigurationSection section = scenes.getConfigurationSection(key);
+            if (section == null || section.getString("file") == null) {
+                continue;
+            }
+            SceneSummary summary = new SceneSummary(
+                    section.getString("id", key),
+                    Math.max(1, section.getInt("duration", 200)),
+                    section.getInt("points"),
+                    section.getInt("commands"),
+                    section.getStringList("actors"));
+            entries.put(key, new Entry(section.getString("file"), summary,
+                    readStamp(section.getConfigurationSection("scene")),
+                    readStamp(section.getConfigurationSection("recordings"))));
+        }
+        return entries;
+    }
+
+    void write(File file, Map<String, SceneSummary> summaries, Map<String, String> fileNames) throws IOException {
+        YamlConfiguration config = new YamlConfiguration();
+        config.set("version", VERSION);
+        for (Map.Entry<String, SceneSummary> entry : summaries.entrySet()) {
+            String key = entry.getKey();
+            SceneSummary summary = entry.getValue();
+            String path = "scenes." + key;
+            config.set(path + ".id", summary.id());
+            config.set(path + ".file", fileNames.getOrDefault(key, key + ".yml"));
+            config.set(path + ".duration", summary.durationTicks());
+            config.set(path + ".points", summary.pointCount());
+            config.set(path + ".commands", summary.commandCount());
+            config.set(path + ".actors", summary.actorIds());
+            writeStamp(config, path + ".scene", sceneStamps.get(key));
+            writeStamp(config, path + ".recordings", recordingStamps.get(key));
+        }
+        config.save(file);
+    }
+
+    /**
+     * True when {@code file} still matches the recorded stamp. A changed modification time alone falls back to
+     * comparing checksums, so copied or restored files are not re-parsed needlessly.
+     */
+    static boolean matches(FileStamp stamp, File file) {
+        if (stamp == null || !file.exists()) {
+            return stamp == null && !file.exists();
+        }
+        if (stamp.size() != file.length()) {
+            return false;
+        }
+        if (stamp.lastModified() == file.lastModified()) {
+            return true;
+        }
+        FileStamp current = FileStamp.of(file);
+        return current != null && current.crc32() == stamp.crc32();
+    }
+
+    private static void putOrRemove(Map<String, FileStamp> stamps, String key, FileStamp stamp) {
+        if (stamp == null) {
+            stamps.remove(key);
+        } else {
+            stamps.put(key, stamp);
+        }
+    }
+
+    private static FileStamp readStamp(ConfigurationSection section) {
+        if (section == null) {
+            return null;
+        }
+        return new FileStamp(section.getLong("size"), section.getLong("modified"), section.getLong("crc32"));
+    }
+
+    private static void writeStamp(YamlConfiguration config, String path, FileStamp stamp) {
+        if (stamp == null) {
+            return;
+        }
+        config.set(path + ".size", stamp.size());
+        config.set(path + ".modified", stamp.lastModified());
+        config.set(path + ".crc32", stamp.crc32());
+    }
+
+    record Entry(String fileName, SceneSummary summary, FileStamp scene, FileStamp recordings) {
+    }
+
+    record FileStamp(long size, long lastModified, long crc32) {
+
+        static FileStamp of(File file) {
+            if (!file.exists()) {
+                return null;
+            }
+            CRC32 crc = new CRC32();
+            byte[] buffer = new byte[8192];
+            try (InputStream in = Files.newInputStream(file.toPath())) {
+                int read;
+                while ((read = in.read(buffer)) >= 0) {
+                    crc.update(buffer, 0, read);
+                }
+            } catch (IOException ex) {
+                return null;
+            }
+            return new FileStamp(file.length(), file.lastModified(), crc.getValue());
+        }
+
+        static FileStamp of(File file, byte[] content) {
+            CRC32 crc = new CRC32();
+            crc.update(content);
+            return new FileStamp(content.length, file.lastModified(), crc.getValue());
+        }
+    }
+}
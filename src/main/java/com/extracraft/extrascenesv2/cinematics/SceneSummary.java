@@ -0,0 +1,26 @@
+package com.extracraft.extrascenesv2.cinematics;
+
+import java.util.List;
+
+/**
+ * Scene facts kept in the scene index so listings, tab completion and placeholders do not need the full scene.
+ */
+public record SceneSummary(String id, int durationTicks, int pointCount, int commandCount, List<String> actorIds) {
+
+    public SceneSummary {
+        actorIds = actorIds == null ? List.of() : List.copyOf(actorIds);
+    }
+
+    public static SceneSummary of(Cinematic cinematic) {
+        int commandCount = 0;
+        for (List<String> commands : cinematic.getTickCommands().values()) {
+            commandCount += commands.size();
+        }
+        return new SceneSummary(
+                cinematic.getId(),
+                cinematic.getDurationTicks(),
+                cinematic.getPoints().size(),
+                commandCount,
+                cinematic.getActors().values().stream().map(SceneActor::id).toList());
+    }
+}
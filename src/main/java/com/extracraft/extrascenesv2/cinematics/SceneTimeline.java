@@ -0,0 +1,235 @@
+package com.extracraft.extrascenesv2.cinematics;
+
+import com.extracraft.extrascenesv2.placeholders.CommandTemplate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Sorted event index of a scene: tick commands and actions, subtitle enter/exit and actor appear/disappear. Subtitles and
+ * actors are stored as segments (the cue and the visible actors from each boundary tick until the next one), so
+ * a {@link Cursor} only does work when it crosses an event and seeks reposition it by binary search. Tick, start and
+ * end commands are also kept as parsed {@link CommandTemplate}s.
+ */
+public final class SceneTimeline {
+
+    private static final SceneActor[] NO_ACTORS = new SceneActor[0];
+    private static final SceneAction[] NO_ACTIONS = new SceneAction[0];
+
+    private final int[] commandTicks;
+    private final List<List<String>> commands;
+    private final CommandTemplate[][] commandTemplates;
+    private final CommandTemplate[] startTemplates;
+    private final CommandTemplate[] endTemplates;
+    private final int[] actionTicks;
+    private final SceneAction[][] actions;
+    private final int[] subtitleTicks;
+    private final CinematicSubtitleCue[] subtitles;
+    private final int[] actorTicks;
+    private final SceneActor[][] actorSets;
+
+    private SceneTimeline(int[] commandTicks, List<List<String>> commands, CommandTemplate[] startTemplates,
+                          CommandTemplate[] endTemplates, int[] actionTicks, SceneAction[][] actions, int[] subtitleTicks, CinematicSubtitleCue[] subtitles,
+                          int[] actorTicks, SceneActor[][] actorSets) {
+        this.commandTicks = commandTicks;
+        this.commands = commands;
+        this.commandTemplates = new CommandTemplate[commands.size()][];
+        for (int i = 0; i < commandTemplates.length; i++) {
+            commandTemplates[i] = CommandTemplate.parseAll(commands.get(i));
+        }
+        this.startTemplates = startTemplates;
+        this.endTemplates = endTemplates;
+        this.actionTicks = actionTicks;
+        this.actions = actions;
+        this.subtitleTicks = subtitleTicks;
+        this.subtitles = subtitles;
+        this.actorTicks = actorTicks;
+        this.actorSets = actorSets;
+    }
+
+    static SceneTimeline compile(Map<Integer, List<String>> tickCommands, Map<Integer, List<SceneAction>> tickActions,
+                                 List<CinematicSubtitleCue> cues, Map<String, SceneActor> actors,
+                                 List<String> startCommands, List<String> endCommands) {
+        int[] commandTicks = tickCommands.keySet().stream().mapToInt(Integer::intValue).sorted().toArray();
+        List<List<String>> commands = new ArrayList<>(commandTicks.length);
+        for (int tick : commandTicks) {
+            commands.add(tickCommands.get(tick));
+        }
+
+        int[] actionTicks = tickActions.keySet().stream().mapToInt(Integer::intValue).sorted().toArray();
+        SceneAction[][] actions = new SceneAction[actionTicks.length][];
+        for (int i = 0; i < actionTicks.length; i++) {
+            actions[i] = tickActions.get(actionTicks[i]).toArray(SceneAction[]::new);
+        }
+
+        TreeSet<Integer> subtitleBoundaries = new TreeSet<>();
+        subtitleBoundaries.add(0);
+        for (CinematicSubtitleCue cue : cues) {
+            subtitleBoundaries.add(cue.startTick());
+            subtitleBoundaries.add(cue.endTick() + 1);
+        }
+        List<Integer> subtitleStarts = new ArrayList<>();
+        List<CinematicSubtitleCue> subtitleSegments = new ArrayList<>();
+        for (int boundary : subtitleBoundaries) {
+            CinematicSubtitleCue cue = firstCueAt(cues, boundary);
+            if (subtitleSegments.isEmpty() || subtitleSegments.get(subtitleSegments.size() - 1) != cue) {
+                subtitleStarts.add(boundary);
+                subtitleSegments.add(cue);
+            }
+        }
+
+        TreeSet<Integer> actorBoundaries = new TreeSet<>();
+        actorBoundaries.add(0);
+        for (SceneActor actor : actors.values()) {
+            actorBoundaries.add(actor.appearAtTick());
+            actorBoundaries.add(actor.disappearAtTick() + 1);
+        }
+        List<Integer> actorStarts = new ArrayList<>();
+        List<SceneActor[]> actorSegments = new ArrayList<>();
+        for (int boundary : actorBoundaries) {
+            SceneActor[] visible = actors.values().stream()
+                    .filter(actor -> actor.isVisibleAtTick(boundary))
+                    .toArray(SceneActor[]::new);
+            if (actorSegments.isEmpty() || !Arrays.equals(actorSegments.get(actorSegments.size() - 1), visible)) {
+                actorStarts.add(boundary);
+                actorSegments.add(visible.length == 0 ? NO_ACTORS : visible);
+            }
+        }
+
+        return new SceneTimeline(
+                commandTicks,
+                List.copyOf(commands),
+                CommandTemplate.parseAll(startCommands),
+                CommandTemplate.parseAll(endCommands),
+                actionTicks,
+                actions,
+                subtitleStarts.stream().mapToInt(Integer::intValue).toArray(),
+                subtitleSegments.toArray(CinematicSubtitleCue[]::new),
+                actorStarts.stream().mapToInt(Integer::intValue).toArray(),
+                actorSegments.toArray(SceneActor[][]::new));
+    }
+
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    public List<String> commandsAt(int tick) {
+        int index = Arrays.binarySearch(commandTicks, tick);
+        return index >= 0 ? commands.get(index) : List.of();
+    }
+
+    public CommandTemplate[] startTemplates() {
+        return startTemplates;
+    }
+
+    public CommandTemplate[] endTemplates() {
+        return endTemplates;
+    }
+
+    public CinematicSubtitleCue subtitleAt(int tick) {
+        int index = floorIndex(subtitleTicks, tick);
+        return index < 0 ? null : subtitles[index];
+    }
+
+    public SceneActor[] actorsAt(int tick) {
+        int index = floorIndex(actorTicks, tick);
+        return index < 0 ? NO_ACTORS : actorSets[index];
+    }
+
+    public int eventCount() {
+        return commandTicks.length + actionTicks.length + subtitleTicks.length + actorTicks.length;
+    }
+
+    private static CinematicSubtitleCue firstCueAt(List<CinematicSubtitleCue> cues, int tick) {
+        for (CinematicSubtitleCue cue : cues) {
+            if (cue.matchesTick(tick)) {
+                return cue;
+            }
+        }
+        return null;
+    }
+
+    private static int floorIndex(int[] ticks, int tick) {
+        int index = Arrays.binarySearch(ticks, tick);
+        return index >= 0 ? index : -index - 2;
+    }
+
+    private static int ceilIndex(int[] ticks, int tick) {
+        int index = Arrays.binarySearch(ticks, tick);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    /**
+     * Playback position in the timeline. Moving one tick forward only steps over the events at that tick; any
+     * other move is a seek and repositions by binary search.
+     */
+    public final class Cursor {
+
+        private int tick = Integer.MIN_VALUE;
+        private int commandIndex;
+        private int actionIndex;
+        private int subtitleIndex = -1;
+        private int actorIndex = -1;
+
+        private Cursor() {
+        }
+
+        public void moveTo(int targetTick) {
+            if (targetTick == tick) {
+                return;
+            }
+            if (tick == Integer.MIN_VALUE || targetTick < tick || targetTick - tick > 1) {
+                commandIndex = ceilIndex(commandTicks, targetTick);
+                actionIndex = ceilIndex(actionTicks, targetTick);
+                subtitleIndex = floorIndex(subtitleTicks, targetTick);
+                actorIndex = floorIndex(actorTicks, targetTick);
+            } else {
+                while (commandIndex < commandTicks.length && commandTicks[commandIndex] < targetTick) {
+                    commandIndex++;
+                }
+                while (actionIndex < actionTicks.length && actionTicks[actionIndex] < targetTick) {
+                    actionIndex++;
+                }
+                while (subtitleIndex + 1 < subtitleTicks.length && subtitleTicks[subtitleIndex + 1] <= targetTick) {
+                    subtitleIndex++;
+                }
+                while (actorIndex + 1 < actorTicks.length && actorTicks[actorIndex + 1] <= targetTick) {
+                    actorIndex++;
+                }
+            }
+            tick = targetTick;
+        }
+
+        public int tick() {
+            return tick;
+        }
+
+        public List<String> commands() {
+            return commandIndex < commandTicks.length && commandTicks[commandIndex] == tick
+                    ? commands.get(commandIndex)
+                    : List.of();
+        }
+
+        public CommandTemplate[] templates() {
+            return commandIndex < commandTicks.length && commandTicks[commandIndex] == tick
+                    ? commandTemplates[commandIndex]
+                    : CommandTemplate.NONE;
+        }
+
+        public SceneAction[] actions() {
+            return actionIndex < actionTicks.length && actionTicks[actionIndex] == tick
+                    ? actions[actionIndex]
+                    : NO_ACTIONS;
+        }
+
+        public CinematicSubtitleCue subtitle() {
+            return subtitleIndex < 0 ? null : subtitles[subtitleIndex];
+        }
+
+        public SceneActor[] actors() {
+            return actorIndex < 0 ? NO_ACTORS : actorSets[actorIndex];
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package com.extracraft.extrascenesv2.cinematics;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+/**
+ * Write-behind queue for scene files. Callers hand over an immutable snapshot serializer on the
+ * server thread; serialization and the temp-file + atomic move happen on a single I/O thread.
+ * Writes to the same file inside the debounce window collapse into one write of the latest snapshot.
+ */
+public final class SceneWriteQueue {
+
+    private final Logger logger;
+    private final long debounceMillis;
+    private final ScheduledExecutorService executor;
+    private final Map<Path, PendingWrite> pending = new ConcurrentHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile Path writing;
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong totalLatencyNanos = new AtomicLong();
+    private final AtomicLong maxLatencyNanos = new AtomicLong();
+
+    public SceneWriteQueue(Logger logger, long debounceMillis) {
+        this.logger = logger;
+        this.debounceMillis = Math.max(0L, debounceMillis);
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ExtraScenesV2-SceneWriter");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public void write(File destination, Supplier<YamlConfiguration> serializer, Runnable onFailure) {
+        write(destination, file -> serializer.get().save(file), onFailure);
+    }
+
+    public void write(File destination, Content content, Runnable onFailure) {
+        write(destination, content, null, onFailure);
+    }
+
+    /**
+     * {@code onSuccess} runs on the I/O thread once the file has been moved into place. When writes coalesce only
+     * the callbacks of the latest one run.
+     */
+    public void write(File destination, Content content, Runnable onSuccess, Runnable onFailure) {
+        enqueue(new PendingWrite(destination, content, onSuccess, onFailure, System.nanoTime()));
+    }
+
+    public void delete(File destination, Runnable onFailure) {
+        enqueue(new PendingWrite(destination, null, null, onFailure, System.nanoTime()));
+    }
+
+    public boolean flush(long timeoutMillis) {
+        try {
+            Future<?> barrier = executor.submit(this::drainAll);
+            barrier.get(Math.max(1L, timeoutMillis), TimeUnit.MILLISECONDS);
+            return true;
+        } catch (RejectedExecutionException ex) {
+            drainAll();
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException | TimeoutException ex) {
+            logger.warning("Scene write queue flush did not complete: " + ex.getMessage());
+            return false;
+        }
+    }
+
+    public void shutdown(long timeoutMillis) {
+        flush(timeoutMillis);
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(Math.max(1L, timeoutMillis), TimeUnit.MILLISECONDS)) {
+                logger.warning("Scene write queue did not stop in time; " + pending.size() + " write(s) pending.");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * True while a write or delete of {@code destination} is queued or running, i.e. the file on disk may
+     * not reflect the latest snapshot yet.
+     */
+    public boolean isPending(File destination) {
+        Path path = destination.toPath();
+        return pending.containsKey(path) || path.equals(writing);
+    }
+
+    public Stats getStats() {
+        long completedWrites = completed.get();
+        double averageLatencyMillis = completedWrites == 0L
+                ? 0.0D
+                : totalLatencyNanos.get() / (double) completedWrites / 1_000_000.0D;
+        return new Stats(
+                pending.size() + inFlight.get(),
+                submitted.get(),
+                coalesced.get(),
+                completedWrites,
+                failed.get(),
+                averageLatencyMillis,
+                maxLatencyNanos.get() / 1_000_000.0D);
+    }
+
+    private void enqueue(PendingWrite write) {
+        submitted.incrementAndGet();
+        Path path = write.destination().toPath();
+        boolean[] schedule = {false};
+        pending.compute(path, (ignored, previous) -> {
+            if (previous == null) {
+                schedule[0] = true;
+                return write;
+            }
+            coalesced.incrementAndGet();
+            return write.withQueuedAt(previous.queuedAtNanos());
+        });
+
+        if (!schedule[0]) {
+            return;
+        }
+
+        try {
+            executor.schedule(() -> drain(path), debounceMillis, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException ex) {
+            drain(path);
+        }
+    }
+
+    private void drainAll() {
+        for (Path path : pending.keySet().toArray(Path[]::new)) {
+            drain(path);
+        }
+    }
+
+    private void drain(Path path) {
+        writing = path;
+        PendingWrite write = pending.remove(path);
+        if (write == null) {
+            writing = null;
+            return;
+        }
+
+        inFlight.incrementAndGet();
+        try {
+            if (write.content() == null) {
+                Files.deleteIfExists(path);
+            } else {
+                atomicWrite(write.content(), write.destination());
+            }
+            long latency = System.nanoTime() - write.queuedAtNanos();
+            completed.incrementAndGet();
+            totalLatencyNanos.addAndGet(latency);
+            maxLatencyNanos.accumulateAndGet(latency, Math::max);
+            if (write.onSuccess() != null) {
+                write.onSuccess().run();
+            }
+        } catch (IOException | RuntimeException ex) {
+            failed.incrementAndGet();
+            logger.warning("Could not " + (write.content() == null ? "delete" : "save") + " scene file "
+                    + write.destination().getName() + ": " + ex.getMessage());
+            if (write.onFailure() != null) {
+                write.onFailure().run();
+            }
+        } finally {
+            inFlight.decrementAndGet();
+            writing = null;
+        }
+    }
+
+    private static void atomicWrite(Content content, File destinationFile) throws IOException {
+        File parent = destinationFile.getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs()) {
+            throw new IOException("Could not create parent directory for " + destinationFile.getName());
+        }
+
+        Path destinationPath = destinationFile.toPath();
+        Path tempPath = destinationPath.resolveSibling(destinationPath.getFileName() + ".tmp");
+        content.writeTo(tempPath.toFile());
+
+        try {
+            Files.move(tempPath, destinationPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException ignored) {
+            Files.move(tempPath, destinationPath, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    @FunctionalInterface
+    public interface Content {
+        void writeTo(File file) throws IOException;
+    }
+
+    public record Stats(int queueDepth, long submitted, long coalesced, long completed, long failed,
+                        double averageLatencyMillis, double maxLatencyMillis) {
+    }
+
+    private record PendingWrite(File destination, Content content, Runnable onSuccess, Runnable onFailure,
+                                long queuedAtNanos) {
+
+        private PendingWrite withQueuedAt(long firstQueuedAtNanos) {
+            return new PendingWrite(destination, content, onSuccess, onFailure, firstQueuedAtNanos);
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package com.extracraft.extrascenesv2.cinematics;
+
+import com.comphenix.protocol.PacketType;
+import com.comphenix.protocol.ProtocolLibrary;
+import com.comphenix.protocol.ProtocolManager;
+import com.comphenix.protocol.events.PacketContainer;
+import com.comphenix.protocol.wrappers.WrappedDataValue;
+import com.comphenix.protocol.wrappers.WrappedDataWatcher;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.EntityType;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.java.JavaPlugin;
+
+/**
+ * Packet-only camera anchors. Each viewer spectates a client-side display entity that is moved with entity
+ * packets, so the camera path never goes through {@code Player#teleport}. The entity sits at the viewer's eye
+ * height above the camera point so the view matches the teleport path.
+ */
+public final class VirtualCameraService {
+
+    private static final double VIEWER_EYE_HEIGHT = 1.62D;
+    private static final double RELATIVE_MOVE_THRESHOLD = 7.9D;
+    private static final int DISPLAY_TELEPORT_DURATION_INDEX = 10;
+    // Above ActorPlaybackService's id range so anchors never collide with actors or their seats.
+    private static final int MIN_ENTITY_ID = Integer.MAX_VALUE - 10_000;
+
+    private final JavaPlugin plugin;
+    private final ProtocolManager protocolManager;
+    private final Map<UUID, Anchor> anchors = new ConcurrentHashMap<>();
+    private final AtomicInteger entitySequence = new AtomicInteger(MIN_ENTITY_ID);
+
+    public VirtualCameraService(JavaPlugin plugin) {
+        this.plugin = plugin;
+        this.protocolManager = ProtocolLibrary.getProtocolManager();
+    }
+
+    public boolean isAttached(Player viewer) {
+        return anchors.containsKey(viewer.getUniqueId());
+    }
+
+    /**
+     * Spawns the anchor at {@code camera} and switches the viewer's camera to it.
+     */
+    public boolean attach(Player viewer, Location camera) {
+        detach(viewer);
+        int entityId = nextEntityId();
+        double y = camera.getY() + VIEWER_EYE_HEIGHT;
+        try {
+            PacketContainer spawn = protocolManager.createPacket(PacketType.Play.Server.SPAWN_ENTITY);
+            spawn.getIntegers().write(0, entityId);
+            spawn.getUUIDs().write(0, UUID.randomUUID());
+            spawn.getEntityTypeModifier().write(0, EntityType.ITEM_DISPLAY);
+            spawn.getDoubles().write(0, camera.getX());
+            spawn.getDoubles().write(1, y);
+            spawn.getDoubles().write(2, camera.getZ());
+            spawn.getBytes().write(0, angleToByte(camera.getPitch()));
+            spawn.getBytes().write(1, angleToByte(camera.getYaw()));
+            protocolManager.sendServerPacket(viewer, spawn);
+
+            PacketContainer setCamera = protocolManager.createPacket(PacketType.Play.Server.CAMERA);
+            setCamera.getIntegers().write(0, entityId);
+            protocolManager.sendServerPacket(viewer, setCamera);
+        } catch (Exception ex) {
+            plugin.getLogger().warning("Virtual camera unavailable for " + viewer.getName() + ": " + ex.getMessage());
+            destroy(viewer, entityId);
+            return false;
+        }
+        anchors.put(viewer.getUniqueId(), new Anchor(entityId, camera.getWorld(), camera.getX(), y, camera.getZ()));
+        return true;
+    }
+
+    /**
+     * Moves the viewer's anchor to {@code camera}. Returns false when the viewer has no anchor, the camera changed
+     * world, or a packet could not be sent; the caller then re-attaches or falls back to teleporting.
+     */
+    public boolean move(Player viewer, Location camera) {
+        Anchor anchor = anchors.get(viewer.getUniqueId());
+        if (anchor == null || anchor.world != camera.getWorld()) {
+            return false;
+        }
+        double x = camera.getX();
+        double y = camera.getY() + VIEWER_EYE_HEIGHT;
+        double z = camera.getZ();
+        double deltaX = x - anchor.x;
+        double deltaY = y - anchor.y;
+        double deltaZ = z - anchor.z;
+        try {
+            PacketContainer packet;
+            if (Math.abs(deltaX) > RELATIVE_MOVE_THRESHOLD
+                    || Math.abs(deltaY) > RELATIVE_MOVE_THRESHOLD
+                    || Math.abs(deltaZ) > RELATIVE_MOVE_THRESHOLD) {
+                packet = protocolManager.createPacket(PacketType.Play.Server.ENTITY_TELEPORT);
+                packet.getIntegers().write(0, anchor.entityId);
+                packet.getDoubles().write(0, x);
+                packet.getDoubles().write(1, y);
+                packet.getDoubles().write(2, z);
+                packet.getBytes().write(0, angleToByte(camera.getYaw()));
+                packet.getBytes().write(1, angleToByte(camera.getPitch()));
+                anchor.moveTo(x, y, z);
+            } else {
+                packet = protocolManager.createPacket(PacketType.Play.Server.REL_ENTITY_MOVE_LOOK);
+                packet.getIntegers().write(0, anchor.entityId);
+                packet.getShorts().write(0, toRelativeShort(deltaX));
+                packet.getShorts().write(1, toRelativeShort(deltaY));
+                packet.getShorts().write(2, toRelativeShort(deltaZ));
+                packet.getBytes().write(0, angleToByte(camera.getYaw()));
+                packet.getBytes().write(1, angleToByte(camera.getPitch()));
+                // Track the position the client ends up at, so rounding of the short deltas does not drift.
+                anchor.moveTo(anchor.x + toRelativeShort(deltaX) / 4096.0D,
+                        anchor.y + toRelativeShort(deltaY) / 4096.0D,
+                        anchor.z + toRelativeShort(deltaZ) / 4096.0D);
+            }
+            protocolManager.sendServerPacket(viewer, packet);
+            return true;
+        } catch (Exception ex) {
+            plugin.getLogger().warning("Virtual camera packet failed for " + viewer.getName() + ": " + ex.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Sends {@code target} as a pose the client reaches over {@code durationTicks} using the display entity's own
+     * position interpolation. Returns the number of packets sent, or 0 when the caller should re-attach or fall back.
+     */
+    public int moveInterpolated(Player viewer, Location target, int durationTicks) {
+        Anchor anchor = anchors.get(viewer.getUniqueId());
+        if (anchor == null) {
+            return 0;
+        }
+        int duration = Math.max(0, Math.min(CameraTrack.MAX_CLIENT_INTERPOLATION_TICKS, durationTicks));
+        int packets = 0;
+        if (anchor.interpolationTicks != duration) {
+            try {
+                PacketContainer metadata = protocolManager.createPacket(PacketType.Play.Server.ENTITY_METADATA);
+                metadata.getIntegers().write(0, anchor.entityId);
+                metadata.getDataValueCollectionModifier().write(0, List.of(new WrappedDataValue(
+                        DISPLAY_TELEPORT_DURATION_INDEX, WrappedDataWatcher.Registry.get(Integer.class), duration)));
+                protocolManager.sendServerPacket(viewer, metadata);
+            } catch (Exception ex) {
+                plugin.getLogger().warning("Virtual camera interpolation failed for " + viewer.getName() + ": " + ex.getMessage());
+                return 0;
+            }
+            anchor.interpolationTicks = duration;
+            packets++;
+        }
+        return move(viewer, target) ? packets + 1 : 0;
+    }
+
+    /**
+     * Gives the viewer their own camera back and removes the anchor.
+     */
+    public void detach(Player viewer) {
+        Anchor anchor = anchors.remove(viewer.getUniqueId());
+        if (anchor == null || !viewer.isOnline()) {
+            return;
+        }
+        try {
+            PacketContainer setCamera = protocolManager.createPacket(PacketType.Play.Server.CAMERA);
+            setCamera.getIntegers().write(0, viewer.getEntityId());
+            protocolManager.sendServerPacket(viewer, setCamera);
+        } catch (Exception ex) {
+            plugin.getLogger().warning("Could not restore camera for " + viewer.getName() + ": " + ex.getMessage());
+        }
+        destroy(viewer, anchor.entityId);
+    }
+
+    public void forget(UUID playerId) {
+        anchors.remove(playerId);
+    }
+
+    private void destroy(Player viewer, int entityId) {
+        try {
+            PacketContainer destroy = protocolManager.createPacket(PacketType.Play.Server.ENTITY_DESTROY);
+            if (destroy.getIntLists().size() > 0) {
+                destroy.getIntLists().write(0, List.of(entityId));
+            } else if (destroy.getIntegerArrays().size() > 0) {
+                destroy.getIntegerArrays().write(0, new int[]{entityId});
+            }
+            protocolManager.sendServerPacket(viewer, destroy);
+        } catch (Exception ex) {
+            plugin.getLogger().warning("Could not remove camera anchor for " + viewer.getName() + ": " + ex.getMessage());
+        }
+    }
+
+    private int nextEntityId() {
+        int id = entitySequence.getAndIncrement();
+        if (id < MIN_ENTITY_ID || id == Integer.MAX_VALUE) {
+            entitySequence.set(MIN_ENTITY_ID);
+            id = entitySequence.getAndIncrement();
+        }
+        return id;
+    }
+
+    private static byte angleToByte(float angle) {
+        return (byte) (angle * 256.0F / 360.0F);
+    }
+
+    private static short toRelativeShort(double delta) {
+        return (short) Math.round(delta * 4096.0D);
+    }
+
+    private static final class Anchor {
+        private final int entityId;
+        private final World world;
+        private double x;
+        private double y;
+        private double z;
+        private int interpolationTicks;
+
+        private Anchor(int entityId, World world, double x, double y, double z) {
+            this.entityId = entityId;
+            this.world = world;
+            this.x = x;
+            this.y = y;
+            this.z = z;
+        }
+
+        private void moveTo(double x, double y, double z) {
+            this.x = x;
+            this.y = y;
+            this.z = z;
+        }
+    }
+}
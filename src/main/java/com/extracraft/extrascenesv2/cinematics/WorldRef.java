@@ -0,0 +1,82 @@
+package com.extracraft.extrascenesv2.cinematics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+
+/**
+ * Interned world key stored in scene data instead of a {@link World}. Scenes keep their points and frames
+ * even when the world is not loaded; the live world is looked up on first use from the server thread and
+ * cached until the world unloads or loads again.
+ */
+public final class WorldRef {
+
+    private static final Map<String, WorldRef> REFS = new ConcurrentHashMap<>();
+
+    private final String name;
+    private volatile World world;
+    private volatile boolean resolved;
+
+    private WorldRef(String name) {
+        this.name = name;
+    }
+
+    public static WorldRef of(String name) {
+        return name == null || name.isBlank() ? null : REFS.computeIfAbsent(name, WorldRef::new);
+    }
+
+    public static WorldRef from(World world) {
+        if (world == null) {
+            return null;
+        }
+        WorldRef ref = of(world.getName());
+        ref.bindTo(world);
+        return ref;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    /**
+     * The loaded world, or null while it is not loaded. Off the server thread only an existing binding is returned.
+     */
+    public World get() {
+        World bound = world;
+        if (bound != null || resolved || !Bukkit.isPrimaryThread()) {
+            return bound;
+        }
+        bound = Bukkit.getWorld(name);
+        bindTo(bound);
+        return bound;
+    }
+
+    public boolean isLoaded() {
+        return get() != null;
+    }
+
+    public static void bind(World world) {
+        WorldRef ref = REFS.get(world.getName());
+        if (ref != null) {
+            ref.bindTo(world);
+        }
+    }
+
+    public static void unbind(World world) {
+        WorldRef ref = REFS.get(world.getName());
+        if (ref != null) {
+            ref.bindTo(null);
+        }
+    }
+
+    private void bindTo(World bound) {
+        world = bound;
+        resolved = true;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -1,30 +1,42 @@
 package com.extracraft.extrascenesv2.commands;
 
+import com.extracraft.extrascenesv2.cinematics.ActorLod;
+import com.extracraft.extrascenesv2.cinematics.CameraRecordingSession;
 import com.extracraft.extrascenesv2.cinematics.Cinematic;
 import com.extracraft.extrascenesv2.cinematics.CinematicAudioTrack;
 import com.extracraft.extrascenesv2.cinematics.CinematicManager;
+import com.extracraft.extrascenesv2.cinematics.ChunkPreloadService;
 import com.extracraft.extrascenesv2.cinematics.CinematicPlaybackService;
 import com.extracraft.extrascenesv2.cinematics.CinematicPoint;
 import com.extracraft.extrascenesv2.cinematics.CinematicSubtitleCue;
+import com.extracraft.extrascenesv2.cinematics.SceneAction;
+import com.extracraft.extrascenesv2.cinematics.SceneActionService;
 import com.extracraft.extrascenesv2.cinematics.SceneActor;
+import com.extracraft.extrascenesv2.cinematics.SceneWriteQueue;
 import com.extracraft.extrascenesv2.cinematics.ActorFrame;
+import com.extracraft.extrascenesv2.cinematics.ActorRecordingJournal;
 import com.extracraft.extrascenesv2.cinematics.ActorPlaybackService;
 import com.extracraft.extrascenesv2.editor.TimelineEditorService;
 import com.extracraft.extrascenesv2.audio.OpenAudioCommandService;
 import com.extracraft.extrascenesv2.commands.audio.AudioCommandHandler;
+import com.extracraft.extrascenesv2.placeholders.CommandTemplate;
+import com.extracraft.extrascenesv2.scheduler.SceneScheduler;
+import com.extracraft.extrascenesv2.scheduler.SceneTask;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import net.kyori.adventure.text.Component;
@@ -33,6 +45,7 @@ import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
 import org.bukkit.Material;
+import org.bukkit.Particle;
 import org.bukkit.World;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
@@ -43,7 +56,8 @@ import org.bukkit.command.TabCompleter;
 import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.java.JavaPlugin;
-import org.bukkit.scheduler.BukkitTask;
+import org.bukkit.potion.PotionEffect;
+import org.bukkit.potion.PotionEffectType;
 
 public final class ExtraScenesCommand implements CommandExecutor, TabCompleter {
 
@@ -55,7 +69,7 @@ public final class ExtraScenesCommand implements CommandExecutor, TabCompleter {
     private static final String C_AQUA = "§b";
     private static final String C_DARK_AQUA = "§3";
 
-    private static final List<String> SUBCOMMANDS = List.of("create", "edit", "play", "stop", "record", "actor", "key", "tickcmd", "placeholders", "finish", "players", "audio", "subtitle", "undo", "redo", "delete", "list", "show", "editor", "reload");
+    private static final List<String> SUBCOMMANDS = List.of("create", "edit", "play", "stop", "screening", "record", "actor", "key", "tickcmd", "action", "placeholders", "finish", "players", "camera", "lod", "audio", "subtitle", "undo", "redo", "delete", "list", "show", "editor", "stats", "reload");
     private static final HttpClient HTTP = HttpClient.newHttpClient();
     private static final Pattern UUID_ID_PATTERN = Pattern.compile("\"id\"\\s*:\\s*\"([a-fA-F0-9]{32})\"");
     private static final Pattern TEXTURE_PATTERN = Pattern.compile("\"value\"\\s*:\\s*\"([^\"]+)\"");
@@ -67,8 +81,9 @@ public final class ExtraScenesCommand implements CommandExecutor, TabCompleter {
     private final JavaPlugin plugin;
     private final CinematicManager manager;
     private final CinematicPlaybackService playbackService;
-    private final Map<UUID, RecordingState> recordings = new HashMap<>();
-    private final Map<UUID, ActorRecordingState> actorRecordings = new HashMap<>();
+    private final SceneScheduler scheduler;
+    private final Map<UUID, RecordingState> recordings = new ConcurrentHashMap<>();
+    private final Map<UUID, ActorRecordingState> actorRecordings = new ConcurrentHashMap<>();
     private final ActorPlaybackService actorPreviewService;
     private final TimelineEditorService timelineEditorService;
     private final OpenAudioCommandService openAudioCommandService;
@@ -76,6 +91,7 @@ public final class ExtraScenesCommand implements CommandExecutor, TabCompleter {
 
     public ExtraScenesCommand(JavaPlugin plugin, CinematicManager manager, CinematicPlaybackService playbackService, TimelineEditorService timelineEditorService) {
         this.plugin = plugin;
+        this.scheduler = new SceneScheduler(plugin);
         this.manager = manager;
         this.playbackService = playbackService;
         this.timelineEditorService = timelineEditorService;
@@ -96,13 +112,17 @@ public final class ExtraScenesCommand implements CommandExecutor, TabCompleter {
             case "edit" -> handleEdit(sender, args);
             case "play" -> handlePlay(sender, args);
             case "stop" -> handleStop(sender, args);
+            case "screening" -> handleScreening(sender, args);
             case "record" -> handleRecord(sender, args);
             case "actor" -> handleActor(sender, args);
             case "key" -> handleKey(sender, args);
             case "finish" -> handleFinish(sender, args);
             case "tickcmd" -> handleTickCommand(sender, args);
+            case "action" -> handleAction(sender, args);
             case "placeholders" -> handlePlaceholders(sender);
             case "players" -> handlePlayers(sender, args);
+            case "camera" -> handleCamera(sender, args);
+            case "lod" -> handleLod(sender, args);
             case "audio" -> handleAudio(sender, args);
             case "subtitle" -> handleSubtitle(sender, args);
             case "undo" -> handleUndo(sender, args);
@@ -111,6 +131,7 @@ public final class ExtraScenesCommand implements CommandExecutor, TabCompleter {
             case "list" -> handleList(sender);
             case "show" -> handleShow(sender, args);
             case "editor" -> handleEditor(sender, args);
+            case "stats" -> handleStats(sender);
             case "reload" -> {
                 shutdown();
                 playbackService.stopAll();
@@ -294,6 +315,90 @@ public final class ExtraScenesCommand implements CommandExecutor, TabCompleter {
         sender.sendMessage(C_GREEN + "Escena '" + args[1] + "': jugadores " + (hidePlayers ? "ocultos" : "visibles") + " durante la cinemática.");
     }
 
+    private void handleCamera(CommandSender sender, String[] args) {
+        if (args.length < 3) {
+            sender.sendMessage(C_RED + "Usage: /scenes camera <scene> <teleport|packet|sparse>");
+            return;
+        }
+
+        String mode = args[2].toLowerCase(Locale.ROOT);
+        if (!mode.equals("teleport") && !mode.equals("packet") && !mode.equals("sparse")) {
+            sender.sendMessage(C_RED + "Modo inválido. Usa teleport, packet o sparse.");
+            return;
+        }
+
+        Cinematic.CameraMode cameraMode = Cinematic.CameraMode.fromString(mode);
+        if (!manager.setCameraMode(args[1], cameraMode)) {
+            sender.sendMessage(C_RED + "That scene does not exist.");
+            return;
+        }
+
+        String description = switch (cameraMode) {
+            case PACKET -> "virtual por paquetes";
+            case SPARSE -> "virtual con interpolación del cliente";
+            default -> "por teleport";
+        };
+        sender.sendMessage(C_GREEN + "Escena '" + args[1] + "': cámara " + description + ".");
+    }
+
+    private void handleLod(CommandSender sender, String[] args) {
+        if (args.length < 2) {
+            sender.sendMessage(C_RED + "Usage: /scenes lod <scene> [on|off|reset|near|distance|angle|interval|despawn <value>]");
+            return;
+        }
+
+        Cinematic cinematic = manager.getCinematic(args[1]).orElse(null);
+        if (cinematic == null) {
+            sender.sendMessage(C_RED + "That scene does not exist.");
+            return;
+        }
+
+        ActorLod current = cinematic.getActorLod();
+        ActorLod effective = current == null ? playbackService.getDefaultActorLod() : current;
+        if (args.length == 2) {
+            sender.sendMessage(C_GOLD + "LOD de actores '" + cinematic.getId() + "'" + C_GRAY
+                    + (current == null ? " (por defecto)" : " (propio)") + ": " + C_YELLOW + effective.describe());
+            return;
+        }
+
+        String setting = args[2].toLowerCase(Locale.ROOT);
+        ActorLod updated;
+        try {
+            updated = switch (setting) {
+                case "on" -> effective.withEnabled(true);
+                case "off" -> effective.withEnabled(false);
+                case "reset" -> null;
+                case "near", "distance", "angle", "interval", "despawn" -> {
+                    if (args.length < 4) {
+                        throw new IllegalArgumentException("Falta el valor para " + setting + ".");
+                    }
+                    yield switch (setting) {
+                        case "near" -> effective.withFullRateDistance(Double.parseDouble(args[3]));
+                        case "distance" -> effective.withViewDistance(Double.parseDouble(args[3]));
+                        case "angle" -> effective.withViewAngle(Double.parseDouble(args[3]));
+                        case "interval" -> effective.withMaxInterval(Integer.parseInt(args[3]));
+                        default -> effective.withDespawnDelay(Integer.parseInt(args[3]));
+                    };
+                }
+                default -> throw new IllegalArgumentException("Opción inválida. Usa on, off, reset, near, distance, angle, interval o despawn.");
+            };
+        } catch (NumberFormatException ex) {
+            sender.sendMessage(C_RED + "Valor inválido: " + args[3]);
+            return;
+        } catch (IllegalArgumentException ex) {
+            sender.sendMessage(C_RED + ex.getMessage());
+            return;
+        }
+
+        if (!manager.setActorLod(args[1], updated)) {
+            sender.sendMessage(C_RED + "That scene does not exist.");
+            return;
+        }
+        ActorLod shown = updated == null ? playbackService.getDefaultActorLod() : updated;
+        sender.sendMessage(C_GREEN + "Escena '" + args[1] + "': LOD de actores " + C_YELLOW + shown.describe()
+                + (updated == null ? C_GRAY + " (por defecto)" : ""));
+    }
+
     private void handlePlay(CommandSender sender, String[] args) {
         if (args.length < 2) {
             sender.sendMessage(C_RED + "Usage: /scenes play <scene> [player] [startTick] [endTick]");
@@ -383,6 +488,124 @@ public final class ExtraScenesCommand implements CommandExecutor, TabCompleter {
         sender.sendMessage(C_GREEN + "Scene stopped for " + target.getName() + ".");
     }
 
+    private void handleScreening(CommandSender sender, String[] args) {
+        if (args.length < 2) {
+            sender.sendMessage(C_RED + "Usage: /scenes screening <start|join|leave|stop|list> ...");
+            return;
+        }
+
+        switch (args[1].toLowerCase(Locale.ROOT)) {
+            case "start" -> handleScreeningStart(sender, args);
+            case "join" -> handleScreeningJoin(sender, args);
+            case "leave" -> handleStop(sender, args.length >= 3 ? new String[]{"stop", args[2]} : new String[]{"stop"});
+            case "stop" -> {
+                if (args.length < 3) {
+                    sender.sendMessage(C_RED + "Usage: /scenes screening stop <scene>");
+                    return;
+                }
+                if (!playbackService.stopScreening(args[2])) {
+                    sender.sendMessage(C_RED + "No screening is running for that scene.");
+                    return;
+                }
+                sender.sendMessage(C_GREEN + "Screening '" + args[2] + "' stopped.");
+            }
+            case "list" -> {
+                List<CinematicPlaybackService.ScreeningInfo> screenings = playbackService.getScreenings();
+                if (screenings.isEmpty()) {
+                    sender.sendMessage(C_YELLOW + "No screenings running.");
+                    return;
+                }
+                sender.sendMessage(C_GOLD + "Screenings:");
+                for (CinematicPlaybackService.ScreeningInfo screening : screenings) {
+                    sender.sendMessage(C_YELLOW + screening.sceneId() + C_GRAY + " -> tick " + screening.tick() + "/"
+                            + screening.endTick() + ", " + screening.viewers() + " viewers");
+                }
+            }
+            default -> sender.sendMessage(C_RED + "Usage: /scenes screening <start|join|leave|stop|list> ...");
+        }
+    }
+
+    private void handleScreeningStart(CommandSender sender, String[] args) {
+        if (args.length < 4) {
+            sender.sendMessage(C_RED + "Usage: /scenes screening start <scene> <all|perm:<permission>|player1,player2,...>");
+            return;
+        }
+
+        Cinematic cinematic = manager.getCinematic(args[2]).orElse(null);
+        if (cinematic == null) {
+            sender.sendMessage(C_RED + "That scene does not exist.");
+            return;
+        }
+
+        String selector = args[3];
+        List<Player> viewers = new ArrayList<>();
+        if (selector.equalsIgnoreCase("all")) {
+            viewers.addAll(Bukkit.getOnlinePlayers());
+        } else if (selector.toLowerCase(Locale.ROOT).startsWith("perm:")) {
+            String permission = selector.substring("perm:".length());
+            for (Player online : Bukkit.getOnlinePlayers()) {
+                if (online.hasPermission(permission)) {
+                    viewers.add(online);
+                }
+            }
+        } else {
+            for (String name : selector.split(",")) {
+                Player viewer = Bukkit.getPlayerExact(name.trim());
+                if (viewer == null) {
+                    sender.sendMessage(C_RED + "Player not found: " + name.trim());
+                    continue;
+                }
+                viewers.add(viewer);
+            }
+        }
+
+        if (viewers.isEmpty()) {
+            sender.sendMessage(C_RED + "No players matched " + selector + ".");
+            return;
+        }
+
+        if (cinematic.isEmpty()) {
+            sender.sendMessage(C_RED + "This scene has no keyframes.");
+            return;
+        }
+
+        int joined = playbackService.startScreening(cinematic, viewers);
+        if (joined == 0) {
+            sender.sendMessage(C_RED + "None of the players matched by " + selector + " is online.");
+            return;
+        }
+        sender.sendMessage(C_GREEN + "Screening '" + cinematic.getId() + "' started for " + joined + " players.");
+    }
+
+    private void handleScreeningJoin(CommandSender sender, String[] args) {
+        if (args.length < 3) {
+            sender.sendMessage(C_RED + "Usage: /scenes screening join <scene> [player]");
+            return;
+        }
+
+        Player target;
+        if (args.length >= 4) {
+            target = Bukkit.getPlayerExact(args[3]);
+            if (target == null) {
+                sender.sendMessage(C_RED + "Player not found: " + args[3]);
+                return;
+            }
+        } else {
+            if (!(sender instanceof Player player)) {
+                sender.sendMessage(C_RED + "Console must provide a target player: /scenes screening join <scene> <player>");
+                return;
+            }
+            target = player;
+        }
+
+        if (!playbackService.joinScreening(args[2], target)) {
+            sender.sendMessage(C_RED + "No screening is running for that scene, or " + target.getName() + " is already watching it.");
+            return;
+        }
+        sender.sendMessage(C_GREEN + target.getName() + " joined screening '" + args[2] + "' at tick "
+                + playbackService.getCurrentTick(target.getUniqueId()) + ".");
+    }
+
     private void handleRecord(CommandSender sender, String[] args) {
         if (!(sender instanceof Player player)) {
             sender.sendMessage(C_RED + "Only players can record scenes.");
@@ -437,8 +660,9 @@ public final class ExtraScenesCommand implements CommandExecutor, TabCompleter {
 
         stopAndRemoveRecording(player.getUniqueId());
 
-        RecordingState state = new RecordingState(args[2], everyTicks, maxTicks);
-        state.task = Bukkit.getScheduler().runTaskTimer(plugin, () -> {
+        RecordingState state = new RecordingState(args[2], everyTicks, maxTicks,
+                manager.beginCameraRecording(args[2], CinematicPoint.InterpolationMode.SMOOTH));
+        state.task = scheduler.runForTimer(player, () -> {
             Player current = Bukkit.getPlayer(player.getUniqueId());
             if (current == null || !current.isOnline()) {
                 stopAndRemoveRecording(player.getUniqueId());
@@ -448,12 +672,16 @@ public final class ExtraScenesCommand implements CommandExecutor, TabCompleter {
             if (state.currentTick > state.maxTicks) {
                 stopAndRemoveRecording(player.getUniqueId());
                 current.sendMessage(C_GREEN + "Recording finished at " + state.currentTick + " ticks.");
-                manager.save();
                 return;
             }
 
-            manager.upsertPoint(state.sceneId, state.currentTick, current.getLocation(), CinematicPoint.InterpolationMode.SMOOTH);
+            state.session.sample(state.currentTick, current.getLocation());
             state.currentTick += state.everyTicks;
+        }, () -> {
+            // Folia retires the task when the player quits; commit the take instead of leaking it.
+            if (recordings.get(player.getUniqueId()) == state) {
+                stopAndRemoveRecording(player.getUniqueId());
+            }
         }, 0L, everyTicks);
 
         recordings.put(player.getUniqueId(), state);
@@ -466,7 +694,6 @@ public final class ExtraScenesCommand implements CommandExecutor, TabCompleter {
             return;
         }
 
-        manager.save();
         player.sendMessage(C_GREEN + "Recording stopped.");
     }
 
@@ -856,8 +1083,9 @@ public final class ExtraScenesCommand implements CommandExecutor, TabCompleter {
         }
 
         ActorFrame anchor = findActorFrameAtTick(actor, startTick);
-        if (anchor != null && anchor.location() != null) {
-            player.teleport(anchor.location());
+        Location anchorLocation = anchor == null ? null : anchor.location();
+        if (anchorLocation != null && anchorLocation.getWorld() != null) {
+            scheduler.teleport(player, anchorLocation);
         }
 
         stopActorRecording(player.getUniqueId());
@@ -869,28 +1097,20 @@ public final class ExtraScenesCommand implements CommandExecutor, TabCompleter {
 
         player.sendMessage(C_GREEN + "Preparado recordfrom tick " + startTick + ". Cuenta regresiva iniciada.");
         player.showTitle(Title.title(Component.text(C_YELLOW + "Recording actor en"), Component.text(C_GOLD + "3")));
-        state.countdownTaskTwo = Bukkit.getScheduler().runTaskLater(plugin,
+        state.countdownTaskTwo = scheduler.runForLater(player,
                 () -> player.showTitle(Title.title(Component.text(C_YELLOW + "Recording actor en"), Component.text(C_GOLD + "2"))),
-                20L);
-        state.countdownTaskOne = Bukkit.getScheduler().runTaskLater(plugin,
+                null, 20L);
+        state.countdownTaskOne = scheduler.runForLater(player,
                 () -> player.showTitle(Title.title(Component.text(C_YELLOW + "Recording actor en"), Component.text(C_GOLD + "1"))),
-                40L);
-        state.startTask = Bukkit.getScheduler().runTaskLater(plugin, () -> startActorRecordingTask(player, state), 60L);
+                null, 40L);
+        state.startTask = scheduler.runForLater(player, () -> startActorRecordingTask(player, state), null, 60L);
     }
 
     private ActorFrame findActorFrameAtTick(SceneActor actor, int tick) {
-        if (actor == null || actor.frames().isEmpty()) {
+        if (actor == null || actor.track().isEmpty()) {
             return null;
         }
-        ActorFrame candidate = actor.frames().get(0);
-        for (ActorFrame frame : actor.frames()) {
-            if (frame.tick() <= tick) {
-                candidate = frame;
-                continue;
-            }
-            break;
-        }
-        return candidate;
+        return actor.track().frameAt(Math.max(0, actor.track().indexAtOrBefore(tick)));
     }
 
     private void handleActorRecord(CommandSender sender, String[] args) {
@@ -933,13 +1153,13 @@ public final class ExtraScenesCommand implements CommandExecutor, TabCompleter {
         });
 
         player.showTitle(Title.title(Component.text(C_YELLOW + "Recording actor en"), Component.text(C_GOLD + "3")));
-        state.countdownTaskTwo = Bukkit.getScheduler().runTaskLater(plugin,
+        state.countdownTaskTwo = scheduler.runForLater(player,
                 () -> player.showTitle(Title.title(Component.text(C_YELLOW + "Recording actor en"), Component.text(C_GOLD + "2"))),
-                20L);
-        state.countdownTaskOne = Bukkit.getScheduler().runTaskLater(plugin,
+                null, 20L);
+        state.countdownTaskOne = scheduler.runForLater(player,
                 () -> player.showTitle(Title.title(Component.text(C_YELLOW + "Recording actor en"), Component.text(C_GOLD + "1"))),
-                40L);
-        state.startTask = Bukkit.getScheduler().runTaskLater(plugin, () -> startActorRecordingTask(player, state), 60L);
+                null, 40L);
+        state.startTask = scheduler.runForLater(player, () -> startActorRecordingTask(player, state), null, 60L);
     }
 
     private void startActorRecordingTask(Player player, ActorRecordingState state) {
@@ -948,9 +1168,10 @@ public final class ExtraScenesCommand implements CommandExecutor, TabCompleter {
         }
 
         state.lastRecordedTick = state.tick;
+        state.journal = manager.openRecordingJournal(state.sceneId, state.actorId);
         startActorRecordingAudio(player, state);
 
-        state.task = Bukkit.getScheduler().runTaskTimer(plugin, () -> {
+        state.task = scheduler.runForTimer(player, () -> {
             Player online = Bukkit.getPlayer(player.getUniqueId());
             if (online == null || !online.isOnline()) {
                 stopActorRecording(player.getUniqueId());
@@ -959,12 +1180,13 @@ public final class ExtraScenesCommand implements CommandExecutor, TabCompleter {
 
             int targetTick = Math.min(state.maxTicks, state.tick + ACTOR_RECORDING_SAMPLE_EVERY_TICKS);
             state.appendFrame(online, targetTick);
+            journalActorRecording(state);
             manager.getCinematic(state.sceneId).ifPresent(cinematic -> {
                 actorPreviewService.tick(online, cinematic, state.tick, state.actorId);
                 playbackService.syncSubtitleForTick(online, cinematic, state.tick);
             });
 
-            if (!persistActorRecordingProgress(state)) {
+            if (++state.ticksSinceCheckpoint >= getActorCheckpointTicks() && !persistActorRecordingProgress(state)) {
                 online.sendMessage(C_RED + "No se pudo persistir el recording del actor. Grabación detenida para evitar pérdida de datos.");
                 stopActorRecording(online.getUniqueId());
                 return;
@@ -975,7 +1197,7 @@ public final class ExtraScenesCommand implements CommandExecutor, TabCompleter {
             if (state.tick >= state.maxTicks) {
                 saveActorRecording(online);
             }
-        }, 0L, 1L);
+        }, null, 0L, 1L);
     }
 
     private void previewSubtitleAtTick(Player player, Cinematic cinematic, int tick) {
@@ -1052,7 +1274,11 @@ public final class ExtraScenesCommand implements CommandExecutor, TabCompleter {
         if (state == null) {
             return;
         }
-        persistActorRecordingProgress(state);
+        if (persistActorRecordingProgress(state)) {
+            manager.discardRecordingJournal(state.journal);
+        } else {
+            closeActorRecordingJournal(state);
+        }
         stopActorRecordingAudio(state);
         if (state.task != null) {
             state.task.cancel();
@@ -1080,16 +1306,52 @@ public final class ExtraScenesCommand implements CommandExecutor, TabCompleter {
     }
 
     private boolean persistActorRecordingProgress(ActorRecordingState state) {
-        if (state == null || state.frames.isEmpty()) {
+        if (state == null) {
+            return true;
+        }
+        state.ticksSinceCheckpoint = 0;
+        if (state.frames.size() == state.checkpointedFrames) {
             return true;
         }
-        if (!manager.saveActorFrames(state.sceneId, state.actorId, state.frames)) {
+        if (!manager.saveActorFrames(state.sceneId, state.actorId, state.frames, state.checkpointedFrames == 0)) {
             return false;
         }
-        manager.save();
+        state.checkpointedFrames = state.frames.size();
         return true;
     }
 
+    private void journalActorRecording(ActorRecordingState state) {
+        if (state.journal == null) {
+            return;
+        }
+        try {
+            while (state.journaledFrames < state.frames.size()) {
+                state.journal.append(state.frames.get(state.journaledFrames++));
+            }
+            if (state.tick % 20 == 0 || state.tick >= state.maxTicks) {
+                state.journal.flush();
+            }
+        } catch (IOException ex) {
+            plugin.getLogger().warning("Could not append to actor recording journal for " + state.sceneId + "/" + state.actorId + ": " + ex.getMessage());
+            closeActorRecordingJournal(state);
+        }
+    }
+
+    private void closeActorRecordingJournal(ActorRecordingState state) {
+        if (state.journal == null) {
+            return;
+        }
+        try {
+            state.journal.close();
+        } catch (IOException ignored) {
+        }
+        state.journal = null;
+    }
+
+    private int getActorCheckpointTicks() {
+        return Math.max(1, plugin.getConfig().getInt("recording.actor-checkpoint-seconds", 10)) * 20;
+    }
+
     private void giveSaveRecorderItem(Player player) {
         ItemStack item = new ItemStack(Material.LIME_DYE);
         ItemMeta meta = item.getItemMeta();
@@ -1344,7 +1606,14 @@ public final class ExtraScenesCommand implements CommandExecutor, TabCompleter {
             return;
         }
 
-        player.teleport(point.location());
+        Location location = point.location();
+        if (location.getWorld() == null) {
+            sender.sendMessage(C_RED + "World '" + (point.world() == null ? "?" : point.world().name())
+                    + "' of that keyframe is not loaded.");
+            return;
+        }
+
+        scheduler.teleport(player, location);
         sender.sendMessage(C_GREEN + "Teleported to keyframe tick " + tick + " of scene '" + cinematic.getId() + "'.");
     }
 
@@ -1485,6 +1754,233 @@ public final class ExtraScenesCommand implements CommandExecutor, TabCompleter {
                 : "Commands removed at tick " + tick + "."));
     }
 
+    private void handleAction(CommandSender sender, String[] args) {
+        if (args.length < 3) {
+            sender.sendMessage(C_RED + "Usage: /scenes action <add|remove|list|clear> ...");
+            return;
+        }
+
+        switch (args[1].toLowerCase(Locale.ROOT)) {
+            case "add" -> handleActionAdd(sender, args);
+            case "remove" -> handleActionRemove(sender, args);
+            case "list" -> handleActionList(sender, args);
+            case "clear" -> handleActionClear(sender, args);
+            default -> sender.sendMessage(C_RED + "Usage: /scenes action <add|remove|list|clear> ...");
+        }
+    }
+
+    private void handleActionAdd(CommandSender sender, String[] args) {
+        if (args.length < 6) {
+            sendActionAddUsage(sender);
+            return;
+        }
+
+        int tick;
+        try {
+            tick = Math.max(0, Integer.parseInt(args[3]));
+        } catch (NumberFormatException ex) {
+            sender.sendMessage(C_RED + "Invalid tick.");
+            return;
+        }
+
+        SceneAction action;
+        try {
+            action = parseAction(sender, args[4], Arrays.copyOfRange(args, 5, args.length));
+        } catch (NumberFormatException ex) {
+            sender.sendMessage(C_RED + "Número inválido: " + ex.getMessage());
+            return;
+        }
+        if (action == null) {
+            return;
+        }
+
+        if (!manager.addTickAction(args[2], tick, action)) {
+            sender.sendMessage(C_RED + "That scene does not exist.");
+            return;
+        }
+
+        sender.sendMessage(C_GREEN + "Action added at tick " + tick + ": " + C_GRAY + action.describe());
+    }
+
+    /**
+     * Builds an action from the arguments after its type; reports the problem and returns null when they are invalid.
+     */
+    private SceneAction parseAction(CommandSender sender, String typeName, String[] values) {
+        SceneAction.Type type = SceneAction.Type.fromString(typeName);
+        if (type == null) {
+            sendActionAddUsage(sender);
+            return null;
+        }
+
+        switch (type) {
+            case SOUND -> {
+                float volume = values.length >= 2 ? Float.parseFloat(values[1]) : 1.0F;
+                float pitch = values.length >= 3 ? Float.parseFloat(values[2]) : 1.0F;
+                return new SceneAction.PlaySound(values[0], volume, pitch, !isWorldScope(values, 3));
+            }
+            case TITLE -> {
+                if (values.length < 4) {
+                    sender.sendMessage(C_RED + "Usage: /scenes action add <scene> <tick> title <fadeIn> <stay> <fadeOut> <title> [| <subtitle>]");
+                    return null;
+                }
+                String text = String.join(" ", Arrays.copyOfRange(values, 3, values.length));
+                int separator = text.indexOf('|');
+                String title = separator < 0 ? text : text.substring(0, separator);
+                String subtitle = separator < 0 ? "" : text.substring(separator + 1);
+                return new SceneAction.ShowTitle(CommandTemplate.parse(title.trim()), CommandTemplate.parse(subtitle.trim()),
+                        Integer.parseInt(values[0]), Integer.parseInt(values[1]), Integer.parseInt(values[2]));
+            }
+            case ACTIONBAR -> {
+                return new SceneAction.ShowActionBar(CommandTemplate.parse(String.join(" ", values)));
+            }
+            case PARTICLE -> {
+                if (values.length < 4) {
+                    sender.sendMessage(C_RED + "Usage: /scenes action add <scene> <tick> particle <particle> <x> <y> <z> [count] [spread] [speed] [viewer|world]");
+                    return null;
+                }
+                Particle particle = SceneAction.particleByName(values[0]);
+                if (particle == null) {
+                    sender.sendMessage(C_RED + "Partícula desconocida o que necesita datos extra: " + values[0]);
+                    return null;
+                }
+                boolean relative = values[1].startsWith("~");
+                if (values[2].startsWith("~") != relative || values[3].startsWith("~") != relative) {
+                    sender.sendMessage(C_RED + "Usa ~ en las tres coordenadas (relativas a la cámara) o en ninguna.");
+                    return null;
+                }
+                return new SceneAction.SpawnParticle(particle, coordinate(values[1]), coordinate(values[2]), coordinate(values[3]),
+                        relative,
+                        values.length >= 5 ? Integer.parseInt(values[4]) : 1,
+                        values.length >= 6 ? Double.parseDouble(values[5]) : 0.0D,
+                        values.length >= 7 ? Double.parseDouble(values[6]) : 0.0D,
+                        !isWorldScope(values, 7));
+            }
+            case POTION -> {
+                if (values.length < 2) {
+                    sender.sendMessage(C_RED + "Usage: /scenes action add <scene> <tick> potion <effect> <durationTicks> [amplifier]");
+                    return null;
+                }
+                PotionEffectType effect = SceneAction.effectByName(values[0]);
+                if (effect == null) {
+                    sender.sendMessage(C_RED + "Efecto desconocido: " + values[0]);
+                    return null;
+                }
+                int duration = Math.max(1, Integer.parseInt(values[1]));
+                int amplifier = values.length >= 3 ? Math.max(0, Integer.parseInt(values[2])) : 0;
+                return new SceneAction.AddPotion(new PotionEffect(effect, duration, amplifier, false, false, true));
+            }
+        }
+        return null;
+    }
+
+    private static boolean isWorldScope(String[] values, int index) {
+        return values.length > index && "world".equalsIgnoreCase(values[index]);
+    }
+
+    private static double coordinate(String value) {
+        String number = value.startsWith("~") ? value.substring(1) : value;
+        return number.isEmpty() ? 0.0D : Double.parseDouble(number);
+    }
+
+    private void sendActionAddUsage(CommandSender sender) {
+        sender.sendMessage(C_RED + "Usage: /scenes action add <scene> <tick> <type> ...");
+        sender.sendMessage(C_YELLOW + "sound <sound> [volume] [pitch] [viewer|world]");
+        sender.sendMessage(C_YELLOW + "title <fadeIn> <stay> <fadeOut> <title> [| <subtitle>]");
+        sender.sendMessage(C_YELLOW + "actionbar <text>");
+        sender.sendMessage(C_YELLOW + "particle <particle> <x|~x> <y|~y> <z|~z> [count] [spread] [speed] [viewer|world]");
+        sender.sendMessage(C_YELLOW + "potion <effect> <durationTicks> [amplifier]");
+    }
+
+    private void handleActionRemove(CommandSender sender, String[] args) {
+        if (args.length < 5) {
+            sender.sendMessage(C_RED + "Usage: /scenes action remove <scene> <tick> <index>");
+            return;
+        }
+
+        int tick;
+        int index;
+        try {
+            tick = Math.max(0, Integer.parseInt(args[3]));
+            index = Integer.parseInt(args[4]);
+        } catch (NumberFormatException ex) {
+            sender.sendMessage(C_RED + "Invalid tick or index.");
+            return;
+        }
+
+        if (!manager.removeTickAction(args[2], tick, index)) {
+            sender.sendMessage(C_RED + "Could not remove action. Check scene/tick/index.");
+            return;
+        }
+
+        sender.sendMessage(C_GREEN + "Acción #" + index + " eliminada en tick " + tick + ".");
+    }
+
+    private void handleActionList(CommandSender sender, String[] args) {
+        Cinematic cinematic = manager.getCinematic(args[2]).orElse(null);
+        if (cinematic == null) {
+            sender.sendMessage(C_RED + "That scene does not exist.");
+            return;
+        }
+
+        if (args.length >= 4) {
+            int tick;
+            try {
+                tick = Math.max(0, Integer.parseInt(args[3]));
+            } catch (NumberFormatException ex) {
+                sender.sendMessage(C_RED + "Invalid tick.");
+                return;
+            }
+
+            List<SceneAction> actions = cinematic.getTickActions().getOrDefault(tick, List.of());
+            if (actions.isEmpty()) {
+                sender.sendMessage(C_YELLOW + "There are no actions at tick " + tick + ".");
+                return;
+            }
+
+            sender.sendMessage(C_GOLD + "Actions at tick " + tick + " (" + cinematic.getId() + "):");
+            for (int i = 0; i < actions.size(); i++) {
+                sender.sendMessage(C_YELLOW + "#" + (i + 1) + C_GRAY + " " + actions.get(i).describe());
+            }
+            return;
+        }
+
+        if (cinematic.getTickActions().isEmpty()) {
+            sender.sendMessage(C_YELLOW + "This scene has no per-tick actions.");
+            return;
+        }
+
+        sender.sendMessage(C_GOLD + "Ticks with actions in '" + cinematic.getId() + "':");
+        for (Map.Entry<Integer, List<SceneAction>> entry : cinematic.getTickActions().entrySet()) {
+            sender.sendMessage(C_YELLOW + "Tick " + entry.getKey() + C_GRAY + " -> " + entry.getValue().size() + " action(s)");
+        }
+    }
+
+    private void handleActionClear(CommandSender sender, String[] args) {
+        if (args.length < 4) {
+            sender.sendMessage(C_RED + "Usage: /scenes action clear <scene> <all|tick>");
+            return;
+        }
+
+        Integer tick = null;
+        if (!"all".equalsIgnoreCase(args[3])) {
+            try {
+                tick = Math.max(0, Integer.parseInt(args[3]));
+            } catch (NumberFormatException ex) {
+                sender.sendMessage(C_RED + "Use all or a valid tick.");
+                return;
+            }
+        }
+
+        if (!manager.clearTickActions(args[2], tick)) {
+            sender.sendMessage(C_RED + "That scene does not exist.");
+            return;
+        }
+
+        sender.sendMessage(C_GREEN + (tick == null
+                ? "All per-tick actions were removed."
+                : "Actions removed at tick " + tick + "."));
+    }
+
     private void handlePlaceholders(CommandSender sender) {
         sender.sendMessage(C_GOLD + "Placeholders disponibles de PlaceholderAPI:");
         sender.sendMessage(C_GRAY + "Formato general: %scenes_<placeholder>%");
@@ -1608,6 +2104,70 @@ public final class ExtraScenesCommand implements CommandExecutor, TabCompleter {
         sender.sendMessage(C_GOLD + "Scene " + cinematic.getId() + C_GRAY + " -> duration " + cinematic.getDurationTicks() + "t, " + cinematic.getPoints().size() + " keyframes");
         sender.sendMessage(C_GRAY + "Ending: " + describeEndAction(cinematic.getEndAction()));
         sender.sendMessage(C_GRAY + "Players during playback: " + (cinematic.shouldHidePlayersDuringPlayback() ? "hidden" : "visible"));
+        sender.sendMessage(C_GRAY + "Camera: " + cinematic.getCameraMode().name().toLowerCase(Locale.ROOT));
+        sender.sendMessage(C_GRAY + "Actor LOD: " + (cinematic.getActorLod() == null
+                ? "default (" + playbackService.getDefaultActorLod().describe() + ")"
+                : cinematic.getActorLod().describe()));
+    }
+
+    private void handleStats(CommandSender sender) {
+        SceneWriteQueue.Stats stats = manager.getPersistenceStats();
+        sender.sendMessage(C_GOLD + "ExtraScenesV2 stats:");
+        sender.sendMessage(C_GRAY + "Scene writes: " + C_YELLOW + stats.completed() + " written" + C_GRAY + ", "
+                + C_YELLOW + stats.coalesced() + " coalesced" + C_GRAY + ", "
+                + C_YELLOW + stats.failed() + " failed" + C_GRAY + ", queue " + C_YELLOW + stats.queueDepth());
+        sender.sendMessage(C_GRAY + "Write latency: " + C_YELLOW + String.format(Locale.ROOT, "%.1f", stats.averageLatencyMillis())
+                + "ms avg" + C_GRAY + ", " + C_YELLOW + String.format(Locale.ROOT, "%.1f", stats.maxLatencyMillis()) + "ms max");
+        CinematicManager.HistoryStats history = manager.getHistoryStats();
+        sender.sendMessage(C_GRAY + "Undo history: " + C_YELLOW + history.entries() + " entries" + C_GRAY + ", ~"
+                + C_YELLOW + (history.retainedBytes() / 1024L) + "KB" + C_GRAY + ", " + C_YELLOW + history.evictions() + " evicted");
+        CinematicPlaybackService.DriverStats driver = playbackService.getDriverStats();
+        sender.sendMessage(C_GRAY + "Playback: " + C_YELLOW + driver.active() + "/" + driver.sessions() + " sessions active" + C_GRAY + ", tick "
+                + C_YELLOW + String.format(Locale.ROOT, "%.2f", driver.lastTickMillis()) + "ms" + C_GRAY + " (avg "
+                + C_YELLOW + String.format(Locale.ROOT, "%.2f", driver.averageTickMillis()) + "ms" + C_GRAY + ", max "
+                + C_YELLOW + String.format(Locale.ROOT, "%.2f", driver.maxTickMillis()) + "ms" + C_GRAY + ")");
+        List<CinematicPlaybackService.ScreeningInfo> screenings = playbackService.getScreenings();
+        if (!screenings.isEmpty()) {
+            sender.sendMessage(C_GRAY + "Screenings: " + C_YELLOW + screenings.size() + C_GRAY + ", "
+                    + C_YELLOW + screenings.stream().mapToInt(CinematicPlaybackService.ScreeningInfo::viewers).sum() + " viewers");
+        }
+        if (!driver.slowestSession().isEmpty()) {
+            sender.sendMessage(C_GRAY + "Slowest session: " + C_YELLOW + driver.slowestSession() + C_GRAY + " "
+                    + C_YELLOW + String.format(Locale.ROOT, "%.2f", driver.slowestSessionMillis()) + "ms");
+        }
+        playbackService.getCameraStats().stream()
+                .sorted(Comparator.comparingLong(CinematicPlaybackService.CameraStats::ticks).reversed())
+                .limit(5)
+                .forEach(camera -> sender.sendMessage(C_GRAY + "Camera " + C_YELLOW + camera.sceneId() + C_GRAY + " ("
+                        + camera.mode().name().toLowerCase(Locale.ROOT) + "): " + C_YELLOW + camera.packets() + " packets"
+                        + C_GRAY + " over " + C_YELLOW + camera.ticks() + " ticks" + C_GRAY + ", "
+                        + C_YELLOW + camera.packetsSaved() + " saved"));
+        ChunkPreloadService.PreloadStats preload = playbackService.getPreloadStats();
+        sender.sendMessage(C_GRAY + "Chunk preload: " + C_YELLOW + preload.tickets() + " tickets" + C_GRAY + " for "
+                + C_YELLOW + preload.windows() + " windows" + C_GRAY + ", " + C_YELLOW + preload.loadsCompleted() + "/"
+                + preload.loadsRequested() + " loads");
+        ActorPlaybackService.FrameCacheStats actorFrames = playbackService.getActorFrameCacheStats();
+        sender.sendMessage(C_GRAY + "Actor poses: " + C_YELLOW + actorFrames.shared() + " shared" + C_GRAY + ", "
+                + C_YELLOW + actorFrames.computed() + " interpolated");
+        ActorPlaybackService.UpdateStats actorUpdates = playbackService.getActorUpdateStats();
+        sender.sendMessage(C_GRAY + "Actor updates: " + C_YELLOW + actorUpdates.sent() + " sent" + C_GRAY + ", "
+                + C_YELLOW + actorUpdates.skipped() + " unchanged" + C_GRAY + ", "
+                + C_YELLOW + actorUpdates.keepAlives() + " keep-alive");
+        ActorPlaybackService.BundleStats bundles = playbackService.getActorBundleStats();
+        sender.sendMessage(C_GRAY + "Actor bundles: " + (bundles.enabled() ? C_GREEN + "on" : C_RED + "off") + C_GRAY + ", "
+                + C_YELLOW + bundles.bundles() + " bundles" + C_GRAY + " carrying " + C_YELLOW + bundles.packets() + " packets");
+        ActorPlaybackService.LodStats lod = playbackService.getActorLodStats();
+        sender.sendMessage(C_GRAY + "Actor LOD: " + C_YELLOW + lod.throttled() + " throttled" + C_GRAY + ", "
+                + C_YELLOW + lod.culled() + " culled" + C_GRAY + " actor-ticks, "
+                + C_YELLOW + lod.despawns() + " lazy despawns" + C_GRAY + ", " + C_YELLOW + lod.respawns() + " respawns");
+        SceneActionService.ActionStats actions = playbackService.getActionStats();
+        sender.sendMessage(C_GRAY + "Scene actions: " + C_YELLOW + actions.executed() + " run" + C_GRAY + ", "
+                + C_YELLOW + actions.failed() + " failed");
+        CinematicManager.CacheStats cache = manager.getCacheStats();
+        sender.sendMessage(C_GRAY + "Scene cache: " + C_YELLOW + cache.materialized() + "/" + cache.indexed() + " loaded" + C_GRAY + ", ~"
+                + C_YELLOW + (cache.cachedBytes() / 1024L) + "KB" + C_GRAY + " of " + C_YELLOW + (cache.budgetBytes() / 1024L / 1024L) + "MB"
+                + C_GRAY + ", " + C_YELLOW + cache.hits() + " hits" + C_GRAY + ", " + C_YELLOW + cache.loads() + " loads"
+                + C_GRAY + ", " + C_YELLOW + cache.evictions() + " evicted");
     }
 
     private void handleEditor(CommandSender sender, String[] args) {
@@ -1702,6 +2262,8 @@ public final class ExtraScenesCommand implements CommandExecutor, TabCompleter {
         sender.sendMessage(C_YELLOW + "/scenes edit <scene>");
         sender.sendMessage(C_YELLOW + "/scenes play <scene> [player] [startTick] [endTick]");
         sender.sendMessage(C_YELLOW + "/scenes stop [player]");
+        sender.sendMessage(C_YELLOW + "/scenes screening start <scene> <all|perm:<permission>|player1,player2,...>");
+        sender.sendMessage(C_YELLOW + "/scenes screening <join <scene> [player]|leave [player]|stop <scene>|list>");
         sender.sendMessage(C_YELLOW + "/scenes record start <scene> [everyTicks] [duration:10s|200t]");
         sender.sendMessage(C_YELLOW + "/scenes record stop");
         sender.sendMessage(C_YELLOW + "/scenes record clear <scene> confirm");
@@ -1723,10 +2285,14 @@ public final class ExtraScenesCommand implements CommandExecutor, TabCompleter {
         sender.sendMessage(C_YELLOW + "/scenes key clear <scene> confirm");
         sender.sendMessage(C_YELLOW + "/scenes finish <scene> <return|stay|teleport_here|teleport>");
         sender.sendMessage(C_YELLOW + "/scenes players <scene> <hide|show>");
+        sender.sendMessage(C_YELLOW + "/scenes camera <scene> <teleport|packet|sparse>");
+        sender.sendMessage(C_YELLOW + "/scenes lod <scene> [on|off|reset|near|distance|angle|interval|despawn <value>]");
         sender.sendMessage(C_YELLOW + "/scenes tickcmd <add|remove|list|clear> ...");
+        sender.sendMessage(C_YELLOW + "/scenes action <add|remove|list|clear> ...");
         sender.sendMessage(C_YELLOW + "/scenes audio <set|clear|playtemplate|stoptemplate|show> ...");
         sender.sendMessage(C_YELLOW + "/scenes editor <open|close|play|pause|seek|to>");
         sender.sendMessage(C_YELLOW + "/scenes placeholders");
+        sender.sendMessage(C_YELLOW + "/scenes stats");
     }
 
     private boolean stopAndRemoveRecording(UUID playerId) {
@@ -1737,6 +2303,7 @@ public final class ExtraScenesCommand implements CommandExecutor, TabCompleter {
         if (state.task != null) {
             state.task.cancel();
         }
+        manager.commitCameraRecording(state.session);
         return true;
     }
 
@@ -1821,13 +2388,25 @@ public final class ExtraScenesCommand implements CommandExecutor, TabCompleter {
             return SUBCOMMANDS.stream().filter(s -> s.startsWith(args[0].toLowerCase(Locale.ROOT))).toList();
         }
 
-        if (args.length == 2 && Arrays.asList("edit", "play", "delete", "show", "finish").contains(args[0].toLowerCase(Locale.ROOT))) {
+        if (args.length == 2 && Arrays.asList("edit", "play", "delete", "show", "finish", "camera", "lod").contains(args[0].toLowerCase(Locale.ROOT))) {
             return manager.getCinematicIds().stream().filter(s -> s.startsWith(args[1])).toList();
         }
 
         if (args.length == 2 && args[0].equalsIgnoreCase("record")) {
             return List.of("start", "stop", "clear");
         }
+        if (args.length == 2 && args[0].equalsIgnoreCase("screening")) {
+            return List.of("start", "join", "leave", "stop", "list");
+        }
+        if (args.length == 3 && args[0].equalsIgnoreCase("screening") && args[1].equalsIgnoreCase("start")) {
+            return manager.getCinematicIds().stream().filter(s -> s.startsWith(args[2])).toList();
+        }
+        if (args.length == 3 && args[0].equalsIgnoreCase("screening") && List.of("join", "stop").contains(args[1].toLowerCase(Locale.ROOT))) {
+            return playbackService.getScreenings().stream()
+                    .map(CinematicPlaybackService.ScreeningInfo::id)
+                    .filter(id -> id.startsWith(args[2]))
+                    .toList();
+        }
         if (args.length == 2 && args[0].equalsIgnoreCase("actor")) {
             return List.of("create", "delete", "skin", "scale", "window", "select", "record", "recordfrom");
         }
@@ -1852,8 +2431,8 @@ public final class ExtraScenesCommand implements CommandExecutor, TabCompleter {
             if (sceneId == null) {
                 return Collections.emptyList();
             }
-            return manager.getCinematic(sceneId)
-                    .map(cinematic -> cinematic.getActors().values().stream().map(SceneActor::id).filter(id -> id.startsWith(args[2])).toList())
+            return manager.getSceneSummary(sceneId)
+                    .map(summary -> summary.actorIds().stream().filter(id -> id.startsWith(args[2])).toList())
                     .orElse(Collections.emptyList());
         }
 
@@ -1870,8 +2449,8 @@ public final class ExtraScenesCommand implements CommandExecutor, TabCompleter {
         }
 
         if (args.length == 4 && args[0].equalsIgnoreCase("actor") && List.of("delete", "skin", "scale", "window").contains(args[1].toLowerCase(Locale.ROOT))) {
-            return manager.getCinematic(args[2])
-                    .map(cinematic -> cinematic.getActors().values().stream().map(SceneActor::id).filter(id -> id.startsWith(args[3])).toList())
+            return manager.getSceneSummary(args[2])
+                    .map(summary -> summary.actorIds().stream().filter(id -> id.startsWith(args[3])).toList())
                     .orElse(Collections.emptyList());
         }
 
@@ -1902,8 +2481,8 @@ public final class ExtraScenesCommand implements CommandExecutor, TabCompleter {
 
 
         if (args.length == 5 && args[0].equalsIgnoreCase("actor") && args[1].equalsIgnoreCase("record") && args[2].equalsIgnoreCase("start")) {
-            return manager.getCinematic(args[3])
-                    .map(cinematic -> cinematic.getActors().values().stream().map(SceneActor::id).filter(id -> id.startsWith(args[4])).toList())
+            return manager.getSceneSummary(args[3])
+                    .map(summary -> summary.actorIds().stream().filter(id -> id.startsWith(args[4])).toList())
                     .orElse(Collections.emptyList());
         }
 
@@ -1938,6 +2517,14 @@ public final class ExtraScenesCommand implements CommandExecutor, TabCompleter {
             return List.of("return", "stay", "teleport_here", "teleport");
         }
 
+        if (args.length == 3 && args[0].equalsIgnoreCase("camera")) {
+            return List.of("teleport", "packet", "sparse");
+        }
+
+        if (args.length == 3 && args[0].equalsIgnoreCase("lod")) {
+            return List.of("on", "off", "reset", "near", "distance", "angle", "interval", "despawn");
+        }
+
         if (args.length == 4 && args[0].equalsIgnoreCase("finish") && args[2].equalsIgnoreCase("teleport")) {
             return Bukkit.getWorlds().stream().map(World::getName).filter(s -> s.startsWith(args[3])).toList();
         }
@@ -1993,6 +2580,33 @@ public final class ExtraScenesCommand implements CommandExecutor, TabCompleter {
             return List.of("add", "remove", "list", "clear");
         }
 
+        if (args.length == 2 && args[0].equalsIgnoreCase("action")) {
+            return List.of("add", "remove", "list", "clear");
+        }
+
+        if (args.length == 3 && args[0].equalsIgnoreCase("action")) {
+            return manager.getCinematicIds().stream().filter(s -> s.startsWith(args[2])).toList();
+        }
+
+        if (args.length == 4 && args[0].equalsIgnoreCase("action") && args[1].equalsIgnoreCase("clear")) {
+            return List.of("all");
+        }
+
+        if (args.length == 5 && args[0].equalsIgnoreCase("action") && args[1].equalsIgnoreCase("add")) {
+            return List.of("sound", "title", "actionbar", "particle", "potion").stream()
+                    .filter(s -> s.startsWith(args[4].toLowerCase(Locale.ROOT)))
+                    .toList();
+        }
+
+        if (args.length == 6 && args[0].equalsIgnoreCase("action") && args[1].equalsIgnoreCase("add")
+                && args[4].equalsIgnoreCase("particle")) {
+            return Arrays.stream(Particle.values())
+                    .filter(particle -> particle.getDataType() == Void.class)
+                    .map(particle -> particle.name().toLowerCase(Locale.ROOT))
+                    .filter(s -> s.startsWith(args[5].toLowerCase(Locale.ROOT)))
+                    .toList();
+        }
+
         if (args.length == 2 && args[0].equalsIgnoreCase("subtitle")) {
             return List.of("add", "del", "clear");
         }
@@ -2027,13 +2641,17 @@ public final class ExtraScenesCommand implements CommandExecutor, TabCompleter {
         private final int maxTicks;
         private final List<ActorFrame> frames = new ArrayList<>();
         private int tick;
-        private BukkitTask task;
-        private BukkitTask startTask;
-        private BukkitTask countdownTaskOne;
-        private BukkitTask countdownTaskTwo;
+        private SceneTask task;
+        private SceneTask startTask;
+        private SceneTask countdownTaskOne;
+        private SceneTask countdownTaskTwo;
         private String audioStopCommand;
         private boolean audioPlaying;
         private int lastRecordedTick;
+        private int ticksSinceCheckpoint;
+        private int checkpointedFrames;
+        private int journaledFrames;
+        private ActorRecordingJournal journal;
 
         private ActorRecordingState(String sceneId, String actorId, int maxTicks, int startTick) {
             this.sceneId = sceneId;
@@ -2061,13 +2679,15 @@ public final class ExtraScenesCommand implements CommandExecutor, TabCompleter {
         private final String sceneId;
         private final int everyTicks;
         private final int maxTicks;
+        private final CameraRecordingSession session;
         private int currentTick;
-        private BukkitTask task;
+        private SceneTask task;
 
-        private RecordingState(String sceneId, int everyTicks, int maxTicks) {
+        private RecordingState(String sceneId, int everyTicks, int maxTicks, CameraRecordingSession session) {
             this.sceneId = sceneId;
             this.everyTicks = everyTicks;
             this.maxTicks = Math.max(1, maxTicks);
+            this.session = session;
         }
     }
 
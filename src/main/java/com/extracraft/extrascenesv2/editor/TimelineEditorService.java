@@ -7,6 +7,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
 import org.bukkit.Material;
@@ -22,7 +23,7 @@ public final class TimelineEditorService {
 
     private final CinematicManager manager;
     private final CinematicPlaybackService playbackService;
-    private final Map<UUID, EditorSession> sessions = new HashMap<>();
+    private final Map<UUID, EditorSession> sessions = new ConcurrentHashMap<>();
     private static final int[] EDITOR_SLOTS = {0, 1, 2, 3, 4, 5, 6, 7, 8};
 
     public TimelineEditorService(CinematicManager manager, CinematicPlaybackService playbackService) {
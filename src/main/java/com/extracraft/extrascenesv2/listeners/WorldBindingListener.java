@@ -0,0 +1,21 @@
+package com.extracraft.extrascenesv2.listeners;
+
+import com.extracraft.extrascenesv2.cinematics.WorldRef;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.WorldLoadEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
+
+public final class WorldBindingListener implements Listener {
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onWorldLoad(WorldLoadEvent event) {
+        WorldRef.bind(event.getWorld());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onWorldUnload(WorldUnloadEvent event) {
+        WorldRef.unbind(event.getWorld());
+    }
+}
@@ -0,0 +1,184 @@
+package com.extracraft.extrascenesv2.placeholders;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * A scene command parsed once into literal text and built-in {@code {token}} slots. Unknown braces stay literal text,
+ * and templates without a {@code %} never go through PlaceholderAPI.
+ */
+public final class CommandTemplate {
+
+    public static final CommandTemplate[] NONE = new CommandTemplate[0];
+
+    // Past this the scaled double no longer resolves halves reliably.
+    private static final double MAX_FAST_SCALED = 1.0E9D;
+    private static final double HALF_TOLERANCE = 1.0E-6D;
+
+    private final String source;
+    private final String[] literals;
+    private final Token[] tokens;
+    private final boolean externalPlaceholders;
+    private final boolean usesLocation;
+
+    private CommandTemplate(String source, String[] literals, Token[] tokens) {
+        this.source = source;
+        this.literals = literals;
+        this.tokens = tokens;
+        boolean percent = false;
+        for (String literal : literals) {
+            percent |= literal.indexOf('%') >= 0;
+        }
+        boolean location = false;
+        for (Token token : tokens) {
+            location |= token.location;
+        }
+        this.externalPlaceholders = percent;
+        this.usesLocation = location;
+    }
+
+    public static CommandTemplate parse(String input) {
+        String source = input == null ? "" : input;
+        List<String> literals = new ArrayList<>();
+        List<Token> tokens = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        int index = 0;
+        while (index < source.length()) {
+            int open = source.indexOf('{', index);
+            int close = open < 0 ? -1 : source.indexOf('}', open + 1);
+            if (close < 0) {
+                break;
+            }
+            Token token = Token.byKey(source.substring(open + 1, close));
+            if (token == null) {
+                literal.append(source, index, open + 1);
+                index = open + 1;
+                continue;
+            }
+            literal.append(source, index, open);
+            literals.add(literal.toString());
+            literal.setLength(0);
+            tokens.add(token);
+            index = close + 1;
+        }
+        literal.append(source, index, source.length());
+        literals.add(literal.toString());
+        return new CommandTemplate(source, literals.toArray(String[]::new), tokens.toArray(Token[]::new));
+    }
+
+    public static CommandTemplate[] parseAll(List<String> commands) {
+        if (commands == null || commands.isEmpty()) {
+            return NONE;
+        }
+        CommandTemplate[] templates = new CommandTemplate[commands.size()];
+        for (int i = 0; i < templates.length; i++) {
+            templates[i] = parse(commands.get(i));
+        }
+        return templates;
+    }
+
+    public String source() {
+        return source;
+    }
+
+    public boolean isBlank() {
+        return source.isBlank();
+    }
+
+    public boolean hasExternalPlaceholders() {
+        return externalPlaceholders;
+    }
+
+    boolean usesLocation() {
+        return usesLocation;
+    }
+
+    String literal(int index) {
+        return literals[index];
+    }
+
+    Token token(int index) {
+        return tokens[index];
+    }
+
+    int tokenCount() {
+        return tokens.length;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof CommandTemplate template && source.equals(template.source);
+    }
+
+    @Override
+    public int hashCode() {
+        return source.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return source;
+    }
+
+    /**
+     * Appends {@code value} as {@code String.format(Locale.US, "%.<decimals>f", value)} would, without the formatter.
+     * The formatter rounds the shortest decimal form of the double half up, so values that land on a half once
+     * scaled, where binary rounding could go either way, take the {@link BigDecimal} path with the same semantics.
+     */
+    static void appendFixed(StringBuilder out, double value, int decimals) {
+        if (!Double.isFinite(value)) {
+            out.append(String.format(Locale.US, "%." + decimals + "f", value));
+            return;
+        }
+        long scale = decimals == 3 ? 1000L : 100L;
+        double scaled = Math.abs(value) * scale;
+        if (Double.doubleToRawLongBits(value) < 0L) {
+            out.append('-');
+        }
+        if (scaled >= MAX_FAST_SCALED || Math.abs(scaled - Math.floor(scaled) - 0.5D) < HALF_TOLERANCE) {
+            out.append(BigDecimal.valueOf(Math.abs(value)).setScale(decimals, RoundingMode.HALF_UP).toPlainString());
+            return;
+        }
+        long rounded = Math.round(scaled);
+        out.append(rounded / scale).append('.');
+        long fraction = rounded % scale;
+        for (long digit = scale / 10L; digit > 1L && fraction < digit; digit /= 10L) {
+            out.append('0');
+        }
+        out.append(fraction);
+    }
+
+    enum Token {
+        PLAYER("player", false),
+        PLAYER_DISPLAY_NAME("player_display_name", false),
+        PLAYER_UUID("player_uuid", false),
+        TICK("tick", false),
+        SCENE("scene", false),
+        WORLD("world", true),
+        X("x", true),
+        Y("y", true),
+        Z("z", true),
+        YAW("yaw", true),
+        PITCH("pitch", true);
+
+        private final String key;
+        private final boolean location;
+
+        Token(String key, boolean location) {
+            this.key = key;
+            this.location = location;
+        }
+
+        private static Token byKey(String key) {
+            for (Token token : values()) {
+                if (token.key.equals(key)) {
+                    return token;
+                }
+            }
+            return null;
+        }
+    }
+}
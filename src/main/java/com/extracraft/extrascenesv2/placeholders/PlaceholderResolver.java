@@ -1,43 +1,65 @@
 package com.extracraft.extrascenesv2.placeholders;
 
 import com.extracraft.extrascenesv2.cinematics.Cinematic;
-import java.util.LinkedHashMap;
 import me.clip.placeholderapi.PlaceholderAPI;
-import java.util.Locale;
-import java.util.Map;
 import org.bukkit.Location;
+import org.bukkit.World;
 import org.bukkit.entity.Player;
 
 public final class PlaceholderResolver {
 
+    // Per thread: Folia renders commands for viewers on different regions at once.
+    private final ThreadLocal<StringBuilder> buffers = ThreadLocal.withInitial(() -> new StringBuilder(128));
+    private final ThreadLocal<Location> locations = ThreadLocal.withInitial(() -> new Location(null, 0.0D, 0.0D, 0.0D));
+
     public String apply(String input, Player player, Cinematic cinematic, int tick) {
         if (input == null || input.isBlank()) {
             return "";
         }
+        return apply(CommandTemplate.parse(input), player, cinematic, tick);
+    }
 
-        String output = input;
-        for (Map.Entry<String, String> entry : buildPlaceholders(player, cinematic, tick).entrySet()) {
-            output = output.replace("{" + entry.getKey() + "}", entry.getValue());
+    public String apply(CommandTemplate template, Player player, Cinematic cinematic, int tick) {
+        if (template.isBlank()) {
+            return "";
+        }
+        if (template.tokenCount() == 0 && !template.hasExternalPlaceholders()) {
+            return template.source();
         }
 
-        return PlaceholderAPI.setPlaceholders(player, output);
+        StringBuilder out = buffers.get();
+        out.setLength(0);
+        Location location = template.usesLocation() ? player.getLocation(locations.get()) : null;
+        boolean percent = template.hasExternalPlaceholders();
+        for (int i = 0; i < template.tokenCount(); i++) {
+            out.append(template.literal(i));
+            int start = out.length();
+            appendToken(out, template.token(i), player, cinematic, tick, location);
+            percent |= out.indexOf("%", start) >= 0;
+        }
+        out.append(template.literal(template.tokenCount()));
+
+        String output = out.toString();
+        return percent ? PlaceholderAPI.setPlaceholders(player, output) : output;
     }
 
-    private Map<String, String> buildPlaceholders(Player player, Cinematic cinematic, int tick) {
-        Map<String, String> values = new LinkedHashMap<>();
-        values.put("player", player.getName());
-        values.put("player_display_name", player.getDisplayName());
-        values.put("player_uuid", player.getUniqueId().toString());
-        values.put("tick", String.valueOf(Math.max(0, tick)));
-        values.put("scene", cinematic.getId());
-
-        Location location = player.getLocation();
-        values.put("world", location.getWorld() == null ? "" : location.getWorld().getName());
-        values.put("x", String.format(Locale.US, "%.3f", location.getX()));
-        values.put("y", String.format(Locale.US, "%.3f", location.getY()));
-        values.put("z", String.format(Locale.US, "%.3f", location.getZ()));
-        values.put("yaw", String.format(Locale.US, "%.2f", location.getYaw()));
-        values.put("pitch", String.format(Locale.US, "%.2f", location.getPitch()));
-        return values;
+    private static void appendToken(StringBuilder out, CommandTemplate.Token token, Player player, Cinematic cinematic,
+                                    int tick, Location location) {
+        switch (token) {
+            case PLAYER -> out.append(player.getName());
+            case PLAYER_DISPLAY_NAME -> out.append(player.getDisplayName());
+            case PLAYER_UUID -> out.append(player.getUniqueId());
+            case TICK -> out.append(Math.max(0, tick));
+            case SCENE -> out.append(cinematic.getId());
+            case WORLD -> {
+                World world = location.getWorld();
+                out.append(world == null ? "" : world.getName());
+            }
+            case X -> CommandTemplate.appendFixed(out, location.getX(), 3);
+            case Y -> CommandTemplate.appendFixed(out, location.getY(), 3);
+            case Z -> CommandTemplate.appendFixed(out, location.getZ(), 3);
+            case YAW -> CommandTemplate.appendFixed(out, location.getYaw(), 2);
+            case PITCH -> CommandTemplate.appendFixed(out, location.getPitch(), 2);
+        }
     }
 }
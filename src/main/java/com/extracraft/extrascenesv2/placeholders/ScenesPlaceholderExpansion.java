@@ -1,7 +1,7 @@
 package com.extracraft.extrascenesv2.placeholders;
 
 import com.extracraft.extrascenesv2.ExtraScenesV2Plugin;
-import com.extracraft.extrascenesv2.cinematics.Cinematic;
+import com.extracraft.extrascenesv2.cinematics.SceneSummary;
 import java.util.Comparator;
 import java.util.Locale;
 import java.util.Set;
@@ -118,27 +118,20 @@ public final class ScenesPlaceholderExpansion extends PlaceholderExpansion {
 
         if (lowered.startsWith("duration_")) {
             String sceneId = params.substring("duration_".length());
-            Cinematic scene = plugin.getCinematicManager().getCinematic(sceneId).orElse(null);
-            return scene == null ? "0" : String.valueOf(scene.getDurationTicks());
+            SceneSummary scene = plugin.getCinematicManager().getSceneSummary(sceneId).orElse(null);
+            return scene == null ? "0" : String.valueOf(scene.durationTicks());
         }
 
         if (lowered.startsWith("points_")) {
             String sceneId = params.substring("points_".length());
-            Cinematic scene = plugin.getCinematicManager().getCinematic(sceneId).orElse(null);
-            return scene == null ? "0" : String.valueOf(scene.getPoints().size());
+            SceneSummary scene = plugin.getCinematicManager().getSceneSummary(sceneId).orElse(null);
+            return scene == null ? "0" : String.valueOf(scene.pointCount());
         }
 
         if (lowered.startsWith("commands_")) {
             String sceneId = params.substring("commands_".length());
-            Cinematic scene = plugin.getCinematicManager().getCinematic(sceneId).orElse(null);
-            if (scene == null) {
-                return "0";
-            }
-
-            int totalCommands = scene.getTickCommands().values().stream()
-                    .mapToInt(java.util.List::size)
-                    .sum();
-            return String.valueOf(totalCommands);
+            SceneSummary scene = plugin.getCinematicManager().getSceneSummary(sceneId).orElse(null);
+            return scene == null ? "0" : String.valueOf(scene.commandCount());
         }
 
         return null;
@@ -0,0 +1,136 @@
+package com.extracraft.extrascenesv2.scheduler;
+
+import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.java.JavaPlugin;
+
+/**
+ * Runs plugin work on the thread allowed to do it. On Folia, work for a player goes to that player's entity
+ * scheduler, so it runs on the region that owns the player and follows them across regions; global work goes to the
+ * global region scheduler. On Paper everything keeps running on the main thread through the Bukkit scheduler.
+ */
+public final class SceneScheduler {
+
+    private static final boolean FOLIA = detectFolia();
+
+    private final JavaPlugin plugin;
+
+    public SceneScheduler(JavaPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    public static boolean isFolia() {
+        return FOLIA;
+    }
+
+    /**
+     * True when the calling thread may touch {@code entity} directly.
+     */
+    public boolean owns(Entity entity) {
+        return FOLIA ? Bukkit.isOwnedByCurrentRegion(entity) : Bukkit.isPrimaryThread();
+    }
+
+    public SceneTask runGlobal(Runnable task) {
+        if (FOLIA) {
+            return wrap(Bukkit.getGlobalRegionScheduler().run(plugin, ignored -> task.run()));
+        }
+        return Bukkit.getScheduler().runTask(plugin, task)::cancel;
+    }
+
+    public SceneTask runGlobalLater(Runnable task, long delayTicks) {
+        if (FOLIA) {
+            return wrap(Bukkit.getGlobalRegionScheduler().runDelayed(plugin, ignored -> task.run(), Math.max(1L, delayTicks)));
+        }
+        return Bukkit.getScheduler().runTaskLater(plugin, task, delayTicks)::cancel;
+    }
+
+    public SceneTask runGlobalTimer(Runnable task, long delayTicks, long periodTicks) {
+        if (FOLIA) {
+            return wrap(Bukkit.getGlobalRegionScheduler().runAtFixedRate(plugin, ignored -> task.run(),
+                    Math.max(1L, delayTicks), Math.max(1L, periodTicks)));
+        }
+        return Bukkit.getScheduler().runTaskTimer(plugin, task, delayTicks, periodTicks)::cancel;
+    }
+
+    public SceneTask runAsync(Runnable task) {
+        if (FOLIA) {
+            return wrap(Bukkit.getAsyncScheduler().runNow(plugin, ignored -> task.run()));
+        }
+        return Bukkit.getScheduler().runTaskAsynchronously(plugin, task)::cancel;
+    }
+
+    /**
+     * Runs {@code task} where {@code entity} is owned. On Folia {@code retired}, which may be null, runs instead when
+     * the entity is removed first; on Paper the task always runs, so it should check the entity itself.
+     */
+    public SceneTask runFor(Entity entity, Runnable task, Runnable retired) {
+        if (FOLIA) {
+            return wrap(entity.getScheduler().run(plugin, ignored -> task.run(), retired), retired);
+        }
+        return Bukkit.getScheduler().runTask(plugin, task)::cancel;
+    }
+
+    public SceneTask runForLater(Entity entity, Runnable task, Runnable retired, long delayTicks) {
+        if (FOLIA) {
+            return wrap(entity.getScheduler().runDelayed(plugin, ignored -> task.run(), retired, Math.max(1L, delayTicks)), retired);
+        }
+        return Bukkit.getScheduler().runTaskLater(plugin, task, delayTicks)::cancel;
+    }
+
+    public SceneTask runForTimer(Entity entity, Runnable task, Runnable retired, long delayTicks, long periodTicks) {
+        if (FOLIA) {
+            return wrap(entity.getScheduler().runAtFixedRate(plugin, ignored -> task.run(), retired,
+                    Math.max(1L, delayTicks), Math.max(1L, periodTicks)), retired);
+        }
+        return Bukkit.getScheduler().runTaskTimer(plugin, task, delayTicks, periodTicks)::cancel;
+    }
+
+    /**
+     * Folia has no synchronous teleport; Paper keeps the immediate one playback relies on.
+     */
+    public void teleport(Entity entity, Location location) {
+        if (FOLIA) {
+            entity.teleportAsync(location);
+        } else {
+            entity.teleport(location);
+        }
+    }
+
+    /**
+     * Dispatches a console command. Folia only accepts console commands on the global region, so from anywhere else
+     * the command is queued there and reported as sent.
+     */
+    public boolean dispatchConsole(String command) {
+        if (FOLIA && !Bukkit.isGlobalTickThread()) {
+            runGlobal(() -> Bukkit.dispatchCommand(Bukkit.getConsoleSender(), command));
+            return true;
+        }
+        return Bukkit.dispatchCommand(Bukkit.getConsoleSender(), command);
+    }
+
+    private static SceneTask wrap(ScheduledTask task) {
+        return task::cancel;
+    }
+
+    private static SceneTask wrap(ScheduledTask task, Runnable retired) {
+        // The entity scheduler returns null when the entity is already gone.
+        if (task == null) {
+            if (retired != null) {
+                retired.run();
+            }
+            return SceneTask.NONE;
+        }
+        return task::cancel;
+    }
+
+    private static boolean detectFolia() {
+        try {
+            Class.forName("io.papermc.paper.threadedregions.RegionizedServer");
+            return true;
+        } catch (ClassNotFoundException ex) {
+            return false;
+        }
+    }
+}
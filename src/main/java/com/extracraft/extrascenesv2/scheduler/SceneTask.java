@@ -0,0 +1,13 @@
+package com.extracraft.extrascenesv2.scheduler;
+
+/**
+ * Handle of a task started through {@link SceneScheduler}, whichever scheduler ended up running it.
+ */
+@FunctionalInterface
+public interface SceneTask {
+
+    SceneTask NONE = () -> {
+    };
+
+    void cancel();
+}